@@ -0,0 +1,106 @@
+package com.arka.store_orders.benchmark;
+
+import com.arka.store_orders.application.metrics.HeavyHitterSketch;
+import com.arka.store_orders.application.metrics.LongCountMap;
+import com.arka.store_orders.application.metrics.ProductRanking;
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.ProductSales;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Top-10 and bottom-10 products over one million order lines: the original stream {@code groupingBy} into
+ * boxed {@code Map<Long, Long>} followed by sorting, against the primitive {@link LongCountMap} with heap
+ * selection, and the fixed-size {@link HeavyHitterSketch} (top only). Product popularity is heavy-tailed,
+ * and the catalog ranges from a few thousand products to half a million.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class BestsellerBenchmark {
+    private static final int LINES = 1_000_000;
+    private static final int K = 10;
+
+    @Param({"5000", "500000"})
+    private int catalogSize;
+
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        orders = new ArrayList<>();
+        int lines = 0;
+        while (lines < LINES) {
+            UUID orderId = new UUID(random.nextLong(), random.nextLong());
+            int size = 1 + random.nextInt(9);
+            List<OrderItem> items = new ArrayList<>(size);
+            for (int line = 0; line < size; line++) {
+                long productId = (long) Math.floor(Math.pow(catalogSize, random.nextDouble()));
+                items.add(new OrderItem((long) lines + line, productId, 1 + random.nextInt(5), 100L, 0L, orderId));
+            }
+            orders.add(new Order(items));
+            lines += size;
+        }
+    }
+
+    @Benchmark
+    public List<ProductSales> streamGroupingBy() {
+        Map<Long, Long> counts = orders.stream()
+                .flatMap(order -> order.getItems().stream())
+                .collect(Collectors.groupingBy(OrderItem::getProductId, Collectors.summingLong(OrderItem::getQuantity)));
+        Comparator<Map.Entry<Long, Long>> byCount = Map.Entry.comparingByValue();
+        List<ProductSales> ranked = new ArrayList<>(2 * K);
+        counts.entrySet().stream().sorted(byCount.reversed()).limit(K)
+                .forEach(entry -> ranked.add(new ProductSales(entry.getKey(), entry.getValue())));
+        counts.entrySet().stream().sorted(byCount).limit(K)
+                .forEach(entry -> ranked.add(new ProductSales(entry.getKey(), entry.getValue())));
+        return ranked;
+    }
+
+    @Benchmark
+    public List<ProductSales> primitiveHeap() {
+        LongCountMap counts = new LongCountMap();
+        for (Order order : orders) {
+            for (OrderItem item : order.getItems()) {
+                counts.add(item.getProductId(), item.getQuantity());
+            }
+        }
+        List<ProductSales> ranked = new ArrayList<>(ProductRanking.top(counts, K));
+        ranked.addAll(ProductRanking.bottom(counts, K));
+        return ranked;
+    }
+
+    @Benchmark
+    public List<ProductSales> heavyHitterSketch() {
+        HeavyHitterSketch sketch = new HeavyHitterSketch(0.001, 0.99, 1000);
+        for (Order order : orders) {
+            for (OrderItem item : order.getItems()) {
+                sketch.add(item.getProductId(), item.getQuantity());
+            }
+        }
+        return sketch.top(K);
+    }
+}
@@ -0,0 +1,228 @@
+package com.arka.store_orders.benchmark;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderCursor;
+import com.arka.store_orders.domain.models.OrderFilter;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.OrderPage;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.ProductSales;
+import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.OrderConflictException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Persistence over a map of orders that follows the filters, ordering and version checks of the JPA
+ * adapter, so benchmarks can drive the components that read or write orders without a database.
+ * {@link #forEachOrder} walks orders in insertion order, which for {@link OrderFixtures} is newest first, so
+ * the scan measured by the benchmarks does not pay for a sort. The payment lease is not modelled.
+ */
+class InMemoryOrderPersistence implements OrderPersistencePort {
+
+    private static final Comparator<Order> NEWEST_FIRST = Comparator
+            .comparing(Order::getCreateAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Order::getId, Comparator.reverseOrder());
+    private static final Comparator<Order> OLDEST_FIRST = NEWEST_FIRST.reversed();
+
+    private final Map<UUID, Order> orders = new LinkedHashMap<>();
+
+    InMemoryOrderPersistence(List<Order> orders) {
+        for (Order order : orders) {
+            if (order.getVersion() == null) {
+                order.setVersion(0L);
+            }
+            this.orders.put(order.getId(), order);
+        }
+    }
+
+    @Override
+    public synchronized void forEachOrder(OrderFilter filter, Consumer<Order> consumer) {
+        for (Order order : orders.values()) {
+            if (matches(filter, order)) {
+                consumer.accept(order);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void forEachOrderCreatedSince(LocalDateTime since, Consumer<Order> consumer) {
+        select(order -> !order.getCreateAt().isBefore(since), NEWEST_FIRST).forEach(consumer);
+    }
+
+    @Override
+    public synchronized Order save(Order order) {
+        Order stored = orders.get(order.getId());
+        if (stored == null) {
+            order.setVersion(0L);
+        } else {
+            if (order.getVersion() != null && !Objects.equals(order.getVersion(), stored.getVersion())) {
+                throw new OrderConflictException("Order " + order.getId() + " was modified concurrently. Expected version "
+                        + order.getVersion() + " but found " + stored.getVersion());
+            }
+            order.setVersion(stored.getVersion() + 1);
+            order.setUpdateAt(LocalDateTime.now());
+        }
+        orders.put(order.getId(), order);
+        return order;
+    }
+
+    @Override
+    public synchronized List<Order> saveAll(List<Order> orders) {
+        List<Order> saved = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            saved.add(save(order));
+        }
+        return saved;
+    }
+
+    @Override
+    public synchronized Optional<Order> findById(UUID id) {
+        return Optional.ofNullable(orders.get(id));
+    }
+
+    @Override
+    public Optional<Order> findByIdWithItems(UUID id) {
+        return findById(id);
+    }
+
+    @Override
+    public synchronized Optional<Long> findVersion(UUID id) {
+        return findById(id).map(Order::getVersion);
+    }
+
+    @Override
+    public synchronized OrderPage findPage(OrderFilter filter, OrderCursor cursor, int size) {
+        List<Order> matching = select(order -> matches(filter, order)
+                && (cursor == null || NEWEST_FIRST.compare(order, cursorOrder(cursor)) > 0), NEWEST_FIRST);
+        boolean hasNext = matching.size() > size;
+        List<Order> page = hasNext ? matching.subList(0, size) : matching;
+        return new OrderPage(List.copyOf(page), hasNext ? OrderCursor.of(page.get(page.size() - 1)) : null);
+    }
+
+    @Override
+    public synchronized List<Order> findWithTransaction(OrderStatus status, OrderCursor after, int limit) {
+        return first(select(order -> order.getStatus() == status && order.getTransactionId() != null
+                && (after == null || OLDEST_FIRST.compare(order, cursorOrder(after)) > 0), OLDEST_FIRST), limit);
+    }
+
+    @Override
+    public synchronized boolean transitionStatus(UUID id, Long version, OrderStatus expected, OrderStatus target) {
+        Order order = orders.get(id);
+        if (order == null || order.getStatus() != expected || !Objects.equals(order.getVersion(), version)) {
+            return false;
+        }
+        moveTo(order, target);
+        return true;
+    }
+
+    @Override
+    public synchronized List<Order> lockUnpaidCreatedBefore(Collection<OrderStatus> statuses, LocalDateTime createdBefore, int limit) {
+        return first(select(order -> statuses.contains(order.getStatus()) && order.getTransactionId() == null
+                && order.getCreateAt().isBefore(createdBefore), OLDEST_FIRST), limit);
+    }
+
+    @Override
+    public synchronized long countPaidCreatedBefore(Collection<OrderStatus> statuses, LocalDateTime createdBefore) {
+        return select(order -> statuses.contains(order.getStatus()) && order.getTransactionId() != null
+                && order.getCreateAt().isBefore(createdBefore), OLDEST_FIRST).size();
+    }
+
+    @Override
+    public synchronized int updateStatus(Collection<UUID> ids, OrderStatus target) {
+        int updated = 0;
+        for (UUID id : ids) {
+            Order order = orders.get(id);
+            if (order != null) {
+                moveTo(order, target);
+                updated++;
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public synchronized Map<OrderStatus, Long> countByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (Order order : orders.values()) {
+            counts.merge(order.getStatus(), 1L, Long::sum);
+        }
+        return counts;
+    }
+
+    @Override
+    public synchronized long sumTotal(OrderStatus status) {
+        long sum = 0;
+        for (Order order : orders.values()) {
+            if (order.getStatus() == status) {
+                sum += order.getTotal();
+            }
+        }
+        return sum;
+    }
+
+    @Override
+    public synchronized List<ProductSales> rankProductsByQuantity(boolean ascending, int limit) {
+        Map<Long, Long> units = new HashMap<>();
+        for (Order order : orders.values()) {
+            for (OrderItem item : order.getItems()) {
+                units.merge(item.getProductId(), (long) item.getQuantity(), Long::sum);
+            }
+        }
+        Comparator<ProductSales> byUnits = Comparator.comparingLong(ProductSales::unitsSold);
+        List<ProductSales> ranked = new ArrayList<>(units.size());
+        units.forEach((productId, sold) -> {
+            if (sold > 0) {
+                ranked.add(new ProductSales(productId, sold));
+            }
+        });
+        ranked.sort((ascending ? byUnits : byUnits.reversed()).thenComparing(ProductSales::productId));
+        return first(ranked, limit);
+    }
+
+    private List<Order> select(Predicate<Order> predicate, Comparator<Order> order) {
+        List<Order> selected = new ArrayList<>();
+        for (Order candidate : orders.values()) {
+            if (predicate.test(candidate)) {
+                selected.add(candidate);
+            }
+        }
+        selected.sort(order);
+        return selected;
+    }
+
+    private static <T> List<T> first(List<T> list, int limit) {
+        return List.copyOf(list.subList(0, Math.min(limit, list.size())));
+    }
+
+    private static boolean matches(OrderFilter filter, Order order) {
+        return (filter.status() == null || filter.status() == order.getStatus())
+                && (filter.userId() == null || filter.userId().equals(order.getUserId()));
+    }
+
+    private static Order cursorOrder(OrderCursor cursor) {
+        Order order = new Order();
+        order.setId(cursor.id());
+        order.setCreateAt(cursor.createAt());
+        return order;
+    }
+
+    private static void moveTo(Order order, OrderStatus target) {
+        order.setStatus(target);
+        order.setUpdateAt(LocalDateTime.now());
+        order.setVersion(order.getVersion() + 1);
+    }
+}
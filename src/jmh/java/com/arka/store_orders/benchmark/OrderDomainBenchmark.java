@@ -0,0 +1,62 @@
+package com.arka.store_orders.benchmark;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderItem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-order cost of {@link Order#calculateTotal()}, and {@link OrderItem#calculateAmount()} over every
+ * line of the fixture (the line count depends on the profile, so compare that one within a profile).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class OrderDomainBenchmark {
+
+    @Param({"RETAIL", "WHOLESALE"})
+    private OrderProfile profile;
+
+    private Order[] orders;
+    private OrderItem[] items;
+
+    @Setup
+    public void setUp() {
+        List<Order> fixtures = OrderFixtures.orders(profile);
+        orders = fixtures.toArray(Order[]::new);
+        items = fixtures.stream().flatMap(order -> order.getItems().stream()).toArray(OrderItem[]::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OrderFixtures.ORDERS)
+    public void calculateTotal(Blackhole blackhole) {
+        for (Order order : orders) {
+            order.calculateTotal();
+            blackhole.consume(order.getTotal());
+        }
+    }
+
+    @Benchmark
+    public void calculateAmount(Blackhole blackhole) {
+        for (OrderItem item : items) {
+            blackhole.consume(item.calculateAmount());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.arka.store_orders.benchmark;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderItemEntity;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic order data for the benchmarks. Line counts, quantities and product popularity follow
+ * the shape of real traffic instead of a fixed size, so the numbers reflect the mix the service sees.
+ */
+final class OrderFixtures {
+
+    static final int ORDERS = 1024;
+    static final int CATALOG_SIZE = 5000;
+
+    private static final long SEED = 42L;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+    private static final int[] STATUS_WEIGHTS = {15, 10, 55, 5, 8, 5, 2};
+
+    private OrderFixtures() {
+    }
+
+    static List<Order> orders(OrderProfile profile) {
+        Random random = new Random(SEED);
+        LocalDateTime now = LocalDateTime.of(2025, 4, 5, 10, 30);
+        List<Order> orders = new ArrayList<>(ORDERS);
+        for (int i = 0; i < ORDERS; i++) {
+            UUID orderId = new UUID(random.nextLong(), random.nextLong());
+            int lines = lines(profile, random);
+            List<OrderItem> items = new ArrayList<>(lines);
+            for (int line = 0; line < lines; line++) {
+                items.add(new OrderItem((long) i * 1000 + line, productId(random), quantity(profile, random),
+                        price(random), 0L, orderId));
+            }
+            Order order = new Order(items);
+            order.setId(orderId);
+            order.setCreateAt(now.minusMinutes(i));
+            order.setUpdateAt(now.minusMinutes(i).plusSeconds(30));
+            order.setStatus(status(random));
+            order.setUserId("user-" + random.nextInt(200));
+            order.calculateTotal();
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    static List<OrderEntity> entities(List<Order> orders) {
+        List<OrderEntity> entities = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            List<OrderItemEntity> items = new ArrayList<>(order.getItems().size());
+            for (OrderItem item : order.getItems()) {
+                items.add(new OrderItemEntity(item.getId(), item.getProductId(), item.getQuantity(),
+                        item.getPrice(), item.getAmount(), item.getOrderId()));
+            }
+            entities.add(new OrderEntity(order.getId(), order.getCreateAt(), items, order.getStatus(),
+                    order.getTotal(), order.getUpdateAt(), order.getUserId(), order.getTransactionId(), order.getVersion()));
+        }
+        return entities;
+    }
+
+    private static int lines(OrderProfile profile, Random random) {
+        int bucket = random.nextInt(100);
+        if (profile == OrderProfile.WHOLESALE) {
+            return bucket < 70 ? between(random, 10, 50) : between(random, 51, 200);
+        }
+        if (bucket < 45) {
+            return 1;
+        }
+        if (bucket < 75) {
+            return between(random, 2, 3);
+        }
+        return bucket < 95 ? between(random, 4, 8) : between(random, 9, 30);
+    }
+
+    private static int quantity(OrderProfile profile, Random random) {
+        return profile == OrderProfile.WHOLESALE ? between(random, 10, 500) : between(random, 1, 3);
+    }
+
+    private static long productId(Random random) {
+        double skew = random.nextDouble();
+        return 1 + (long) (CATALOG_SIZE * skew * skew * skew);
+    }
+
+    private static long price(Random random) {
+        return between(random, 99, 49999);
+    }
+
+    private static OrderStatus status(Random random) {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < STATUS_WEIGHTS.length; i++) {
+            roll -= STATUS_WEIGHTS[i];
+            if (roll < 0) {
+                return STATUSES[i];
+            }
+        }
+        return OrderStatus.PENDING;
+    }
+
+    private static int between(Random random, int min, int max) {
+        return min + random.nextInt(max - min + 1);
+    }
+}
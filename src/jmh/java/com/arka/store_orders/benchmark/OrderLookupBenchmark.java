@@ -0,0 +1,120 @@
+package com.arka.store_orders.benchmark;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.OrderPersistenceAdapter;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.OrderViewPersistenceAdapter;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.OrderJpaRepository;
+import com.arka.store_orders.infrastructure.mapper.OrderItemMapper;
+import com.arka.store_orders.infrastructure.mapper.OrderMapper;
+import com.arka.store_orders.infrastructure.resources.Response.OrderResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of {@code GET /orders/{id}} below the controller against an embedded H2: the entity path
+ * (fetch join, entity hydration, entity to domain to response) versus the LEFT JOIN row projection
+ * straight into the response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class OrderLookupBenchmark {
+
+    @Param({"RETAIL", "WHOLESALE"})
+    private OrderProfile profile;
+
+    private ConfigurableApplicationContext context;
+    private OrderPersistenceAdapter persistence;
+    private OrderViewPersistenceAdapter view;
+    private OrderMapper mapper;
+    private UUID[] orderIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LookupContext.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.config.name=order-lookup-benchmark",
+                        "spring.datasource.url=jdbc:h2:mem:lookup;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=validate",
+                        "spring.jpa.open-in-view=false",
+                        "spring.jpa.properties.hibernate.jdbc.batch_size=50",
+                        "spring.jpa.properties.hibernate.order_inserts=true",
+                        "logging.level.root=WARN")
+                .run();
+        persistence = context.getBean(OrderPersistenceAdapter.class);
+        view = context.getBean(OrderViewPersistenceAdapter.class);
+        mapper = context.getBean(OrderMapper.class);
+        List<Order> orders = OrderFixtures.orders(profile);
+        orderIds = new UUID[orders.size()];
+        for (int i = 0; i < orders.size(); i++) {
+            Order order = orders.get(i);
+            for (OrderItem item : order.getItems()) {
+                item.setId(null);
+            }
+            orderIds[i] = persistence.save(order).getId();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public OrderResponse entityPath() {
+        return persistence.findByIdWithItems(nextId()).map(mapper::domainToResponse).orElseThrow();
+    }
+
+    @Benchmark
+    public OrderResponse projection() {
+        return view.findOrderView(nextId()).orElseThrow();
+    }
+
+    private UUID nextId() {
+        next = (next + 1) & (orderIds.length - 1);
+        return orderIds[next];
+    }
+
+    @SpringBootConfiguration
+    @ImportAutoConfiguration({DataSourceAutoConfiguration.class, FlywayAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class, TransactionAutoConfiguration.class})
+    @EntityScan(basePackageClasses = OrderEntity.class)
+    @EnableJpaRepositories(basePackageClasses = OrderJpaRepository.class)
+    @Import({OrderPersistenceAdapter.class, OrderViewPersistenceAdapter.class, OrderMapper.class, OrderItemMapper.class})
+    static class LookupContext {
+    }
+}
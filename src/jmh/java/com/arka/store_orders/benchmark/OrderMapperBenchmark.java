@@ -0,0 +1,72 @@
+package com.arka.store_orders.benchmark;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderEntity;
+import com.arka.store_orders.infrastructure.mapper.OrderItemMapper;
+import com.arka.store_orders.infrastructure.mapper.OrderMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-order cost of the entity, domain and response conversions in {@link OrderMapper}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class OrderMapperBenchmark {
+
+    @Param({"RETAIL", "WHOLESALE"})
+    private OrderProfile profile;
+
+    private final OrderMapper mapper = new OrderMapper(new OrderItemMapper());
+    private Order[] orders;
+    private OrderEntity[] entities;
+
+    @Setup
+    public void setUp() {
+        List<Order> fixtures = OrderFixtures.orders(profile);
+        orders = fixtures.toArray(Order[]::new);
+        entities = OrderFixtures.entities(fixtures).toArray(OrderEntity[]::new);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OrderFixtures.ORDERS)
+    public void entityToDomain(Blackhole blackhole) {
+        for (OrderEntity entity : entities) {
+            blackhole.consume(mapper.orderEntityToDomain(entity));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OrderFixtures.ORDERS)
+    public void domainToEntity(Blackhole blackhole) {
+        for (Order order : orders) {
+            blackhole.consume(mapper.orderDomainToEntity(order));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OrderFixtures.ORDERS)
+    public void domainToResponse(Blackhole blackhole) {
+        for (Order order : orders) {
+            blackhole.consume(mapper.domainToResponse(order));
+        }
+    }
+}
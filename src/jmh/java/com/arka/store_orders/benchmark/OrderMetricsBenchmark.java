@@ -0,0 +1,97 @@
+package com.arka.store_orders.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.arka.store_orders.application.metrics.BestsellerTracker;
+import com.arka.store_orders.application.metrics.OrderContribution;
+import com.arka.store_orders.application.metrics.OrderMetricsAggregator;
+import com.arka.store_orders.application.metrics.SalesTimeSeries;
+import com.arka.store_orders.domain.models.ComprehensiveOrderMetrics;
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics aggregation: the startup rebuild over the whole fixture, applying the delta of one status
+ * transition, and reading the snapshot with and without a pending change (the latter recomputes the
+ * bestsellers over every product seen).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class OrderMetricsBenchmark {
+    private static final Logger aggregatorLog = (Logger) LoggerFactory.getLogger(OrderMetricsAggregator.class);
+
+    @Param({"RETAIL", "WHOLESALE"})
+    private OrderProfile profile;
+
+    private OrderMetricsAggregator aggregator;
+    private OrderContribution pending;
+    private OrderContribution accepted;
+    private boolean flip;
+
+    @Setup
+    public void setUp() {
+        aggregatorLog.setLevel(Level.WARN);
+        List<Order> orders = OrderFixtures.orders(profile);
+        aggregator = new OrderMetricsAggregator(new InMemoryOrderPersistence(orders), new SimpleMeterRegistry(),
+                new SalesTimeSeries(Duration.ofDays(35), Duration.ofDays(400), Duration.ofDays(2)), new BestsellerTracker(false, 0.001, 0.99, 1000));
+        aggregator.rebuild();
+        Order order = orders.get(0);
+        order.setStatus(OrderStatus.PENDING);
+        pending = OrderContribution.of(order);
+        order.setStatus(OrderStatus.ACCEPTED);
+        accepted = OrderContribution.of(order);
+    }
+
+    @Benchmark
+    @Warmup(iterations = 3, time = 5)
+    @Measurement(iterations = 5, time = 5)
+    public void rebuild() {
+        aggregator.rebuild();
+    }
+
+    @Benchmark
+    public void recordTransition() {
+        transition();
+    }
+
+    @Benchmark
+    public ComprehensiveOrderMetrics snapshotCached() {
+        return aggregator.snapshot();
+    }
+
+    @Benchmark
+    public ComprehensiveOrderMetrics snapshotAfterTransition() {
+        transition();
+        return aggregator.snapshot();
+    }
+
+    private void transition() {
+        flip = !flip;
+        if (flip) {
+            aggregator.record(pending, accepted);
+        } else {
+            aggregator.record(accepted, pending);
+        }
+    }
+}
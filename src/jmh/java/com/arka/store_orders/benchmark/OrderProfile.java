@@ -0,0 +1,10 @@
+package com.arka.store_orders.benchmark;
+
+/**
+ * Order size profiles for {@link OrderFixtures}. RETAIL is dominated by one to three line orders with a
+ * long tail, WHOLESALE by large orders with high quantities.
+ */
+public enum OrderProfile {
+    RETAIL,
+    WHOLESALE
+}
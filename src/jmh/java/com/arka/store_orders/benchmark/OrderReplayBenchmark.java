@@ -0,0 +1,115 @@
+package com.arka.store_orders.benchmark;
+
+import com.arka.store_orders.application.events.OrderReplayEngine;
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderEvent;
+import com.arka.store_orders.domain.models.OrderEventType;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.TimeInState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replay throughput of the order event log: one operation folds a log of one million events (whole order
+ * lifecycles, so a few more) into {@link Order} aggregates or into time-in-state figures. The log mixes item
+ * edits with full lifecycles the way the service writes them, grouped by order in replay order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class OrderReplayBenchmark {
+    private static final int EVENTS = 1_000_000;
+
+    private final OrderReplayEngine engine = new OrderReplayEngine();
+    private List<OrderEvent> events;
+    private List<OrderEvent> statusEvents;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        events = new ArrayList<>(EVENTS + 16);
+        LocalDateTime start = LocalDateTime.of(2026, 1, 1, 0, 0);
+        while (events.size() < EVENTS) {
+            appendLifecycle(UUID.randomUUID(), start.plusSeconds(random.nextInt(86_400 * 30)), random);
+        }
+        statusEvents = events.stream()
+                .filter(event -> event.type() != OrderEventType.ITEM_ADDED
+                        && event.type() != OrderEventType.ITEM_UPDATED
+                        && event.type() != OrderEventType.ITEM_REMOVED)
+                .toList();
+    }
+
+    @Benchmark
+    public Map<UUID, Order> replayAggregates() {
+        return engine.replayAll(events);
+    }
+
+    @Benchmark
+    public List<TimeInState> timeInState() {
+        return engine.timeInState(events);
+    }
+
+    @Benchmark
+    public List<TimeInState> timeInStateFromStatusEvents() {
+        return engine.timeInState(statusEvents);
+    }
+
+    private void appendLifecycle(UUID orderId, LocalDateTime createdAt, Random random) {
+        int items = 1 + random.nextInt(5);
+        long revision = 0;
+        events.add(new OrderEvent(orderId, revision, OrderEventType.CREATED, OrderStatus.PENDING, createdAt,
+                null, null, null, 0L, "user-" + random.nextInt(1_000)));
+        for (long itemId = 1; itemId <= items; itemId++) {
+            events.add(item(orderId, revision, OrderEventType.ITEM_ADDED, itemId, createdAt, random));
+        }
+        LocalDateTime at = createdAt;
+        if (random.nextInt(4) == 0) {
+            revision += 2;
+            at = at.plusMinutes(random.nextInt(30));
+            events.add(item(orderId, revision, OrderEventType.ITEM_UPDATED, 1L, at, random));
+        }
+        revision += 2;
+        at = at.plusMinutes(1 + random.nextInt(120));
+        if (random.nextInt(10) == 0) {
+            events.add(status(orderId, revision, OrderEventType.CANCELED, OrderStatus.CANCELED, at));
+            return;
+        }
+        events.add(status(orderId, revision, OrderEventType.PROCESSED, OrderStatus.WAITING_PAYMENT_CONFIRMATION, at));
+        revision += 1;
+        at = at.plusSeconds(5 + random.nextInt(60));
+        events.add(status(orderId, revision, OrderEventType.PAYMENT_CONFIRMED, OrderStatus.WAITINGCONFIRMATION, at));
+        revision += 2;
+        at = at.plusMinutes(random.nextInt(24 * 60));
+        events.add(status(orderId, revision, OrderEventType.ACCEPTED, OrderStatus.ACCEPTED, at));
+    }
+
+    private static OrderEvent status(UUID orderId, long revision, OrderEventType type, OrderStatus status,
+                                     LocalDateTime at) {
+        return new OrderEvent(orderId, revision, type, status, at, null, null, null, 0L, null);
+    }
+
+    private static OrderEvent item(UUID orderId, long revision, OrderEventType type, long itemId, LocalDateTime at,
+                                   Random random) {
+        return new OrderEvent(orderId, revision, type, OrderStatus.PENDING, at, itemId,
+                1L + random.nextInt(5_000), 1 + random.nextInt(4), 100L + random.nextInt(100_000), null);
+    }
+}
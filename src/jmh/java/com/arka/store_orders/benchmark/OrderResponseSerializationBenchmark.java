@@ -0,0 +1,59 @@
+package com.arka.store_orders.benchmark;
+
+import com.arka.store_orders.infrastructure.mapper.OrderItemMapper;
+import com.arka.store_orders.infrastructure.mapper.OrderMapper;
+import com.arka.store_orders.infrastructure.resources.Response.OrderResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-order cost of writing an {@link OrderResponse} to JSON bytes with the same ObjectMapper defaults
+ * Spring Boot applies to the controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class OrderResponseSerializationBenchmark {
+
+    @Param({"RETAIL", "WHOLESALE"})
+    private OrderProfile profile;
+
+    private OrderResponse[] responses;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        OrderMapper mapper = new OrderMapper(new OrderItemMapper());
+        responses = OrderFixtures.orders(profile).stream()
+                .map(mapper::domainToResponse)
+                .toArray(OrderResponse[]::new);
+        writer = Jackson2ObjectMapperBuilder.json().build().writerFor(OrderResponse.class);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OrderFixtures.ORDERS)
+    public void writeOrderResponse(Blackhole blackhole) throws JsonProcessingException {
+        for (OrderResponse response : responses) {
+            blackhole.consume(writer.writeValueAsBytes(response));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.arka.store_orders.application.events;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderEvent;
+import com.arka.store_orders.domain.models.OrderEventType;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.OrderStateSnapshot;
+import com.arka.store_orders.domain.ports.out.persistence.OrderEventPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Write side of the order event log. Called with the saved order inside the transaction of the state change,
+ * so events carry the version the change produced and are appended together with it. Every status change
+ * also snapshots the order, which keeps a replay down to the item edits made since the last transition.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderEventRecorder {
+    private final OrderEventPort eventLog;
+
+    public void created(Order order) {
+        created(List.of(order));
+    }
+
+    public void created(List<Order> orders) {
+        List<OrderEvent> events = new ArrayList<>();
+        List<OrderStateSnapshot> snapshots = new ArrayList<>(orders.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Order order : orders) {
+            LocalDateTime createdAt = order.getCreateAt() == null ? now : order.getCreateAt();
+            events.add(OrderEvent.of(order, OrderEventType.CREATED, createdAt));
+            for (OrderItem item : order.getItems()) {
+                events.add(OrderEvent.ofItem(order, OrderEventType.ITEM_ADDED, item, createdAt));
+            }
+            snapshots.add(snapshot(order, now));
+        }
+        eventLog.append(events);
+        eventLog.saveSnapshots(snapshots);
+    }
+
+    /** Records the items of {@code saved} whose ids are not in {@code previousItemIds}. */
+    public void itemsAdded(Order saved, Set<Long> previousItemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderEvent> events = new ArrayList<>(1);
+        for (OrderItem item : saved.getItems()) {
+            if (!previousItemIds.contains(item.getId())) {
+                events.add(OrderEvent.ofItem(saved, OrderEventType.ITEM_ADDED, item, now));
+            }
+        }
+        eventLog.append(events);
+    }
+
+    public void itemChanged(Order saved, OrderEventType type, OrderItem item) {
+        eventLog.append(List.of(OrderEvent.ofItem(saved, type, item, LocalDateTime.now())));
+    }
+
+    public void statusChanged(Order saved, OrderEventType type) {
+        statusChanged(List.of(saved), type);
+    }
+
+    public void statusChanged(List<Order> saved, OrderEventType type) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderEvent> events = new ArrayList<>(saved.size());
+        List<OrderStateSnapshot> snapshots = new ArrayList<>(saved.size());
+        for (Order order : saved) {
+            events.add(OrderEvent.of(order, type, now));
+            snapshots.add(snapshot(order, now));
+        }
+        eventLog.append(events);
+        eventLog.saveSnapshots(snapshots);
+    }
+
+    private static OrderStateSnapshot snapshot(Order order, LocalDateTime takenAt) {
+        return new OrderStateSnapshot(order, order.getVersion() == null ? 0L : order.getVersion(), takenAt);
+    }
+}
@@ -0,0 +1,52 @@
+package com.arka.store_orders.application.events;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderEvent;
+import com.arka.store_orders.domain.models.OrderEventType;
+import com.arka.store_orders.domain.models.OrderStateSnapshot;
+import com.arka.store_orders.domain.models.TimeInState;
+import com.arka.store_orders.domain.ports.out.persistence.OrderEventPort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Read side of the order event log: the raw history of an order, the order rebuilt from its latest snapshot
+ * plus the events after it, and time-in-state figures over the status events of a time window.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderHistory {
+    private static final Set<OrderEventType> STATUS_EVENTS = EnumSet.complementOf(
+            EnumSet.of(OrderEventType.ITEM_ADDED, OrderEventType.ITEM_UPDATED, OrderEventType.ITEM_REMOVED));
+
+    private final OrderEventPort eventLog;
+    private final OrderReplayEngine engine;
+
+    public List<OrderEvent> events(UUID orderId) {
+        return eventLog.findEvents(orderId, -1L);
+    }
+
+    public Optional<Order> replay(UUID orderId) {
+        Optional<OrderStateSnapshot> snapshot = eventLog.findSnapshot(orderId);
+        long afterRevision = snapshot.map(OrderStateSnapshot::revision).orElse(-1L);
+        List<OrderEvent> events = eventLog.findEvents(orderId, afterRevision);
+        if (snapshot.isEmpty() && events.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(engine.replay(snapshot.map(OrderStateSnapshot::order).orElse(null), events));
+    }
+
+    /** Stays that started from a status event in [from, to); stays still running at {@code to} count as open. */
+    public List<TimeInState> timeInState(LocalDateTime from, LocalDateTime to) {
+        OrderReplayEngine.TimeInStateAccumulator accumulator = engine.timeInStateAccumulator();
+        eventLog.forEachEvent(STATUS_EVENTS, from, to, accumulator);
+        return accumulator.result();
+    }
+}
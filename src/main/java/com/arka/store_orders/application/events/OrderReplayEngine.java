@@ -0,0 +1,162 @@
+package com.arka.store_orders.application.events;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderEvent;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.TimeInState;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Rebuilds orders and time-in-state figures from the event log. Replay expects the events of an order together
+ * and in replay order, which is how an order's log is read back. The time-in-state fold takes events in
+ * occurrence order, orders interleaved, and keeps the current stay of every order it has seen.
+ */
+@Component
+public class OrderReplayEngine {
+
+    /** Applies {@code events} on top of {@code base}, or on an empty order when there is no snapshot. */
+    public Order replay(Order base, List<OrderEvent> events) {
+        Order order = base;
+        for (OrderEvent event : events) {
+            order = apply(order, event);
+        }
+        return order;
+    }
+
+    public Map<UUID, Order> replayAll(Iterable<OrderEvent> events) {
+        Map<UUID, Order> orders = new HashMap<>();
+        UUID currentId = null;
+        Order current = null;
+        for (OrderEvent event : events) {
+            if (!event.orderId().equals(currentId)) {
+                currentId = event.orderId();
+                current = orders.get(currentId);
+            }
+            Order applied = apply(current, event);
+            if (applied != current) {
+                orders.put(currentId, applied);
+                current = applied;
+            }
+        }
+        return orders;
+    }
+
+    public List<TimeInState> timeInState(Iterable<OrderEvent> events) {
+        TimeInStateAccumulator accumulator = new TimeInStateAccumulator();
+        events.forEach(accumulator);
+        return accumulator.result();
+    }
+
+    public TimeInStateAccumulator timeInStateAccumulator() {
+        return new TimeInStateAccumulator();
+    }
+
+    private static Order apply(Order order, OrderEvent event) {
+        switch (event.type()) {
+            case CREATED -> {
+                order = new Order();
+                order.setId(event.orderId());
+                order.setCreateAt(event.occurredAt());
+                order.setItems(new ArrayList<>());
+                order.setUserId(event.userId());
+            }
+            case ITEM_ADDED -> {
+                OrderItem item = new OrderItem(event.itemId(), event.productId(), event.quantity(), event.price(),
+                        0L, event.orderId());
+                order(order, event).setTotal(order.getTotal() + item.calculateAmount());
+                order.getItems().add(item);
+            }
+            case ITEM_UPDATED -> {
+                OrderItem item = item(order(order, event), event.itemId());
+                long previous = item.getAmount();
+                item.setQuantity(event.quantity());
+                order.setTotal(order.getTotal() - previous + item.calculateAmount());
+            }
+            case ITEM_REMOVED -> {
+                OrderItem item = item(order(order, event), event.itemId());
+                order.getItems().remove(item);
+                order.setTotal(order.getTotal() - item.getAmount());
+            }
+            default -> {
+                order(order, event).setUpdateAt(event.occurredAt());
+                if (event.userId() != null) {
+                    order.setUserId(event.userId());
+                }
+            }
+        }
+        order.setStatus(event.status());
+        order.setVersion(event.revision());
+        return order;
+    }
+
+    private static Order order(Order order, OrderEvent event) {
+        if (order == null) {
+            throw new IllegalStateException("Event log of order " + event.orderId() + " does not start with CREATED");
+        }
+        return order;
+    }
+
+    private static OrderItem item(Order order, Long itemId) {
+        for (OrderItem item : order.getItems()) {
+            if (item.getId().equals(itemId)) {
+                return item;
+            }
+        }
+        throw new IllegalStateException("Event log of order " + order.getId() + " references unknown item " + itemId);
+    }
+
+    /**
+     * Fold for {@link #timeInState}: feed it status events in occurrence order. An order's first event starts its
+     * first stay, so a stay that began before the first event fed in is not counted.
+     */
+    public static class TimeInStateAccumulator implements Consumer<OrderEvent> {
+        private final long[] completed = new long[OrderStatus.values().length];
+        private final long[] totalMillis = new long[OrderStatus.values().length];
+        private final long[] maxMillis = new long[OrderStatus.values().length];
+        private final Map<UUID, Stay> stays = new HashMap<>();
+
+        @Override
+        public void accept(OrderEvent event) {
+            Stay stay = stays.get(event.orderId());
+            if (stay != null) {
+                if (event.status() == stay.status()) {
+                    return;
+                }
+                long millis = Math.max(0, ChronoUnit.MILLIS.between(stay.since(), event.occurredAt()));
+                int i = stay.status().ordinal();
+                completed[i]++;
+                totalMillis[i] += millis;
+                maxMillis[i] = Math.max(maxMillis[i], millis);
+            }
+            stays.put(event.orderId(), new Stay(event.status(), event.occurredAt()));
+        }
+
+        public List<TimeInState> result() {
+            long[] open = new long[OrderStatus.values().length];
+            for (Stay stay : stays.values()) {
+                open[stay.status().ordinal()]++;
+            }
+            OrderStatus[] statuses = OrderStatus.values();
+            List<TimeInState> result = new ArrayList<>(statuses.length);
+            for (OrderStatus s : statuses) {
+                int i = s.ordinal();
+                double average = completed[i] == 0 ? 0 : totalMillis[i] / 1000.0 / completed[i];
+                result.add(new TimeInState(s, completed[i], open[i], average, maxMillis[i] / 1000.0));
+            }
+            return result;
+        }
+
+        private record Stay(OrderStatus status, LocalDateTime since) {
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.arka.store_orders.application.expiry;
+
+import com.arka.store_orders.application.events.OrderEventRecorder;
+import com.arka.store_orders.application.metrics.OrderContribution;
+import com.arka.store_orders.application.metrics.OrderMetricsAggregator;
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderEventType;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.StockOperation;
+import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import com.arka.store_orders.domain.ports.out.persistence.StockOutboxPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Expires orders that still hold a stock reservation long after they were created. Each batch locks the
+ * oldest abandoned orders with SKIP LOCKED, so several instances sweep disjoint rows, marks them EXPIRED
+ * and queues one stock release per order in the stock outbox, all in one transaction: the release is sent
+ * only after EXPIRED has committed, and a rolled back batch releases nothing.
+ * <p>
+ * Only unpaid orders expire: PENDING ones, and orders waiting for or past payment confirmation that hold
+ * no transaction id and no live payment lease. Orders that were already charged are never expired here,
+ * since nothing would void the payment; they are counted in {@code orders.expiry.paid.stale} instead.
+ */
+@Component
+public class ReservationExpirySweeper {
+    private final static Logger log = LoggerFactory.getLogger(ReservationExpirySweeper.class);
+    private static final Set<OrderStatus> EXPIRABLE = Set.of(OrderStatus.PENDING, OrderStatus.WAITINGCONFIRMATION,
+            OrderStatus.WAITING_PAYMENT_CONFIRMATION);
+    private static final Set<OrderStatus> PAYABLE = Set.of(OrderStatus.WAITINGCONFIRMATION,
+            OrderStatus.WAITING_PAYMENT_CONFIRMATION);
+
+    private final OrderPersistencePort persistence;
+    private final StockOutboxPort stockOutbox;
+    private final OrderMetricsAggregator metrics;
+    private final OrderEventRecorder events;
+    private final TransactionTemplate transaction;
+    private final Duration ttl;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Counter expiredOrders;
+    private final Counter reclaimedUnits;
+    private final AtomicLong stalePaidOrders = new AtomicLong();
+
+    public ReservationExpirySweeper(OrderPersistencePort persistence,
+                                    StockOutboxPort stockOutbox,
+                                    OrderMetricsAggregator metrics,
+                                    OrderEventRecorder events,
+                                    PlatformTransactionManager transactionManager,
+                                    MeterRegistry registry,
+                                    @Value("${orders.expiry.ttl:30m}") Duration ttl,
+                                    @Value("${orders.expiry.batch-size:200}") int batchSize,
+                                    @Value("${orders.expiry.max-batches-per-run:50}") int maxBatchesPerRun) {
+        this.persistence = persistence;
+        this.stockOutbox = stockOutbox;
+        this.metrics = metrics;
+        this.events = events;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatchesPerRun = Math.max(1, maxBatchesPerRun);
+        this.expiredOrders = Counter.builder("orders.expiry.orders")
+                .description("Abandoned orders moved to EXPIRED")
+                .register(registry);
+        this.reclaimedUnits = Counter.builder("orders.expiry.reclaimed.units")
+                .description("Reserved stock units queued for release by expired orders")
+                .register(registry);
+        Gauge.builder("orders.expiry.paid.stale", stalePaidOrders, AtomicLong::get)
+                .description("Charged orders past the reservation TTL that were not expired and need a manual void or refund")
+                .register(registry);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.expiry.interval-ms:60000}",
+            initialDelayString = "${orders.expiry.initial-delay-ms:60000}")
+    public void sweep() {
+        LocalDateTime createdBefore = LocalDateTime.now().minus(ttl);
+        int expired = 0;
+        long units = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            SweptBatch swept;
+            try {
+                swept = transaction.execute(status -> expireBatch(createdBefore));
+            } catch (RuntimeException e) {
+                log.warn("Reservation expiry batch failed, retrying on next run. Reason: {}", e.getMessage());
+                break;
+            }
+            expired += swept.orders();
+            units += swept.units();
+            expiredOrders.increment(swept.orders());
+            reclaimedUnits.increment(swept.units());
+            if (swept.orders() < batchSize) {
+                break;
+            }
+        }
+        if (expired > 0) {
+            log.info("Expired {} abandoned orders and queued the release of {} reserved units", expired, units);
+        }
+        long stalePaid = persistence.countPaidCreatedBefore(PAYABLE, createdBefore);
+        stalePaidOrders.set(stalePaid);
+        if (stalePaid > 0) {
+            log.warn("{} charged orders are past the reservation TTL and were left for a manual void or refund", stalePaid);
+        }
+    }
+
+    private SweptBatch expireBatch(LocalDateTime createdBefore) {
+        List<Order> abandoned = persistence.lockUnpaidCreatedBefore(EXPIRABLE, createdBefore, batchSize);
+        if (abandoned.isEmpty()) {
+            return new SweptBatch(0, 0);
+        }
+        List<UUID> ids = new ArrayList<>(abandoned.size());
+        for (Order order : abandoned) {
+            ids.add(order.getId());
+        }
+        persistence.updateStatus(ids, OrderStatus.EXPIRED);
+        long units = 0;
+        for (Order order : abandoned) {
+            Map<Long, Integer> quantities = order.quantitiesByProduct();
+            stockOutbox.enqueue(order.getId(), StockOperation.RELEASE, quantities);
+            for (int quantity : quantities.values()) {
+                units += quantity;
+            }
+            OrderContribution before = OrderContribution.of(order);
+            order.switchToExpired();
+            order.setVersion(order.getVersion() + 1);
+            metrics.record(before, OrderContribution.of(order));
+        }
+        events.statusChanged(abandoned, OrderEventType.EXPIRED);
+        return new SweptBatch(abandoned.size(), units);
+    }
+
+    private record SweptBatch(int orders, long units) {
+    }
+}
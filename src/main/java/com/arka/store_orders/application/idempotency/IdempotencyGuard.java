@@ -0,0 +1,241 @@
+package com.arka.store_orders.application.idempotency;
+
+import com.arka.store_orders.domain.models.IdempotencyRecord;
+import com.arka.store_orders.domain.ports.out.persistence.IdempotencyPort;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.IdempotencyKeyReusedException;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.InvalidIdempotencyKeyException;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.OrderConflictException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs a request at most once per {@code Idempotency-Key}. Completed responses are replayed from a bounded,
+ * expiring in-memory cache backed by the idempotency_keys table, so a retried request never reaches the
+ * use cases or the downstream services again. Requests with the same key that arrive while the first one
+ * is still running on this instance wait for it, up to the in-progress timeout, and share its outcome; on
+ * another instance they get a conflict. Failed requests release the key so the client can retry. Keys this
+ * instance still holds, running or with a response it could not store yet, are touched by a heartbeat so
+ * no instance purges them as stale; unstored responses are replayed from memory and stored again.
+ */
+@Component
+public class IdempotencyGuard {
+    private final static Logger log = LoggerFactory.getLogger(IdempotencyGuard.class);
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int COMPLETE_ATTEMPTS = 3;
+
+    private final IdempotencyPort store;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration inProgressTimeout;
+    private final Cache<String, IdempotencyRecord> completed;
+    private final ConcurrentHashMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, IdempotencyRecord> unsaved = new ConcurrentHashMap<>();
+
+    public IdempotencyGuard(IdempotencyPort store,
+                            ObjectMapper objectMapper,
+                            @Value("${orders.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${orders.idempotency.maximum-size:10000}") long maximumSize,
+                            @Value("${orders.idempotency.in-progress-timeout:60s}") Duration inProgressTimeout) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.inProgressTimeout = inProgressTimeout;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public <T> T execute(String key, String operation, Object payload, Class<T> responseType, Supplier<T> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidIdempotencyKeyException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(operation, payload);
+        InFlight mine = new InFlight(fingerprint, new CompletableFuture<>());
+        InFlight running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            ensureSameRequest(key, running.fingerprint(), fingerprint);
+            return read(await(key, running.response()), responseType);
+        }
+        try {
+            String response = executeOnce(key, fingerprint, action);
+            mine.response().complete(response);
+            return read(response, responseType);
+        } catch (RuntimeException e) {
+            mine.response().completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.heartbeat-interval-ms:20000}")
+    public void heartbeat() {
+        Set<String> held = new HashSet<>(inFlight.keySet());
+        held.addAll(unsaved.keySet());
+        store.touch(held, LocalDateTime.now());
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        unsaved.forEach((key, record) -> {
+            if (tryComplete(record)) {
+                unsaved.remove(key, record);
+            }
+        });
+        heartbeat();
+        LocalDateTime now = LocalDateTime.now();
+        int purged = store.purgeExpired(now, now.minus(inProgressTimeout));
+        if (purged > 0) {
+            log.info("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private String executeOnce(String key, String fingerprint, Supplier<?> action) {
+        IdempotencyRecord previous = lookup(key);
+        if (previous != null) {
+            return replay(previous, fingerprint);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(ttl);
+        if (!store.tryStart(key, fingerprint, now, expiresAt)) {
+            IdempotencyRecord winner = store.find(key, now)
+                    .orElseThrow(() -> inProgress(key));
+            return replay(winner, fingerprint);
+        }
+        String response;
+        try {
+            response = write(action.get());
+        } catch (RuntimeException e) {
+            store.release(key);
+            throw e;
+        }
+        IdempotencyRecord record = new IdempotencyRecord(key, fingerprint, response, expiresAt);
+        completed.put(key, record);
+        complete(record);
+        return response;
+    }
+
+    private void complete(IdempotencyRecord record) {
+        for (int attempt = 1; attempt <= COMPLETE_ATTEMPTS; attempt++) {
+            if (tryComplete(record)) {
+                return;
+            }
+        }
+        log.error("Cannot store the response for Idempotency-Key {}, retrying on the next purge", record.key());
+        unsaved.put(record.key(), record);
+    }
+
+    private boolean tryComplete(IdempotencyRecord record) {
+        try {
+            return store.complete(record, LocalDateTime.now());
+        } catch (RuntimeException e) {
+            log.warn("Storing the response for Idempotency-Key {} failed: {}", record.key(), e.getMessage());
+            return false;
+        }
+    }
+
+    private IdempotencyRecord lookup(String key) {
+        IdempotencyRecord cached = completed.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        IdempotencyRecord stored = store.find(key, LocalDateTime.now()).orElse(null);
+        if (stored != null && stored.isCompleted()) {
+            completed.put(key, stored);
+        }
+        return stored;
+    }
+
+    private String replay(IdempotencyRecord record, String fingerprint) {
+        ensureSameRequest(record.key(), record.fingerprint(), fingerprint);
+        if (!record.isCompleted()) {
+            throw inProgress(record.key());
+        }
+        return record.response();
+    }
+
+    private static void ensureSameRequest(String key, String expected, String actual) {
+        if (!expected.equals(actual)) {
+            throw new IdempotencyKeyReusedException("Idempotency-Key " + key + " was already used for a different request");
+        }
+    }
+
+    private static OrderConflictException inProgress(String key) {
+        return new OrderConflictException("A request with Idempotency-Key " + key + " is still in progress");
+    }
+
+    private String await(String key, CompletableFuture<String> response) {
+        try {
+            return response.get(inProgressTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw inProgress(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw inProgress(key);
+        }
+    }
+
+    private String fingerprint(String operation, Object payload) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            if (payload != null) {
+                digest.update(objectMapper.writeValueAsBytes(payload));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Cannot fingerprint request " + operation, e);
+        }
+    }
+
+    private String write(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotent response", e);
+        }
+    }
+
+    private <T> T read(String response, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(response, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stored idempotent response", e);
+        }
+    }
+
+    private record InFlight(String fingerprint, CompletableFuture<String> response) {
+    }
+}
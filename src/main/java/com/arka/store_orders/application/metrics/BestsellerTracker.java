@@ -0,0 +1,140 @@
+package com.arka.store_orders.application.metrics;
+
+import com.arka.store_orders.domain.models.BestSellerMetrics;
+import com.arka.store_orders.domain.models.ProductSalesRanking;
+import com.arka.store_orders.domain.models.ProductSales;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Units ordered per product, kept exactly in a primitive {@link LongCountMap} or, when enabled, only
+ * approximately in a fixed-size {@link HeavyHitterSketch} for catalogs too large to rank exactly. Updates of
+ * one order are applied under a single {@link ReentrantLock}, which does not pin virtual threads. Exact
+ * rankings are selected outside the lock from a copy of the map, taken at most once per change, so a slow
+ * ranking over a large catalog never holds up writers.
+ */
+@Component
+public class BestsellerTracker {
+    private final LongCountMap units;
+    private final HeavyHitterSketch heavyHitters;
+    private final ReentrantLock lock = new ReentrantLock();
+    private long modifications;
+    private long copiedAt = -1;
+    private LongCountMap copy;
+
+    public BestsellerTracker(@Value("${orders.metrics.heavy-hitters.enabled:false}") boolean heavyHittersEnabled,
+                             @Value("${orders.metrics.heavy-hitters.epsilon:0.001}") double epsilon,
+                             @Value("${orders.metrics.heavy-hitters.confidence:0.99}") double confidence,
+                             @Value("${orders.metrics.heavy-hitters.capacity:1000}") int capacity) {
+        this.heavyHitters = heavyHittersEnabled ? new HeavyHitterSketch(epsilon, confidence, capacity) : null;
+        this.units = heavyHittersEnabled ? null : new LongCountMap(1024);
+    }
+
+    void add(long[] productIds, long[] quantities, int sign) {
+        lock.lock();
+        try {
+            for (int i = 0; i < productIds.length; i++) {
+                addUnlocked(productIds[i], sign * quantities[i]);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void add(long productId, long delta) {
+        lock.lock();
+        try {
+            addUnlocked(productId, delta);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void reset() {
+        lock.lock();
+        try {
+            if (units != null) {
+                units.clear();
+            } else {
+                heavyHitters.clear();
+            }
+            modifications++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public boolean isApproximateEnabled() {
+        return heavyHitters != null;
+    }
+
+    public boolean isExactEnabled() {
+        return units != null;
+    }
+
+    public ProductSalesRanking top(int k) {
+        return new ProductSalesRanking(ProductRanking.top(exactCopy(), k), false, 0);
+    }
+
+    public ProductSalesRanking bottom(int k) {
+        return new ProductSalesRanking(ProductRanking.bottom(exactCopy(), k), false, 0);
+    }
+
+    public ProductSalesRanking approximateTop(int k) {
+        if (heavyHitters == null) {
+            throw new IllegalStateException("Approximate bestsellers are disabled");
+        }
+        lock.lock();
+        try {
+            return new ProductSalesRanking(heavyHitters.top(k), true, heavyHitters.errorBound());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Best and worst seller; with the sketch only the best seller is known and the worst is left empty. */
+    BestSellerMetrics bestSellers() {
+        if (units == null) {
+            List<ProductSales> most = approximateTop(1).products();
+            return most.isEmpty()
+                    ? new BestSellerMetrics(null, null, 0L, 0L)
+                    : new BestSellerMetrics(most.get(0).productId(), null, most.get(0).unitsSold(), 0L);
+        }
+        LongCountMap counts = exactCopy();
+        List<ProductSales> most = ProductRanking.top(counts, 1);
+        if (most.isEmpty()) {
+            return new BestSellerMetrics(null, null, 0L, 0L);
+        }
+        ProductSales least = ProductRanking.bottom(counts, 1).get(0);
+        return new BestSellerMetrics(most.get(0).productId(), least.productId(),
+                most.get(0).unitsSold(), least.unitsSold());
+    }
+
+    private void addUnlocked(long productId, long delta) {
+        if (units != null) {
+            units.add(productId, delta);
+        } else {
+            heavyHitters.add(productId, delta);
+        }
+        modifications++;
+    }
+
+    private LongCountMap exactCopy() {
+        if (units == null) {
+            throw new IllegalStateException("Exact bestsellers are disabled while heavy hitters are enabled");
+        }
+        lock.lock();
+        try {
+            if (copiedAt != modifications) {
+                copy = units.copy();
+                copiedAt = modifications;
+            }
+            return copy;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.arka.store_orders.application.metrics;
+
+import com.arka.store_orders.domain.models.BestSellerMetrics;
+import com.arka.store_orders.domain.models.ComprehensiveOrderMetrics;
+import com.arka.store_orders.domain.models.Money;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.ProductSales;
+import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the same figures as {@link OrderMetricsAggregator} with aggregate queries, so only a handful of
+ * rows leave the database. Used to check the in-memory counters against the stored orders without
+ * streaming the order history. The queries share one repeatable-read snapshot.
+ */
+@Component
+public class DatabaseOrderMetrics {
+    private final OrderPersistencePort persistence;
+
+    public DatabaseOrderMetrics(OrderPersistencePort persistence) {
+        this.persistence = persistence;
+    }
+
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ComprehensiveOrderMetrics compute() {
+        Map<OrderStatus, Long> counts = persistence.countByStatus();
+        long totalOrders = 0;
+        for (long count : counts.values()) {
+            totalOrders += count;
+        }
+        long acceptedOrders = counts.getOrDefault(OrderStatus.ACCEPTED, 0L);
+        long totalSalesAmount = persistence.sumTotal(OrderStatus.ACCEPTED);
+        return new ComprehensiveOrderMetrics(
+                totalOrders,
+                acceptedOrders,
+                counts.getOrDefault(OrderStatus.PENDING, 0L),
+                Money.toMajorUnits(totalSalesAmount),
+                Money.average(totalSalesAmount, acceptedOrders),
+                bestsellers()
+        );
+    }
+
+    private BestSellerMetrics bestsellers() {
+        List<ProductSales> most = persistence.rankProductsByQuantity(false, 1);
+        if (most.isEmpty()) {
+            return new BestSellerMetrics(null, null, 0L, 0L);
+        }
+        ProductSales least = persistence.rankProductsByQuantity(true, 1).get(0);
+        return new BestSellerMetrics(most.get(0).productId(), least.productId(),
+                most.get(0).unitsSold(), least.unitsSold());
+    }
+}
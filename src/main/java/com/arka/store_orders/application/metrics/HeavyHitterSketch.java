@@ -0,0 +1,204 @@
+package com.arka.store_orders.application.metrics;
+
+import com.arka.store_orders.domain.models.ProductSales;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Approximate heavy hitters in fixed memory: a count-min sketch of {@code ceil(ln(1 / (1 - confidence)))}
+ * rows of {@code ceil(e / epsilon)} counters (rounded up to a power of two) estimates every product's count,
+ * and a min-heap of at most {@code capacity} candidates keeps the products with the highest estimates. With
+ * non-negative net counts an estimate overshoots the true count by at most {@code epsilon * total} with the
+ * given confidence and never undershoots it. Memory does not depend on the catalog size. Not thread-safe.
+ */
+public final class HeavyHitterSketch {
+    private static final int MAX_DEPTH = 8;
+
+    private final double epsilon;
+    private final int mask;
+    private final long[][] rows;
+    private final int capacity;
+    /**
+     * Min-heap of candidates by estimate, with each key's heap position (plus one) in {@code positions}.
+     * Growing estimates are not written back on every update, so stored ones may lag behind the sketch;
+     * the root is brought up to date only when a newcomer might displace it.
+     */
+    private final long[] heapKeys;
+    private final long[] heapEstimates;
+    private final LongCountMap positions;
+    private int candidates;
+    private long total;
+
+    public HeavyHitterSketch(double epsilon, double confidence, int capacity) {
+        if (epsilon <= 0 || epsilon >= 1 || confidence <= 0 || confidence >= 1 || capacity < 1) {
+            throw new IllegalArgumentException("Heavy hitters need 0 < epsilon < 1, 0 < confidence < 1 and capacity >= 1");
+        }
+        int depth = (int) Math.min(MAX_DEPTH, Math.max(1, Math.ceil(Math.log(1 / (1 - confidence)))));
+        int width = Integer.highestOneBit((int) Math.ceil(Math.E / epsilon) - 1) << 1;
+        this.epsilon = epsilon;
+        this.mask = width - 1;
+        this.rows = new long[depth][width];
+        this.capacity = capacity;
+        this.heapKeys = new long[capacity];
+        this.heapEstimates = new long[capacity];
+        this.positions = new LongCountMap(capacity);
+    }
+
+    public void add(long key, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        long hash = mix(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < rows.length; row++) {
+            int column = column(hash, row);
+            rows[row][column] += delta;
+            estimate = Math.min(estimate, rows[row][column]);
+        }
+        total += delta;
+        int position = (int) positions.get(key) - 1;
+        if (position >= 0) {
+            if (estimate <= 0) {
+                removeAt(position);
+            } else if (estimate < heapEstimates[position]) {
+                update(position, estimate);
+            }
+        } else if (estimate > 0) {
+            if (candidates < capacity) {
+                insert(key, estimate);
+            } else if (estimate > heapEstimates[0] && estimate > refreshedFloor()) {
+                removeAt(0);
+                insert(key, estimate);
+            }
+        }
+    }
+
+    /** The {@code k} candidates with the highest current estimates. */
+    public List<ProductSales> top(int k) {
+        LongCountMap estimates = new LongCountMap(candidates);
+        for (int i = 0; i < candidates; i++) {
+            estimates.put(heapKeys[i], estimate(heapKeys[i]));
+        }
+        return ProductRanking.top(estimates, k);
+    }
+
+    public long estimate(long key) {
+        long hash = mix(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < rows.length; row++) {
+            estimate = Math.min(estimate, rows[row][column(hash, row)]);
+        }
+        return estimate;
+    }
+
+    /** Largest amount an estimate can exceed the true count by, at the configured confidence. */
+    public long errorBound() {
+        return (long) Math.ceil(epsilon * Math.max(0, total));
+    }
+
+    public void clear() {
+        for (long[] row : rows) {
+            Arrays.fill(row, 0);
+        }
+        positions.clear();
+        candidates = 0;
+        total = 0;
+    }
+
+    private long refreshedFloor() {
+        while (true) {
+            long current = estimate(heapKeys[0]);
+            if (current == heapEstimates[0]) {
+                return current;
+            }
+            update(0, current);
+        }
+    }
+
+    private void insert(long key, long estimate) {
+        heapKeys[candidates] = key;
+        heapEstimates[candidates] = estimate;
+        positions.put(key, candidates + 1);
+        siftUp(candidates++);
+    }
+
+    private void update(int position, long estimate) {
+        long previous = heapEstimates[position];
+        heapEstimates[position] = estimate;
+        if (estimate < previous) {
+            siftUp(position);
+        } else {
+            siftDown(position);
+        }
+    }
+
+    private void removeAt(int position) {
+        positions.remove(heapKeys[position]);
+        candidates--;
+        if (position == candidates) {
+            return;
+        }
+        move(candidates, position);
+        siftDown(position);
+        siftUp(position);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heapEstimates[parent] <= heapEstimates[i]) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < candidates && heapEstimates[left] < heapEstimates[smallest]) {
+                smallest = left;
+            }
+            if (right < candidates && heapEstimates[right] < heapEstimates[smallest]) {
+                smallest = right;
+            }
+            if (smallest == i) {
+                return;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int i, int j) {
+        long key = heapKeys[i];
+        long estimate = heapEstimates[i];
+        move(j, i);
+        heapKeys[j] = key;
+        heapEstimates[j] = estimate;
+        positions.put(key, j + 1);
+    }
+
+    private void move(int from, int to) {
+        heapKeys[to] = heapKeys[from];
+        heapEstimates[to] = heapEstimates[from];
+        positions.put(heapKeys[to], to + 1);
+    }
+
+    /** Row {@code i} uses {@code h1 + i * h2} from the two halves of one 64-bit hash. */
+    private int column(long hash, int row) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        return (h1 + row * h2) & mask;
+    }
+
+    private static long mix(long key) {
+        long hash = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+}
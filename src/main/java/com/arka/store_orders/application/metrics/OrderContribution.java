@@ -0,0 +1,32 @@
+package com.arka.store_orders.application.metrics;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Detached view of what a single order adds to the aggregated metrics.
+ * Taken before and after a mutation so the aggregator only has to apply the difference.
+ */
+public record OrderContribution(OrderStatus status, long total, long[] productIds, long[] quantities,
+                                long[] amounts, LocalDateTime createAt, String userId) {
+
+    public static OrderContribution of(Order order) {
+        List<OrderItem> items = order.getItems();
+        int size = items == null ? 0 : items.size();
+        long[] productIds = new long[size];
+        long[] quantities = new long[size];
+        long[] amounts = new long[size];
+        for (int i = 0; i < size; i++) {
+            OrderItem item = items.get(i);
+            productIds[i] = item.getProductId();
+            quantities[i] = item.getQuantity() == null ? 0 : item.getQuantity();
+            amounts[i] = item.getAmount();
+        }
+        return new OrderContribution(order.getStatus(), order.getTotal(), productIds, quantities, amounts,
+                order.getCreateAt(), order.getUserId());
+    }
+}
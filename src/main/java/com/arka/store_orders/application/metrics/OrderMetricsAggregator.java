@@ -0,0 +1,275 @@
+package com.arka.store_orders.application.metrics;
+
+import com.arka.store_orders.domain.models.ComprehensiveOrderMetrics;
+import com.arka.store_orders.domain.models.Money;
+import com.arka.store_orders.domain.models.OrderFilter;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps order metrics pre-aggregated in memory. Counters are rebuilt from the database once the context is
+ * up, before the web server and the schedulers start, and afterwards receive the delta of every order
+ * mutation this instance commits, so reads never touch the orders table. Deltas are applied after commit
+ * only, and a rebuild excludes them while it runs so no mutation is counted twice.
+ * <p>
+ * The figures are per instance: mutations committed by other instances are not seen. The status counts
+ * and accepted sales are resynced from the database aggregates every
+ * {@code orders.metrics.resync-interval-ms}, which bounds that drift, and the recent days of the
+ * {@link SalesTimeSeries} are rebuilt from the orders created in them every
+ * {@code orders.timeseries.resync-interval-ms}; the {@link BestsellerTracker} stays per instance until the
+ * next restart. For
+ * cluster-wide figures use {@link DatabaseOrderMetrics}; the per-status gauges come from
+ * {@link OrderStatusGauges}. Every committed status change increments {@code orders.status.transitions}
+ * tagged with its source and target, counted by the instance that committed it, so those sum across
+ * instances.
+ */
+@Component
+public class OrderMetricsAggregator implements SmartInitializingSingleton {
+    private final static Logger log = LoggerFactory.getLogger(OrderMetricsAggregator.class);
+
+    private final OrderPersistencePort persistence;
+
+    private final LongAdder[] statusCounts = newStatusCounters();
+    private final LongAdder acceptedSales = new LongAdder();
+    private final AtomicLong revision = new AtomicLong();
+    private volatile CachedMetrics cached = new CachedMetrics(-1, null);
+    private final MeterRegistry registry;
+    private final Counter[][] transitions;
+    private final SalesTimeSeries timeSeries;
+    private final BestsellerTracker bestsellers;
+    /** Deltas share the read side; rebuild and resync take the write side so no delta lands mid-scan. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public OrderMetricsAggregator(OrderPersistencePort persistence, MeterRegistry registry,
+                                  SalesTimeSeries timeSeries, BestsellerTracker bestsellers) {
+        this.persistence = persistence;
+        this.registry = registry;
+        this.timeSeries = timeSeries;
+        this.bestsellers = bestsellers;
+        OrderStatus[] statuses = OrderStatus.values();
+        this.transitions = new Counter[statuses.length + 1][statuses.length];
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        LongAdder orders = new LongAdder();
+        lock.writeLock().lock();
+        try {
+            reset();
+            persistence.forEachOrder(OrderFilter.ALL, order -> {
+                add(OrderContribution.of(order), 1);
+                orders.increment();
+            });
+            revision.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Order metrics rebuilt from {} orders", orders.sum());
+    }
+
+    /**
+     * Replaces the status counts and accepted sales with the database aggregates. Both queries run under the
+     * write lock, so a delta that arrives meanwhile waits and lands on top of them instead of being wiped by the
+     * reset. Only a transaction that committed before the queries but had not yet run its after-commit delta can
+     * still be counted twice, until the next resync.
+     */
+    @Scheduled(fixedDelayString = "${orders.metrics.resync-interval-ms:300000}",
+            initialDelayString = "${orders.metrics.resync-interval-ms:300000}")
+    public void resync() {
+        lock.writeLock().lock();
+        try {
+            Map<OrderStatus, Long> counts = persistence.countByStatus();
+            long sales = persistence.sumTotal(OrderStatus.ACCEPTED);
+            for (OrderStatus status : OrderStatus.values()) {
+                LongAdder counter = statusCounts[status.ordinal()];
+                counter.reset();
+                counter.add(counts.getOrDefault(status, 0L));
+            }
+            acceptedSales.reset();
+            acceptedSales.add(sales);
+            revision.incrementAndGet();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the {@link SalesTimeSeries} buckets of the orders created since {@link SalesTimeSeries#resyncStart()}.
+     * The scan runs under the write lock, like {@link #rebuild()}, so a delta is either in the scan or applied after it.
+     */
+    @Scheduled(fixedDelayString = "${orders.timeseries.resync-interval-ms:300000}",
+            initialDelayString = "${orders.timeseries.resync-interval-ms:300000}")
+    public void resyncTimeSeries() {
+        LocalDateTime start = timeSeries.resyncStart();
+        LongAdder orders = new LongAdder();
+        lock.writeLock().lock();
+        try {
+            timeSeries.clearFrom(start);
+            persistence.forEachOrderCreatedSince(start, order -> {
+                timeSeries.add(OrderContribution.of(order), 1);
+                orders.increment();
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Sales time series resynced from {} orders created since {}", orders.sum(), start);
+    }
+
+    public void record(OrderContribution before, OrderContribution after) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(before, after);
+                }
+            });
+        } else {
+            apply(before, after);
+        }
+    }
+
+    public void recordItemChange(Long productId, long quantityDelta) {
+        if (quantityDelta == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    applyItemChange(productId, quantityDelta);
+                }
+            });
+        } else {
+            applyItemChange(productId, quantityDelta);
+        }
+    }
+
+    public ComprehensiveOrderMetrics snapshot() {
+        CachedMetrics current = cached;
+        long currentRevision = revision.get();
+        if (current.revision() == currentRevision) {
+            return current.metrics();
+        }
+        ComprehensiveOrderMetrics metrics = compute();
+        cached = new CachedMetrics(currentRevision, metrics);
+        return metrics;
+    }
+
+    public long countByStatus(OrderStatus status) {
+        return statusCounts[status.ordinal()].sum();
+    }
+
+    private void apply(OrderContribution before, OrderContribution after) {
+        countTransition(before, after);
+        lock.readLock().lock();
+        try {
+            if (before != null) {
+                add(before, -1);
+            }
+            if (after != null) {
+                add(after, 1);
+            }
+            revision.incrementAndGet();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void applyItemChange(Long productId, long quantityDelta) {
+        lock.readLock().lock();
+        try {
+            bestsellers.add(productId, quantityDelta);
+            revision.incrementAndGet();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(OrderContribution contribution, int sign) {
+        if (contribution.status() != null) {
+            statusCounts[contribution.status().ordinal()].add(sign);
+            if (contribution.status() == OrderStatus.ACCEPTED) {
+                acceptedSales.add(sign * contribution.total());
+            }
+        }
+        bestsellers.add(contribution.productIds(), contribution.quantities(), sign);
+        timeSeries.add(contribution, sign);
+    }
+
+    private void countTransition(OrderContribution before, OrderContribution after) {
+        OrderStatus from = before == null ? null : before.status();
+        OrderStatus to = after == null ? null : after.status();
+        if (to == null || from == to) {
+            return;
+        }
+        int row = from == null ? 0 : from.ordinal() + 1;
+        Counter counter = transitions[row][to.ordinal()];
+        if (counter == null) {
+            counter = Counter.builder("orders.status.transitions")
+                    .description("Committed order status changes")
+                    .tag("from", from == null ? "NEW" : from.name())
+                    .tag("to", to.name())
+                    .register(registry);
+            transitions[row][to.ordinal()] = counter;
+        }
+        counter.increment();
+    }
+
+    private ComprehensiveOrderMetrics compute() {
+        long totalOrders = 0;
+        for (LongAdder counter : statusCounts) {
+            totalOrders += counter.sum();
+        }
+        long acceptedOrders = countByStatus(OrderStatus.ACCEPTED);
+        long pendingOrders = countByStatus(OrderStatus.PENDING);
+        long totalSalesAmount = acceptedSales.sum();
+        return new ComprehensiveOrderMetrics(
+                totalOrders,
+                acceptedOrders,
+                pendingOrders,
+                Money.toMajorUnits(totalSalesAmount),
+                Money.average(totalSalesAmount, acceptedOrders),
+                bestsellers.bestSellers()
+        );
+    }
+
+    private void reset() {
+        for (LongAdder counter : statusCounts) {
+            counter.reset();
+        }
+        acceptedSales.reset();
+        bestsellers.reset();
+        timeSeries.reset();
+    }
+
+    private static LongAdder[] newStatusCounters() {
+        LongAdder[] counters = new LongAdder[OrderStatus.values().length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    private record CachedMetrics(long revision, ComprehensiveOrderMetrics metrics) {
+    }
+}
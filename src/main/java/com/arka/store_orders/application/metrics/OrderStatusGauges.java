@@ -0,0 +1,52 @@
+package com.arka.store_orders.application.metrics;
+
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes {@code orders.status.current} from the database aggregates rather than from the per-instance
+ * counters, refreshed every {@code orders.metrics.status-gauges-interval-ms}. Every instance therefore
+ * reports the same cluster-wide value; aggregate the series with {@code max()}, not {@code sum()}.
+ */
+@Component
+public class OrderStatusGauges {
+    private final static Logger log = LoggerFactory.getLogger(OrderStatusGauges.class);
+
+    private final OrderPersistencePort persistence;
+    private final AtomicLong[] counts = new AtomicLong[OrderStatus.values().length];
+
+    public OrderStatusGauges(OrderPersistencePort persistence, MeterRegistry registry) {
+        this.persistence = persistence;
+        for (OrderStatus status : OrderStatus.values()) {
+            AtomicLong count = new AtomicLong();
+            counts[status.ordinal()] = count;
+            Gauge.builder("orders.status.current", count, AtomicLong::get)
+                    .description("Orders currently in the status, cluster-wide")
+                    .tag("status", status.name())
+                    .register(registry);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.metrics.status-gauges-interval-ms:30000}")
+    public void refresh() {
+        Map<OrderStatus, Long> current;
+        try {
+            current = persistence.countByStatus();
+        } catch (RuntimeException e) {
+            log.warn("Order status gauges not refreshed, keeping the last values. Reason: {}", e.getMessage());
+            return;
+        }
+        for (OrderStatus status : OrderStatus.values()) {
+            counts[status.ordinal()].set(current.getOrDefault(status, 0L));
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.arka.store_orders.application.metrics;
+
+import com.arka.store_orders.domain.models.ProductSales;
+
+import java.util.List;
+
+/**
+ * Top-K and bottom-K selection over a {@link LongCountMap} in one pass with a bounded heap of primitive
+ * entries: O(n log k) time and O(k) extra memory, no boxing. Only products with a positive count are ranked;
+ * ties go to the lower product id.
+ */
+public final class ProductRanking {
+
+    private ProductRanking() {
+    }
+
+    public static List<ProductSales> top(LongCountMap counts, int k) {
+        return select(counts, k, 1);
+    }
+
+    public static List<ProductSales> bottom(LongCountMap counts, int k) {
+        return select(counts, k, -1);
+    }
+
+    /** {@code sign} 1 keeps the highest counts, -1 the lowest. */
+    private static List<ProductSales> select(LongCountMap counts, int k, int sign) {
+        if (k <= 0) {
+            return List.of();
+        }
+        BoundedHeap heap = new BoundedHeap(Math.min(k, counts.size()), sign);
+        counts.forEach((productId, count) -> {
+            if (count > 0) {
+                heap.offer(productId, count);
+            }
+        });
+        return heap.drain();
+    }
+
+    /** Heap whose root is the weakest kept entry, so a candidate only has to beat the root to get in. */
+    private static final class BoundedHeap {
+        private final long[] keys;
+        private final long[] counts;
+        private final int sign;
+        private int size;
+
+        BoundedHeap(int capacity, int sign) {
+            this.keys = new long[capacity];
+            this.counts = new long[capacity];
+            this.sign = sign;
+        }
+
+        void offer(long key, long count) {
+            if (keys.length == 0) {
+                return;
+            }
+            if (size < keys.length) {
+                keys[size] = key;
+                counts[size] = count;
+                siftUp(size++);
+            } else if (ranksAbove(key, count, keys[0], counts[0])) {
+                keys[0] = key;
+                counts[0] = count;
+                siftDown(0);
+            }
+        }
+
+        List<ProductSales> drain() {
+            ProductSales[] ranked = new ProductSales[size];
+            while (size > 0) {
+                ranked[size - 1] = new ProductSales(keys[0], counts[0]);
+                size--;
+                keys[0] = keys[size];
+                counts[0] = counts[size];
+                siftDown(0);
+            }
+            return List.of(ranked);
+        }
+
+        private boolean ranksAbove(long key, long count, long otherKey, long otherCount) {
+            if (count != otherCount) {
+                return sign > 0 ? count > otherCount : count < otherCount;
+            }
+            return key < otherKey;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!ranksAbove(keys[parent], counts[parent], keys[i], counts[i])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int weakest = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < size && ranksAbove(keys[weakest], counts[weakest], keys[left], counts[left])) {
+                    weakest = left;
+                }
+                if (right < size && ranksAbove(keys[weakest], counts[weakest], keys[right], counts[right])) {
+                    weakest = right;
+                }
+                if (weakest == i) {
+                    return;
+                }
+                swap(i, weakest);
+                i = weakest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            long key = keys[i];
+            long count = counts[i];
+            keys[i] = keys[j];
+            counts[i] = counts[j];
+            keys[j] = key;
+            counts[j] = count;
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.arka.store_orders.application.metrics;
+
+import com.arka.store_orders.domain.models.Money;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.ProductSales;
+import com.arka.store_orders.domain.models.SalesPoint;
+import com.arka.store_orders.domain.models.TimeGranularity;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.InvalidMetricsQueryException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hourly and daily sales buckets keyed by the creation time of the order, fed with the same before/after
+ * deltas as {@link OrderMetricsAggregator}. Every bucket holds order counts per current status with accepted
+ * sales and units, and the same figures per user and per product. A query touches only the buckets of its range,
+ * using whole days wherever it can, so its cost does not depend on how much history is kept. Hourly buckets
+ * older than {@code orders.timeseries.hourly-retention} are dropped: hourly series cannot reach that far back,
+ * and other ranges are widened to whole days. Per-user and per-product figures are dropped from daily buckets
+ * older than {@code orders.timeseries.detail-retention}, so only the overall daily totals are kept forever.
+ * <p>
+ * The buckets are built from the database at startup and then follow the mutations this instance commits.
+ * Every {@code orders.timeseries.resync-interval-ms} {@link OrderMetricsAggregator} rebuilds the days within
+ * {@code orders.timeseries.resync-window} from the database, which brings in what other instances changed there;
+ * older buckets keep what this instance saw.
+ */
+@Component
+public class SalesTimeSeries {
+    private static final int STATUSES = OrderStatus.values().length;
+    private static final int SALES = STATUSES;
+    private static final int UNITS = STATUSES + 1;
+    private static final int MAX_POINTS = 10_000;
+
+    private final ConcurrentSkipListMap<Long, Bucket> hours = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<Long, Bucket> days = new ConcurrentSkipListMap<>();
+    private final Duration hourlyRetention;
+    private final Duration detailRetention;
+    private final Duration resyncWindow;
+    /** Guards {@link #detailPrunedBefore}; a lock rather than a monitor so a virtual thread never pins on it. */
+    private final ReentrantLock pruneLock = new ReentrantLock();
+    private long detailPrunedBefore = Long.MIN_VALUE;
+
+    public SalesTimeSeries(@Value("${orders.timeseries.hourly-retention:35d}") Duration hourlyRetention,
+                           @Value("${orders.timeseries.detail-retention:400d}") Duration detailRetention,
+                           @Value("${orders.timeseries.resync-window:2d}") Duration resyncWindow) {
+        this.hourlyRetention = hourlyRetention;
+        this.detailRetention = detailRetention;
+        this.resyncWindow = resyncWindow;
+    }
+
+    void add(OrderContribution contribution, int sign) {
+        if (contribution.createAt() == null || contribution.status() == null) {
+            return;
+        }
+        long hour = hourOf(contribution.createAt());
+        if (hour >= hourlyCutoff()) {
+            hours.computeIfAbsent(hour, key -> new Bucket()).add(contribution, sign, true);
+        }
+        long day = Math.floorDiv(hour, 24);
+        days.computeIfAbsent(day, key -> new Bucket()).add(contribution, sign, day >= detailCutoff());
+    }
+
+    /** Start of the first day a resync rebuilds; whole days, so no day bucket mixes old and resynced orders. */
+    LocalDateTime resyncStart() {
+        return LocalDateTime.now().minus(resyncWindow).toLocalDate().atStartOfDay();
+    }
+
+    /** Drops the buckets from {@code start}, a start of day, onwards. */
+    void clearFrom(LocalDateTime start) {
+        long hour = hourOf(start);
+        hours.tailMap(hour).clear();
+        days.tailMap(Math.floorDiv(hour, 24)).clear();
+    }
+
+    void reset() {
+        pruneLock.lock();
+        try {
+            hours.clear();
+            days.clear();
+            detailPrunedBefore = Long.MIN_VALUE;
+        } finally {
+            pruneLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${orders.timeseries.prune-interval-ms:3600000}")
+    public void prune() {
+        pruneLock.lock();
+        try {
+            hours.headMap(hourlyCutoff()).clear();
+            long cutoff = detailCutoff();
+            if (cutoff > detailPrunedBefore) {
+                days.subMap(detailPrunedBefore, cutoff).values().forEach(Bucket::dropDetail);
+                detailPrunedBefore = cutoff;
+            }
+        } finally {
+            pruneLock.unlock();
+        }
+    }
+
+    /** Dense series over [from, to); {@code userId} or {@code productId} narrows it to one user or product. */
+    public List<SalesPoint> series(LocalDateTime from, LocalDateTime to, TimeGranularity granularity,
+                                   String userId, Long productId) {
+        Filter filter = new Filter(userId, productId);
+        long fromHour = hourOf(from);
+        long toHour = ceilHour(to);
+        List<SalesPoint> points = new ArrayList<>();
+        switch (granularity) {
+            case HOUR -> {
+                if (fromHour < hourlyCutoff()) {
+                    throw new InvalidMetricsQueryException("Hourly series only cover the last "
+                            + hourlyRetention.toDays() + " days, use DAY or WEEK for older ranges");
+                }
+                checkPoints(toHour - fromHour);
+                for (long hour = fromHour; hour < toHour; hour++) {
+                    Totals totals = new Totals();
+                    totals.add(hours.get(hour), filter);
+                    points.add(totals.toPoint(startOf(hour)));
+                }
+            }
+            case DAY -> {
+                long toDay = Math.floorDiv(toHour + 23, 24);
+                checkDetail(filter, Math.floorDiv(fromHour, 24));
+                checkPoints(toDay - Math.floorDiv(fromHour, 24));
+                for (long day = Math.floorDiv(fromHour, 24); day < toDay; day++) {
+                    Totals totals = new Totals();
+                    totals.add(days.get(day), filter);
+                    points.add(totals.toPoint(LocalDate.ofEpochDay(day).atStartOfDay()));
+                }
+            }
+            case WEEK -> {
+                LocalDate week = LocalDate.ofEpochDay(Math.floorDiv(fromHour, 24))
+                        .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                long toDay = Math.floorDiv(toHour + 23, 24);
+                checkDetail(filter, week.toEpochDay());
+                checkPoints((toDay - week.toEpochDay()) / 7 + 1);
+                for (; week.toEpochDay() < toDay; week = week.plusWeeks(1)) {
+                    Totals totals = new Totals();
+                    for (Bucket bucket : days.subMap(week.toEpochDay(), week.toEpochDay() + 7).values()) {
+                        totals.add(bucket, filter);
+                    }
+                    points.add(totals.toPoint(week.atStartOfDay()));
+                }
+            }
+        }
+        return points;
+    }
+
+    public List<ProductSales> topProducts(int n, LocalDateTime from, LocalDateTime to) {
+        long fromHour = hourOf(from);
+        if (Math.floorDiv(fromHour, 24) < detailCutoff()) {
+            throw new InvalidMetricsQueryException("Per-product sales only cover the last "
+                    + detailRetention.toDays() + " days");
+        }
+        LongCountMap units = new LongCountMap();
+        for (Bucket bucket : buckets(fromHour, ceilHour(to))) {
+            bucket.products.forEach((productId, totals) -> units.add(productId, totals.get(UNITS)));
+        }
+        return ProductRanking.top(units, n);
+    }
+
+    /** Buckets covering [fromHour, toHour): whole days in the middle, hours at the edges. */
+    private List<Bucket> buckets(long fromHour, long toHour) {
+        long cutoff = hourlyCutoff();
+        if (fromHour < cutoff) {
+            fromHour = Math.floorDiv(fromHour, 24) * 24;
+        }
+        if (toHour <= cutoff) {
+            toHour = Math.floorDiv(toHour + 23, 24) * 24;
+        }
+        long firstDay = Math.floorDiv(fromHour + 23, 24);
+        long lastDay = Math.floorDiv(toHour, 24);
+        List<Bucket> buckets = new ArrayList<>();
+        if (firstDay >= lastDay) {
+            buckets.addAll(hours.subMap(fromHour, toHour).values());
+            return buckets;
+        }
+        buckets.addAll(hours.subMap(fromHour, firstDay * 24).values());
+        buckets.addAll(days.subMap(firstDay, lastDay).values());
+        buckets.addAll(hours.subMap(lastDay * 24, toHour).values());
+        return buckets;
+    }
+
+    private long hourlyCutoff() {
+        return hourOf(LocalDateTime.now().minus(hourlyRetention));
+    }
+
+    private long detailCutoff() {
+        return LocalDateTime.now().minus(detailRetention).toLocalDate().toEpochDay();
+    }
+
+    private void checkDetail(Filter filter, long fromDay) {
+        if ((filter.userId() != null || filter.productId() != null) && fromDay < detailCutoff()) {
+            throw new InvalidMetricsQueryException("Per-user and per-product series only cover the last "
+                    + detailRetention.toDays() + " days");
+        }
+    }
+
+    private static void checkPoints(long points) {
+        if (points > MAX_POINTS) {
+            throw new InvalidMetricsQueryException("A time series can have at most " + MAX_POINTS + " points, got " + points);
+        }
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return time.toLocalDate().toEpochDay() * 24 + time.getHour();
+    }
+
+    private static long ceilHour(LocalDateTime time) {
+        long hour = hourOf(time);
+        return time.getMinute() == 0 && time.getSecond() == 0 && time.getNano() == 0 ? hour : hour + 1;
+    }
+
+    private static LocalDateTime startOf(long hour) {
+        return LocalDate.ofEpochDay(Math.floorDiv(hour, 24)).atStartOfDay().plusHours(Math.floorMod(hour, 24));
+    }
+
+    private static final class Bucket {
+        private final AtomicLongArray all = newTotals();
+        private final ConcurrentHashMap<String, AtomicLongArray> users = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, AtomicLongArray> products = new ConcurrentHashMap<>();
+
+        void add(OrderContribution contribution, int sign, boolean detailed) {
+            boolean accepted = contribution.status() == OrderStatus.ACCEPTED;
+            long[] productIds = contribution.productIds();
+            long[] quantities = contribution.quantities();
+            long[] amounts = contribution.amounts();
+            long units = 0;
+            for (int i = 0; i < productIds.length; i++) {
+                if (detailed) {
+                    addTo(products.computeIfAbsent(productIds[i], id -> newTotals()),
+                            contribution.status(), sign, accepted, amounts[i], quantities[i]);
+                }
+                units += quantities[i];
+            }
+            addTo(all, contribution.status(), sign, accepted, contribution.total(), units);
+            if (detailed && contribution.userId() != null) {
+                addTo(users.computeIfAbsent(contribution.userId(), id -> newTotals()),
+                        contribution.status(), sign, accepted, contribution.total(), units);
+            }
+        }
+
+        void dropDetail() {
+            users.clear();
+            products.clear();
+        }
+
+        AtomicLongArray totals(Filter filter) {
+            if (filter.productId() != null) {
+                return products.get(filter.productId());
+            }
+            return filter.userId() == null ? all : users.get(filter.userId());
+        }
+
+        private static void addTo(AtomicLongArray totals, OrderStatus status, int sign, boolean accepted,
+                                  long sales, long units) {
+            totals.addAndGet(status.ordinal(), sign);
+            if (accepted) {
+                totals.addAndGet(SALES, sign * sales);
+                totals.addAndGet(UNITS, sign * units);
+            }
+        }
+
+        private static AtomicLongArray newTotals() {
+            return new AtomicLongArray(STATUSES + 2);
+        }
+    }
+
+    private record Filter(String userId, Long productId) {
+    }
+
+    private static final class Totals {
+        private final long[] values = new long[STATUSES + 2];
+
+        void add(Bucket bucket, Filter filter) {
+            if (bucket == null) {
+                return;
+            }
+            AtomicLongArray source = bucket.totals(filter);
+            if (source == null) {
+                return;
+            }
+            for (int i = 0; i < values.length; i++) {
+                values[i] += source.get(i);
+            }
+        }
+
+        SalesPoint toPoint(LocalDateTime start) {
+            Map<OrderStatus, Long> byStatus = new EnumMap<>(OrderStatus.class);
+            long orders = 0;
+            for (OrderStatus status : OrderStatus.values()) {
+                byStatus.put(status, values[status.ordinal()]);
+                orders += values[status.ordinal()];
+            }
+            return new SalesPoint(start, byStatus, orders, Money.toMajorUnits(values[SALES]), values[UNITS]);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.arka.store_orders.application.payment;
+
+import com.arka.store_orders.application.events.OrderEventRecorder;
+import com.arka.store_orders.application.metrics.OrderContribution;
+import com.arka.store_orders.application.metrics.OrderMetricsAggregator;
+import com.arka.store_orders.domain.models.Money;
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderEventType;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.PaymentAttempt;
+import com.arka.store_orders.domain.models.StockOperation;
+import com.arka.store_orders.domain.ports.out.feignclient.PaymentPort;
+import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import com.arka.store_orders.domain.ports.out.persistence.PaymentClaimPort;
+import com.arka.store_orders.domain.ports.out.persistence.StockOutboxPort;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.PaymentFailedException;
+import com.arka.store_orders.infrastructure.resources.Request.PaymentRequest;
+import io.github.resilience4j.retry.Retry;
+import io.github.resilience4j.retry.RetryRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Initiates payments for orders in WAITING_PAYMENT_CONFIRMATION outside the request thread. An order is
+ * leased through {@link PaymentClaimPort} before it is charged, so across instances only one worker
+ * initiates it at a time, and the order id travels as the idempotency key: if the process dies between the
+ * charge and storing the transaction id, the next claim gets the same transaction back. A periodic sweep
+ * claims orders whose lease ran out. A declined payment, or an order still unpaid after
+ * {@code orders.payment.max-attempts} claims, moves to PAYMENT_FAILED and its stock is released.
+ */
+@Component
+public class PaymentInitiationWorker {
+    private final static Logger log = LoggerFactory.getLogger(PaymentInitiationWorker.class);
+
+    private final PaymentClaimPort claims;
+    private final OrderPersistencePort persistence;
+    private final PaymentPort paymentPort;
+    private final StockOutboxPort stockOutbox;
+    private final OrderMetricsAggregator metrics;
+    private final OrderEventRecorder events;
+    private final TransactionTemplate transaction;
+    private final Retry retry;
+    private final ExecutorService workers;
+    private final int sweepBatchSize;
+    private final Duration lease;
+    private final int maxAttempts;
+
+    public PaymentInitiationWorker(PaymentClaimPort claims,
+                                   OrderPersistencePort persistence,
+                                   PaymentPort paymentPort,
+                                   StockOutboxPort stockOutbox,
+                                   OrderMetricsAggregator metrics,
+                                   OrderEventRecorder events,
+                                   PlatformTransactionManager transactionManager,
+                                   RetryRegistry retryRegistry,
+                                   @Value("${orders.payment.workers:16}") int workers,
+                                   @Value("${orders.payment.sweep-batch-size:200}") int sweepBatchSize,
+                                   @Value("${orders.payment.lease:60s}") Duration lease,
+                                   @Value("${orders.payment.max-attempts:5}") int maxAttempts) {
+        this.claims = claims;
+        this.persistence = persistence;
+        this.paymentPort = paymentPort;
+        this.stockOutbox = stockOutbox;
+        this.metrics = metrics;
+        this.events = events;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.retry = retryRegistry.retry("paymentInitBackoffRetry");
+        this.workers = Executors.newFixedThreadPool(workers, Thread.ofVirtual().name("payment-init-", 0).factory());
+        this.sweepBatchSize = sweepBatchSize;
+        this.lease = lease;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    public void submitAfterCommit(UUID orderId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(orderId);
+                }
+            });
+        } else {
+            submit(orderId);
+        }
+    }
+
+    public void submit(UUID orderId) {
+        workers.execute(() -> claims.claim(orderId, lease).ifPresent(this::initiate));
+    }
+
+    @Scheduled(fixedDelayString = "${orders.payment.sweep-interval-ms:30000}")
+    public void resubmitPending() {
+        for (PaymentAttempt attempt : claims.claimDue(sweepBatchSize, lease)) {
+            workers.execute(() -> initiate(attempt));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    void initiate(PaymentAttempt attempt) {
+        UUID orderId = attempt.orderId();
+        if (attempt.attempt() > maxAttempts) {
+            fail(orderId, "no payment initiated after " + maxAttempts + " attempts");
+            return;
+        }
+        String transactionId;
+        try {
+            transactionId = retry.executeSupplier(() -> paymentPort.processPayment(
+                    new PaymentRequest(orderId, Money.toMajorUnits(attempt.total()))));
+        } catch (PaymentFailedException e) {
+            fail(orderId, e.getMessage());
+            return;
+        } catch (Exception e) {
+            log.warn("Payment initiation failed for orderId: {} (attempt {}), will retry once the lease expires. Reason: {}",
+                    orderId, attempt.attempt(), e.getMessage());
+            return;
+        }
+        if (claims.recordTransaction(orderId, transactionId)) {
+            log.info("Payment initiated for orderId: {} with txId: {}", orderId, transactionId);
+        } else {
+            log.warn("Order {} stopped waiting for payment before txId {} could be stored", orderId, transactionId);
+        }
+    }
+
+    private void fail(UUID orderId, String reason) {
+        Order failed = transaction.execute(status -> {
+            Order order = persistence.findByIdWithItems(orderId).orElse(null);
+            if (order == null || order.getStatus() != OrderStatus.WAITING_PAYMENT_CONFIRMATION
+                    || order.getTransactionId() != null) {
+                return null;
+            }
+            OrderContribution before = OrderContribution.of(order);
+            if (!persistence.transitionStatus(orderId, order.getVersion(), order.getStatus(), OrderStatus.PAYMENT_FAILED)) {
+                return null;
+            }
+            order.setVersion(order.getVersion() + 1);
+            order.switchToPaymentFailed();
+            stockOutbox.enqueue(orderId, StockOperation.RELEASE, order.quantitiesByProduct());
+            metrics.record(before, OrderContribution.of(order));
+            events.statusChanged(order, OrderEventType.PAYMENT_FAILED);
+            return order;
+        });
+        if (failed != null) {
+            log.warn("Payment failed for orderId: {}, stock release queued. Reason: {}", orderId, reason);
+        }
+    }
+}
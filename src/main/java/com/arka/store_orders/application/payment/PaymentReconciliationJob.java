@@ -0,0 +1,131 @@
+package com.arka.store_orders.application.payment;
+
+import com.arka.store_orders.application.events.OrderEventRecorder;
+import com.arka.store_orders.application.metrics.OrderContribution;
+import com.arka.store_orders.application.metrics.OrderMetricsAggregator;
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderCursor;
+import com.arka.store_orders.domain.models.OrderEventType;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.ports.out.feignclient.PaymentPort;
+import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Confirms initiated payments in bulk: every run checks the next page of orders that already hold a
+ * transaction id against PAYMENTS-SERVICE and moves the confirmed ones to WAITINGCONFIRMATION. Pages follow
+ * a (create_at, id) keyset that wraps around at the end, so unconfirmed old orders cannot starve newer ones,
+ * and one order that fails to move does not stop the rest of the page.
+ */
+@Component
+public class PaymentReconciliationJob {
+    private final static Logger log = LoggerFactory.getLogger(PaymentReconciliationJob.class);
+
+    private final OrderPersistencePort persistence;
+    private final PaymentPort paymentPort;
+    private final OrderMetricsAggregator metrics;
+    private final OrderEventRecorder events;
+    private final TransactionTemplate transaction;
+    private final int batchSize;
+    private final int maxConcurrency;
+    /** Last order of the previous page; only the scheduler thread touches it. */
+    private OrderCursor cursor;
+
+    public PaymentReconciliationJob(OrderPersistencePort persistence,
+                                    PaymentPort paymentPort,
+                                    OrderMetricsAggregator metrics,
+                                    OrderEventRecorder events,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${orders.payment.reconcile-batch-size:200}") int batchSize,
+                                    @Value("${orders.payment.reconcile-max-concurrency:16}") int maxConcurrency) {
+        this.persistence = persistence;
+        this.paymentPort = paymentPort;
+        this.metrics = metrics;
+        this.events = events;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.payment.reconcile-interval-ms:15000}")
+    public void reconcile() {
+        List<Order> pending = persistence.findWithTransaction(OrderStatus.WAITING_PAYMENT_CONFIRMATION, cursor, batchSize);
+        cursor = pending.size() < batchSize ? null : OrderCursor.of(pending.get(pending.size() - 1));
+        if (pending.isEmpty()) {
+            return;
+        }
+        int confirmed = 0;
+        for (Order order : confirmedPayments(pending)) {
+            try {
+                if (confirm(order)) {
+                    confirmed++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not confirm payment for orderId: {}. Reason: {}", order.getId(), e.getMessage());
+            }
+        }
+        log.info("Payment reconciliation confirmed {} of {} pending orders", confirmed, pending.size());
+    }
+
+    /**
+     * Moves the order and logs PAYMENT_CONFIRMED in one transaction; the metrics delta is applied after it commits.
+     */
+    private boolean confirm(Order order) {
+        OrderContribution before = OrderContribution.of(order);
+        return Boolean.TRUE.equals(transaction.execute(status -> {
+            if (!persistence.transitionStatus(order.getId(), order.getVersion(), order.getStatus(), OrderStatus.WAITINGCONFIRMATION)) {
+                return false;
+            }
+            order.setVersion(order.getVersion() + 1);
+            order.switchToWaitingConfirmation();
+            metrics.record(before, OrderContribution.of(order));
+            events.statusChanged(order, OrderEventType.PAYMENT_CONFIRMED);
+            return true;
+        }));
+    }
+
+    private List<Order> confirmedPayments(List<Order> pending) {
+        List<Order> confirmed = new ArrayList<>();
+        Semaphore permits = new Semaphore(maxConcurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Boolean>> checks = new ArrayList<>(pending.size());
+            for (Order order : pending) {
+                checks.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return paymentPort.isPaymentValid(order.getTransactionId());
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (int i = 0; i < pending.size(); i++) {
+                try {
+                    if (Boolean.TRUE.equals(checks.get(i).get())) {
+                        confirmed.add(pending.get(i));
+                    }
+                } catch (ExecutionException e) {
+                    log.warn("Payment validation failed for orderId: {}. Reason: {}", pending.get(i).getId(), e.getCause().getMessage());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+        return confirmed;
+    }
+}
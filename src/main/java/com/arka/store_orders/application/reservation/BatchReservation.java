@@ -0,0 +1,18 @@
+package com.arka.store_orders.application.reservation;
+
+import java.util.List;
+
+/**
+ * Outcome of {@link StockReservationCoordinator#reserveAll}: one entry per order, null when its stock is
+ * reserved, otherwise the reason it was rejected. Rejected orders hold no reservation.
+ */
+public record BatchReservation(List<RuntimeException> failures) {
+
+    public boolean isReserved(int index) {
+        return failures.get(index) == null;
+    }
+
+    public RuntimeException failure(int index) {
+        return failures.get(index);
+    }
+}
@@ -0,0 +1,15 @@
+package com.arka.store_orders.application.reservation;
+
+import java.util.List;
+import java.util.Map;
+
+public record ReservationOutcome(Map<Long, Integer> reserved, List<RuntimeException> failures) {
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    public RuntimeException firstFailure() {
+        return failures.isEmpty() ? null : failures.get(0);
+    }
+}
@@ -0,0 +1,108 @@
+package com.arka.store_orders.application.reservation;
+
+import com.arka.store_orders.domain.models.StockMovement;
+import com.arka.store_orders.domain.models.StockOperation;
+import com.arka.store_orders.domain.ports.out.feignclient.ProductPort;
+import com.arka.store_orders.domain.ports.out.persistence.StockOutboxPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Applies the stock decrements and releases that order transitions write to the stock outbox, once the
+ * transition has committed. Claiming, backoff and the DEAD cap work as in the shipping outbox. Delivery is
+ * at least once: a send whose response is lost is sent again after the lease expires.
+ */
+@Component
+public class StockOutboxDispatcher {
+    private final static Logger log = LoggerFactory.getLogger(StockOutboxDispatcher.class);
+
+    private final StockOutboxPort outbox;
+    private final ProductPort productPort;
+    private final int batchSize;
+    private final int maxConcurrency;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    public StockOutboxDispatcher(StockOutboxPort outbox,
+                                 ProductPort productPort,
+                                 @Value("${orders.stock-outbox.batch-size:50}") int batchSize,
+                                 @Value("${orders.stock-outbox.max-concurrency:16}") int maxConcurrency,
+                                 @Value("${orders.stock-outbox.lease:30s}") Duration lease,
+                                 @Value("${orders.stock-outbox.initial-backoff:1s}") Duration initialBackoff,
+                                 @Value("${orders.stock-outbox.max-backoff:5m}") Duration maxBackoff,
+                                 @Value("${orders.stock-outbox.max-attempts:20}") int maxAttempts) {
+        this.outbox = outbox;
+        this.productPort = productPort;
+        this.batchSize = batchSize;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.stock-outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        List<StockMovement> batch = outbox.claimDue(batchSize, lease);
+        if (batch.isEmpty()) {
+            return;
+        }
+        Semaphore permits = new Semaphore(maxConcurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (StockMovement movement : batch) {
+                executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        send(movement);
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private void send(StockMovement movement) {
+        try {
+            if (movement.operation() == StockOperation.DECREMENT) {
+                productPort.decrementStockBatch(movement.quantities());
+            } else {
+                productPort.recoveryStockBatch(movement.quantities());
+            }
+            outbox.markSent(movement.id());
+        } catch (Exception e) {
+            int attempts = movement.attempts() + 1;
+            if (attempts >= maxAttempts) {
+                outbox.markDead(movement.id(), attempts, e.getMessage());
+                log.error("Stock {} for orderId: {} gave up after {} attempts. Reason: {}",
+                        movement.operation(), movement.orderId(), attempts, e.getMessage());
+                return;
+            }
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(attempts));
+            outbox.markFailed(movement.id(), attempts, nextAttemptAt, e.getMessage());
+            if (log.isWarnEnabled()) {
+                log.warn("Stock {} failed for orderId: {} (attempt {}), next attempt at {}. Reason: {}",
+                        movement.operation(), movement.orderId(), attempts, nextAttemptAt, e.getMessage());
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        int exponent = Math.min(attempts - 1, 20);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
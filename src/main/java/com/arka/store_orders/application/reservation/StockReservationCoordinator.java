@@ -0,0 +1,241 @@
+package com.arka.store_orders.application.reservation;
+
+import com.arka.store_orders.domain.ports.out.feignclient.ProductPort;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.InsufficientStockException;
+import com.arka.store_orders.infrastructure.resources.Response.AvailableStockResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Reserves merged per-product quantities against PRODUCTS-SERVICE through the batch endpoints.
+ * Requests larger than {@code orders.reservation.batch-size} products are split into chunks that run
+ * concurrently on virtual threads, never more than {@code orders.reservation.max-concurrency} at a time,
+ * and the outcome reports which chunks were actually reserved so callers only compensate those.
+ */
+@Component
+public class StockReservationCoordinator {
+    private final static Logger log = LoggerFactory.getLogger(StockReservationCoordinator.class);
+
+    private final ProductPort productPort;
+    private final int maxConcurrency;
+    private final int batchSize;
+
+    public StockReservationCoordinator(ProductPort productPort,
+                                       @Value("${orders.reservation.max-concurrency:8}") int maxConcurrency,
+                                       @Value("${orders.reservation.batch-size:100}") int batchSize) {
+        this.productPort = productPort;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    public ReservationOutcome reserve(Map<Long, Integer> quantities) {
+        List<Map<Long, Integer>> chunks = chunk(quantities);
+        Map<Long, Integer> reserved = new LinkedHashMap<>();
+        List<RuntimeException> failures = new ArrayList<>();
+        forEachChunk(chunks, chunk -> {
+            checkAndReserve(chunk);
+            return chunk;
+        }, (chunk, result) -> reserved.putAll(result), (chunk, failure) -> failures.add(failure));
+        return new ReservationOutcome(reserved, failures);
+    }
+
+    /**
+     * Reserves stock for many orders at once. Demands are merged per product, so availability is read and
+     * stock reserved once per product instead of once per order. Orders are admitted in request order while
+     * the available stock lasts; an order that does not fit is rejected without touching the rest. If
+     * reserving a chunk of products fails, only the admitted orders that need one of those products fail,
+     * and whatever else they had reserved is released again.
+     */
+    public BatchReservation reserveAll(List<Map<Long, Integer>> demands) {
+        RuntimeException[] failures = new RuntimeException[demands.size()];
+        Map<Long, Integer> merged = merge(demands);
+        if (merged.isEmpty()) {
+            return new BatchReservation(Arrays.asList(failures));
+        }
+
+        Map<Long, Integer> remaining = new HashMap<>(merged.size() * 2);
+        Map<Long, RuntimeException> unavailable = new HashMap<>();
+        forEachChunk(chunk(merged), chunk -> productPort.getAvailableStockBatch(chunk.keySet()),
+                (chunk, stock) -> chunk.keySet().forEach(productId -> {
+                    AvailableStockResponse available = stock.get(productId);
+                    remaining.put(productId, available == null || available.availableStock() == null
+                            ? 0 : available.availableStock());
+                }),
+                (chunk, failure) -> chunk.keySet().forEach(productId -> unavailable.put(productId, failure)));
+
+        Map<Long, Integer> admitted = new LinkedHashMap<>();
+        for (int i = 0; i < demands.size(); i++) {
+            failures[i] = admit(demands.get(i), remaining, unavailable, admitted);
+        }
+        if (admitted.isEmpty()) {
+            return new BatchReservation(Arrays.asList(failures));
+        }
+
+        Map<Long, RuntimeException> notReserved = new HashMap<>();
+        forEachChunk(chunk(admitted), chunk -> {
+            productPort.reserveStockBatch(chunk);
+            return chunk;
+        }, (chunk, result) -> { }, (chunk, failure) -> chunk.keySet().forEach(productId -> notReserved.put(productId, failure)));
+        if (!notReserved.isEmpty()) {
+            release(failOrdersMissing(demands, failures, notReserved));
+        }
+        return new BatchReservation(Arrays.asList(failures));
+    }
+
+    public void release(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        try {
+            productPort.recoveryStockBatch(quantities);
+        } catch (Exception e) {
+            log.warn("Failed to rollback stock for SKUs: {}. Reason: {}", quantities.keySet(), e.getMessage());
+        }
+    }
+
+    private void checkAndReserve(Map<Long, Integer> quantities) {
+        Map<Long, AvailableStockResponse> availableStock = productPort.getAvailableStockBatch(quantities.keySet());
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            AvailableStockResponse stock = availableStock.get(entry.getKey());
+            if (stock == null || stock.availableStock() == null || stock.availableStock() < entry.getValue()) {
+                throw new InsufficientStockException("Insufficient stock for SKU: " + entry.getKey() + ". Available: " + stock);
+            }
+        }
+        productPort.reserveStockBatch(quantities);
+    }
+
+    private static Map<Long, Integer> merge(List<Map<Long, Integer>> demands) {
+        Map<Long, Integer> merged = new LinkedHashMap<>();
+        for (Map<Long, Integer> demand : demands) {
+            demand.forEach((productId, quantity) -> merged.merge(productId, quantity, Integer::sum));
+        }
+        return merged;
+    }
+
+    private static RuntimeException admit(Map<Long, Integer> demand, Map<Long, Integer> remaining,
+                                          Map<Long, RuntimeException> unavailable, Map<Long, Integer> admitted) {
+        for (Map.Entry<Long, Integer> entry : demand.entrySet()) {
+            RuntimeException failure = unavailable.get(entry.getKey());
+            if (failure != null) {
+                return failure;
+            }
+            int available = remaining.getOrDefault(entry.getKey(), 0);
+            if (available < entry.getValue()) {
+                return new InsufficientStockException("Insufficient stock for SKU: " + entry.getKey() + ". Available: " + available);
+            }
+        }
+        for (Map.Entry<Long, Integer> entry : demand.entrySet()) {
+            remaining.merge(entry.getKey(), -entry.getValue(), Integer::sum);
+            admitted.merge(entry.getKey(), entry.getValue(), Integer::sum);
+        }
+        return null;
+    }
+
+    private static Map<Long, Integer> failOrdersMissing(List<Map<Long, Integer>> demands, RuntimeException[] failures,
+                                                        Map<Long, RuntimeException> notReserved) {
+        Map<Long, Integer> toRelease = new LinkedHashMap<>();
+        for (int i = 0; i < demands.size(); i++) {
+            if (failures[i] != null) {
+                continue;
+            }
+            Map<Long, Integer> demand = demands.get(i);
+            RuntimeException failure = null;
+            for (Long productId : demand.keySet()) {
+                failure = notReserved.get(productId);
+                if (failure != null) {
+                    break;
+                }
+            }
+            if (failure == null) {
+                continue;
+            }
+            failures[i] = failure;
+            demand.forEach((productId, quantity) -> {
+                if (!notReserved.containsKey(productId)) {
+                    toRelease.merge(productId, quantity, Integer::sum);
+                }
+            });
+        }
+        return toRelease;
+    }
+
+    /**
+     * Runs {@code task} for every chunk, concurrently on virtual threads once there is more than one chunk,
+     * and hands each chunk's result or failure back on the calling thread.
+     */
+    private <T> void forEachChunk(List<Map<Long, Integer>> chunks, Function<Map<Long, Integer>, T> task,
+                                  BiConsumer<Map<Long, Integer>, T> onSuccess,
+                                  BiConsumer<Map<Long, Integer>, RuntimeException> onFailure) {
+        if (chunks.size() == 1) {
+            try {
+                onSuccess.accept(chunks.get(0), task.apply(chunks.get(0)));
+            } catch (RuntimeException e) {
+                onFailure.accept(chunks.get(0), e);
+            }
+            return;
+        }
+        Semaphore permits = new Semaphore(maxConcurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<T>> results = new ArrayList<>(chunks.size());
+            for (Map<Long, Integer> chunk : chunks) {
+                results.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return task.apply(chunk);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    onSuccess.accept(chunks.get(i), results.get(i).get());
+                } catch (ExecutionException e) {
+                    onFailure.accept(chunks.get(i), asRuntime(e.getCause()));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    onFailure.accept(chunks.get(i), new IllegalStateException("Interrupted while reserving stock", e));
+                }
+            }
+        }
+    }
+
+    private List<Map<Long, Integer>> chunk(Map<Long, Integer> quantities) {
+        if (quantities.size() <= batchSize) {
+            return List.of(quantities);
+        }
+        List<Map<Long, Integer>> chunks = new ArrayList<>();
+        Map<Long, Integer> current = new LinkedHashMap<>();
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            current.put(entry.getKey(), entry.getValue());
+            if (current.size() == batchSize) {
+                chunks.add(current);
+                current = new LinkedHashMap<>();
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    private RuntimeException asRuntime(Throwable cause) {
+        return cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+    }
+}
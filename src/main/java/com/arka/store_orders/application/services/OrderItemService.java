@@ -1,10 +1,12 @@
 package com.arka.store_orders.application.services;
 
+import com.arka.store_orders.application.metrics.OrderMetricsAggregator;
 import com.arka.store_orders.domain.models.OrderItem;
 import com.arka.store_orders.domain.ports.in.OrderItemUseCases;
 import com.arka.store_orders.domain.ports.out.persistence.OrderItemPersistencePort;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -15,6 +17,7 @@ import java.util.UUID;
 public class OrderItemService implements OrderItemUseCases {
 
     private final OrderItemPersistencePort persistence;
+    private final OrderMetricsAggregator metrics;
     @Override
     public OrderItem saveOrderItem(OrderItem item) {
         return persistence.save(item);
@@ -36,16 +39,23 @@ public class OrderItemService implements OrderItemUseCases {
     }
 
     @Override
+    @Transactional
     public OrderItem updateOrderItem(Long orderItemId, OrderItem item) {
         OrderItem existingItem=getById(orderItemId)
                 .orElseThrow(()->new IllegalArgumentException("OrderId not Found By Id"));
+        int quantityDelta = item.getQuantity() - existingItem.getQuantity();
         existingItem.setQuantity(item.getQuantity());
-        return saveOrderItem(item);
+        OrderItem savedItem = saveOrderItem(existingItem);
+        metrics.recordItemChange(savedItem.getProductId(), quantityDelta);
+        return savedItem;
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
+        Optional<OrderItem> existingItem = getById(id);
         persistence.delete(id);
+        existingItem.ifPresent(item -> metrics.recordItemChange(item.getProductId(), -item.getQuantity()));
     }
 
 }
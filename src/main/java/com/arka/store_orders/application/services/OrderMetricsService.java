@@ -0,0 +1,109 @@
+package com.arka.store_orders.application.services;
+
+import com.arka.store_orders.application.metrics.BestsellerTracker;
+import com.arka.store_orders.application.metrics.DatabaseOrderMetrics;
+import com.arka.store_orders.application.metrics.OrderMetricsAggregator;
+import com.arka.store_orders.application.metrics.SalesTimeSeries;
+import com.arka.store_orders.domain.models.ComprehensiveOrderMetrics;
+import com.arka.store_orders.domain.models.ProductSales;
+import com.arka.store_orders.domain.models.ProductSalesRanking;
+import com.arka.store_orders.domain.models.SalesPoint;
+import com.arka.store_orders.domain.models.TimeGranularity;
+import com.arka.store_orders.domain.ports.in.OrderMetricsUseCases;
+import com.arka.store_orders.domain.ports.out.feignclient.StockCachePort;
+import com.arka.store_orders.domain.ports.out.persistence.OrderCachePort;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.InvalidMetricsQueryException;
+import com.arka.store_orders.infrastructure.resources.Response.OrderCacheStats;
+import com.arka.store_orders.infrastructure.resources.Response.StockCacheStats;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "orders.usecase", histogram = true, percentiles = {0.5, 0.95, 0.99})
+public class OrderMetricsService implements OrderMetricsUseCases {
+    private final static int MAX_TOP_PRODUCTS=1000;
+    private final static Duration DEFAULT_METRICS_RANGE=Duration.ofHours(24);
+
+    private final OrderMetricsAggregator metrics;
+    private final SalesTimeSeries salesTimeSeries;
+    private final BestsellerTracker bestsellers;
+    private final DatabaseOrderMetrics databaseMetrics;
+    private final StockCachePort stockCache;
+    private final OrderCachePort orderCache;
+
+    @Override
+    public ComprehensiveOrderMetrics getComprehensiveMetrics() {
+        return metrics.snapshot();
+    }
+
+    @Override
+    public ComprehensiveOrderMetrics getDatabaseMetrics() {
+        return databaseMetrics.compute();
+    }
+
+    @Override
+    public List<SalesPoint> getSalesTimeSeries(LocalDateTime from, LocalDateTime to, TimeGranularity granularity,
+                                               String userId, Long productId) {
+        if (userId != null && productId != null) {
+            throw new InvalidMetricsQueryException("Filter the time series by userId or by productId, not both");
+        }
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        LocalDateTime start = from == null ? end.minus(DEFAULT_METRICS_RANGE) : from;
+        checkRange(start, end);
+        return salesTimeSeries.series(start, end, granularity == null ? TimeGranularity.HOUR : granularity,
+                userId, productId);
+    }
+
+    @Override
+    public List<ProductSales> getTopProducts(int n, LocalDateTime from, LocalDateTime to) {
+        if (n < 1 || n > MAX_TOP_PRODUCTS) {
+            throw new InvalidMetricsQueryException("n must be between 1 and " + MAX_TOP_PRODUCTS + ", got " + n);
+        }
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        LocalDateTime start = from == null ? end.minus(DEFAULT_METRICS_RANGE) : from;
+        checkRange(start, end);
+        return salesTimeSeries.topProducts(n, start, end);
+    }
+
+    @Override
+    public ProductSalesRanking getBestsellers(int k, boolean bottom, boolean approximate) {
+        if (k < 1 || k > MAX_TOP_PRODUCTS) {
+            throw new InvalidMetricsQueryException("k must be between 1 and " + MAX_TOP_PRODUCTS + ", got " + k);
+        }
+        if (!approximate) {
+            if (!bestsellers.isExactEnabled()) {
+                throw new InvalidMetricsQueryException("Exact bestsellers are disabled while heavy hitters are enabled, ask for the approximate ranking");
+            }
+            return bottom ? bestsellers.bottom(k) : bestsellers.top(k);
+        }
+        if (bottom) {
+            throw new InvalidMetricsQueryException("The approximate ranking only tracks the best sellers");
+        }
+        if (!bestsellers.isApproximateEnabled()) {
+            throw new InvalidMetricsQueryException("Approximate bestsellers are disabled (orders.metrics.heavy-hitters.enabled)");
+        }
+        return bestsellers.approximateTop(k);
+    }
+
+    @Override
+    public StockCacheStats getStockCacheStats() {
+        return stockCache.stats();
+    }
+
+    @Override
+    public OrderCacheStats getOrderCacheStats() {
+        return orderCache.stats();
+    }
+
+    private void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidMetricsQueryException("'from' must be before 'to', got " + from + " and " + to);
+        }
+    }
+}
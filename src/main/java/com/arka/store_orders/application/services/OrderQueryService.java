@@ -0,0 +1,77 @@
+package com.arka.store_orders.application.services;
+
+import com.arka.store_orders.application.events.OrderHistory;
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderCursor;
+import com.arka.store_orders.domain.models.OrderEvent;
+import com.arka.store_orders.domain.models.OrderFilter;
+import com.arka.store_orders.domain.models.OrderPage;
+import com.arka.store_orders.domain.models.TimeInState;
+import com.arka.store_orders.domain.ports.in.OrderQueryUseCases;
+import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import com.arka.store_orders.domain.ports.out.persistence.OrderViewPort;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.InvalidMetricsQueryException;
+import com.arka.store_orders.infrastructure.resources.Response.OrderResponse;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "orders.usecase", histogram = true, percentiles = {0.5, 0.95, 0.99})
+public class OrderQueryService implements OrderQueryUseCases {
+    private final static int MAX_PAGE_SIZE=200;
+    private final static Duration DEFAULT_TIME_IN_STATE_RANGE=Duration.ofHours(24);
+    private final static Duration MAX_TIME_IN_STATE_RANGE=Duration.ofDays(31);
+
+    private final OrderPersistencePort persistence;
+    private final OrderViewPort orderView;
+    private final OrderHistory history;
+
+    @Override
+    public Optional<OrderResponse> getOrderView(UUID id) {
+        return orderView.findOrderView(id);
+    }
+
+    @Override
+    public List<OrderEvent> getOrderEvents(UUID id) {
+        return history.events(id);
+    }
+
+    @Override
+    public Optional<Order> replayOrder(UUID id) {
+        return history.replay(id);
+    }
+
+    @Override
+    public List<TimeInState> getTimeInState(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime end = to == null ? LocalDateTime.now() : to;
+        LocalDateTime start = from == null ? end.minus(DEFAULT_TIME_IN_STATE_RANGE) : from;
+        if (!start.isBefore(end)) {
+            throw new InvalidMetricsQueryException("'from' must be before 'to', got " + start + " and " + end);
+        }
+        if (Duration.between(start, end).compareTo(MAX_TIME_IN_STATE_RANGE) > 0) {
+            throw new InvalidMetricsQueryException("Time in state covers at most " + MAX_TIME_IN_STATE_RANGE.toDays()
+                    + " days, got " + start + " to " + end);
+        }
+        return history.timeInState(start, end);
+    }
+
+    @Override
+    public OrderPage getOrders(OrderFilter filter, OrderCursor cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        return persistence.findPage(filter, cursor, pageSize);
+    }
+
+    @Override
+    public void exportOrders(OrderFilter filter, Consumer<Order> consumer) {
+        persistence.forEachOrder(filter, consumer);
+    }
+}
@@ -1,66 +1,151 @@
 package com.arka.store_orders.application.services;
 
+import com.arka.store_orders.application.events.OrderEventRecorder;
 import com.arka.store_orders.application.factory.OrderFactory;
+import com.arka.store_orders.application.metrics.OrderContribution;
+import com.arka.store_orders.application.metrics.OrderMetricsAggregator;
+import com.arka.store_orders.application.payment.PaymentInitiationWorker;
+import com.arka.store_orders.application.reservation.BatchReservation;
+import com.arka.store_orders.application.reservation.ReservationOutcome;
+import com.arka.store_orders.application.reservation.StockReservationCoordinator;
 import com.arka.store_orders.domain.models.*;
 import com.arka.store_orders.domain.ports.in.OrderUseCases;
-import com.arka.store_orders.domain.ports.out.feignclient.PaymentPort;
 import com.arka.store_orders.domain.ports.out.feignclient.ProductPort;
-import com.arka.store_orders.domain.ports.out.feignclient.ShippingPort;
 import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import com.arka.store_orders.domain.ports.out.persistence.ShippingOutboxPort;
+import com.arka.store_orders.domain.ports.out.persistence.StockOutboxPort;
 
 import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.*;
 import com.arka.store_orders.infrastructure.mapper.OrderItemMapper;
 import com.arka.store_orders.infrastructure.resources.Request.ItemQuantityUpdate;
 import com.arka.store_orders.infrastructure.resources.Request.OrderRequest;
-import com.arka.store_orders.infrastructure.resources.Request.PaymentRequest;
 import com.arka.store_orders.infrastructure.resources.Request.ShippingRequest;
 import com.arka.store_orders.infrastructure.resources.Response.AvailableStockResponse;
 import com.arka.store_orders.infrastructure.resources.Response.OrderItemShipping;
-import feign.FeignException;
-import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
-import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "orders.usecase", histogram = true, percentiles = {0.5, 0.95, 0.99})
 public class OrderService implements OrderUseCases {
-    private final static Logger log=Logger.getLogger(OrderService.class.getName());
+    private final static Logger log = LoggerFactory.getLogger(OrderService.class);
+    private final static int MAX_BATCH_SIZE=500;
 
 
     private final OrderFactory orderFactory;
     private final OrderPersistencePort persistence;
     private final ProductPort productPort;
-    private final PaymentPort paymentPort;
-    private final ShippingPort shippingPort;
+    private final PaymentInitiationWorker paymentWorker;
+    private final ShippingOutboxPort shippingOutbox;
+    private final StockOutboxPort stockOutbox;
     private final OrderItemMapper mapper;
+    private final OrderMetricsAggregator metrics;
+    private final StockReservationCoordinator reservationCoordinator;
+    private final OrderEventRecorder events;
+    private final TransactionTemplate transaction;
 
     @Override
-    @Transactional
     public Order createOrder(OrderRequest request) {
         Order newOrder=orderFactory.createOrder(request);
         List<OrderItem> items=newOrder.getItems();
+        Map<Long, Integer> quantities = newOrder.quantitiesByProduct();
+        ReservationOutcome reservation = reservationCoordinator.reserve(quantities);
+        if (!reservation.isSuccessful()) {
+            reservationCoordinator.release(reservation.reserved());
+            RuntimeException cause = reservation.firstFailure();
+            log.warn("Failed to create order due to: {}", cause.getMessage());
+            throw new OrderCreationFailedException("Failed to create order: " + cause.getMessage(), cause);
+        }
+        for (OrderItem item : items) {
+            item.calculateAmount();
+            item.setOrderId(newOrder.getId());
+        }
+        newOrder.calculateTotal();
+        Order savedOrder;
         try {
-            for (OrderItem item : items) {
-                reserveStockWithRetry(item);
-                item.calculateAmount();
-                item.setOrderId(newOrder.getId());
+            savedOrder = transaction.execute(status -> {
+                Order saved = persistence.save(newOrder);
+                recordCreated(List.of(saved));
+                return saved;
+            });
+        } catch (RuntimeException e) {
+            reservationCoordinator.release(quantities);
+            throw e;
+        }
+        log.info("Order created and stock reserved for orderId: {}", savedOrder.getId());
+        return savedOrder;
+    }
+
+    /**
+     * Creates many orders with one merged stock reservation and one batched insert. An order that cannot be
+     * reserved or saved is reported as failed and only its own reservation is released.
+     */
+    @Override
+    public List<OrderCreationResult> createOrders(List<OrderRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new BatchTooLargeException("A batch can contain at most " + MAX_BATCH_SIZE + " orders, got " + requests.size());
+        }
+        OrderCreationResult[] results = new OrderCreationResult[requests.size()];
+        List<Order> orders = new ArrayList<>(requests.size());
+        List<Map<Long, Integer>> demands = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Order order = null;
+            try {
+                order = buildOrder(requests.get(i));
+            } catch (RuntimeException e) {
+                results[i] = OrderCreationResult.failed("Invalid order: " + e.getMessage());
+            }
+            orders.add(order);
+            demands.add(order == null ? Map.of() : order.quantitiesByProduct());
+        }
+        BatchReservation reservation = reservationCoordinator.reserveAll(demands);
+
+        List<Order> reserved = new ArrayList<>(orders.size());
+        List<Integer> reservedIndexes = new ArrayList<>(orders.size());
+        for (int i = 0; i < orders.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            if (reservation.isReserved(i)) {
+                reserved.add(orders.get(i));
+                reservedIndexes.add(i);
+            } else {
+                results[i] = OrderCreationResult.failed("Failed to create order: " + reservation.failure(i).getMessage());
             }
-            newOrder.calculateTotal();
-            log.info("Order created and stock reserved for orderId: {}"+newOrder.getId());
-            return persistence.save(newOrder);
-        } catch (InsufficientStockException e) {
-            rollbackStockReservations(items);
-            log.warning("Failed to create order due to: {}"+e.getMessage()+ e);
-            throw new OrderCreationFailedException("Failed to create order: " + e.getMessage(), e);
         }
+        List<Order> saved = saveReserved(reserved);
+        int created = 0;
+        for (int i = 0; i < saved.size(); i++) {
+            Order order = saved.get(i);
+            int index = reservedIndexes.get(i);
+            if (order == null) {
+                reservationCoordinator.release(demands.get(index));
+                results[index] = OrderCreationResult.failed("Failed to create order: it could not be saved");
+            } else {
+                results[index] = OrderCreationResult.created(order);
+                created++;
+            }
+        }
+        log.info("Bulk order creation: {} of {} orders created", created, requests.size());
+        return Arrays.asList(results);
     }
 
     @Override
@@ -68,19 +153,16 @@ public class OrderService implements OrderUseCases {
     public Order processOrder(UUID orderId) {
         Order processingOrder = getOrderById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found by ID: " + orderId));
+        processingOrder.ensureCanProcess();
+        OrderContribution before = OrderContribution.of(processingOrder);
+        claimTransition(processingOrder, OrderStatus.WAITING_PAYMENT_CONFIRMATION);
         processingOrder.calculateTotal();
-        try {
-
-            String transactionId = paymentProcess(orderId, processingOrder.getTotal());
-            processingOrder.setTransactionId(transactionId);
-
-        } catch (PaymentFailedException e) {
-            processingOrder.switchToWaitingPaymentInitiation();
-            processingOrder.setTransactionId(null);
-        }
-        processingOrder.switchToWaitingConfirmation();
-        return persistence.save(processingOrder);
-
+        processingOrder.setTransactionId(null);
+        processingOrder.switchToWaitingPaymentInitiation();
+        Order savedOrder = saveAndRecord(before, processingOrder);
+        events.statusChanged(savedOrder, OrderEventType.PROCESSED);
+        paymentWorker.submitAfterCommit(savedOrder.getId());
+        return savedOrder;
     }
     @Override
     @Transactional
@@ -88,72 +170,76 @@ public class OrderService implements OrderUseCases {
         Order processingOrder = getOrderById(id)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found by ID: " + id));
         processingOrder.ensureCanModifyItems();
+        OrderContribution before = OrderContribution.of(processingOrder);
+        claimTransition(processingOrder, OrderStatus.PENDING);
         OrderItem existingItem=getOrderItem(processingOrder,itemId);
-        handleSockUpdate(existingItem.getProductId(),existingItem.getQuantity(), quantityUpdate.quantity());
+        handleSockUpdate(id, existingItem.getProductId(),existingItem.getQuantity(), quantityUpdate.quantity());
         existingItem.setQuantity(quantityUpdate.quantity());
         existingItem.calculateAmount();
         processingOrder.calculateTotal();
-        return persistence.save(processingOrder);
+        Order savedOrder = saveAndRecord(before, processingOrder);
+        events.itemChanged(savedOrder, OrderEventType.ITEM_UPDATED, getOrderItem(savedOrder, itemId));
+        return savedOrder;
 
     }
 
     @Override
+    @Transactional
     public Order acceptOrder(UUID orderId,String userId) {
         Order acceptedOrder = getOrderById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found by ID: " + orderId));
         acceptedOrder.ensureAcceptOrder();
+        OrderContribution before = OrderContribution.of(acceptedOrder);
+        claimTransition(acceptedOrder, OrderStatus.ACCEPTED);
+        stockOutbox.enqueue(orderId, StockOperation.DECREMENT, acceptedOrder.quantitiesByProduct());
         acceptedOrder.setUserId(userId);
-        Order savedOrder = persistence.save(acceptedOrder);
-        try {
-            for (OrderItem item : savedOrder.getItems()) {
-                productPort.decrementStock(item.getProductId(), item.getQuantity());
-            }
-            acceptedOrder.switchToAccepted();
-            List<OrderItemShipping> items = getShippingItem(savedOrder);
-            ShippingRequest request = new ShippingRequest(
-                    savedOrder.getId().toString(),
-                    savedOrder.getUserId(),
-                    items
-            );
-            shippingPort.sendOrder(request);
-            log.info("Order accepted, stock decremented, and shipping request sent for orderId: "+ orderId);
-
-        } catch (Exception e) {
-            log.warning("Fail: "+ orderId+ e);
-        }
-        log.info("Order accepted and stock decremented for orderId and shipping send: {}"+ orderId);
+        acceptedOrder.switchToAccepted();
+        Order savedOrder = saveAndRecord(before, acceptedOrder);
+        events.statusChanged(savedOrder, OrderEventType.ACCEPTED);
+        shippingOutbox.enqueue(new ShippingRequest(
+                savedOrder.getId().toString(),
+                savedOrder.getUserId(),
+                getShippingItem(savedOrder)
+        ));
+        log.info("Order accepted, stock decrement and shipping queued for orderId: {}", orderId);
         return savedOrder;
     }
 
     @Override
+    @Transactional
     public void cancelOrder(UUID id) {
         Order existingOrder = getOrderById(id)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found by ID: " + id));
         existingOrder.ensureCanRemoveOrder();
-
-        for (OrderItem item : existingOrder.getItems()) {
-            productPort.recoveryStock(item.getProductId(), item.getQuantity());
-        }
+        OrderContribution before = OrderContribution.of(existingOrder);
+        claimTransition(existingOrder, OrderStatus.CANCELED);
+        stockOutbox.enqueue(id, StockOperation.RELEASE, existingOrder.quantitiesByProduct());
         existingOrder.switchToCanceled();
-        persistence.save(existingOrder);
-        log.info("Order canceled and stock recovered for orderId: {}"+ id);
+        events.statusChanged(saveAndRecord(before, existingOrder), OrderEventType.CANCELED);
+        log.info("Order canceled and stock release queued for orderId: {}", id);
     }
 
     @Override
+    @Transactional
     public Order deleteItem(UUID orderId, Long itemId) {
         Order existingOrder = getOrderById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found by ID: " + orderId));
         existingOrder.ensureCanModifyItems();
+        OrderContribution before = OrderContribution.of(existingOrder);
+        claimTransition(existingOrder, OrderStatus.PENDING);
         OrderItem itemToRemove=existingOrder.getItems().stream().filter(
                 item -> item.getId().equals(itemId))
                 .findFirst().orElseThrow(()->new IllegalArgumentException("Item Not Found"));
-        productPort.recoveryStock(itemToRemove.getProductId(),itemToRemove.getQuantity());
+        stockOutbox.enqueue(orderId, StockOperation.RELEASE, Map.of(itemToRemove.getProductId(), itemToRemove.getQuantity()));
         existingOrder.getItems().remove(itemToRemove);
         existingOrder.calculateTotal();
-        return  persistence.save(existingOrder);
+        Order savedOrder = saveAndRecord(before, existingOrder);
+        events.itemChanged(savedOrder, OrderEventType.ITEM_REMOVED, itemToRemove);
+        return savedOrder;
     }
 
     @Override
+    @Transactional
     public Order addItem(UUID orderId, OrderItem item) {
         Order existingOrder = getOrderById(orderId)
                 .orElseThrow(() -> new OrderNotFoundException("Order not found by ID: " + orderId));
@@ -161,13 +247,21 @@ public class OrderService implements OrderUseCases {
         if (!existingOrder.getStatus().equals(OrderStatus.PENDING)) {
             throw new InvalidOrderStateException("Cannot add items: order is not in PENDING status.");
         }
+        OrderContribution before = OrderContribution.of(existingOrder);
+        claimTransition(existingOrder, OrderStatus.PENDING);
         validateAndReserveStock(item);
         item.setOrderId(orderId);
         item.calculateAmount();
+        Set<Long> previousItemIds = new HashSet<>();
+        for (OrderItem existingItem : existingOrder.getItems()) {
+            previousItemIds.add(existingItem.getId());
+        }
         existingOrder.addItem(item);
         existingOrder.calculateTotal();
-        log.info("Item added to orderId: {}" + orderId);
-        return persistence.save(existingOrder);
+        log.info("Item added to orderId: {}", orderId);
+        Order savedOrder = saveAndRecord(before, existingOrder);
+        events.itemsAdded(savedOrder, previousItemIds);
+        return savedOrder;
     }
 
     @Override
@@ -176,40 +270,19 @@ public class OrderService implements OrderUseCases {
                 .orElseThrow(() -> new OrderNotFoundException(" Order not Found By Id : "+id)));
     }
 
-    @Override
-    public List<Order> getOrders() {
-
-        return persistence.findAll();
-    }
-
-
-
-    @Retry(name = "productReserveRetry", fallbackMethod = "handleReserveFailure")
-    private void reserveStockWithRetry(OrderItem item) {
-        validateAndReserveStock(item);
-    }
     private void validateAndReserveStock(OrderItem item){
         Long id=item.getProductId();
         AvailableStockResponse availableStock=productPort.getAvailableStock(id);
         if (availableStock.availableStock() == null || availableStock.availableStock() < item.getQuantity()) {
             throw new InsufficientStockException("Insufficient stock for SKU: " + id + ". Available: " + availableStock);
         }
-        productPort.reserveStock(id, item.getQuantity());
-    }
-    private void rollbackStockReservations(List<OrderItem> items) {
-        for (OrderItem item : items) {
-            try {
-                productPort.recoveryStock(item.getProductId(), item.getQuantity());
-            } catch (Exception ignored) {
-                log.warning("Failed to rollback stock for SKU: {}");
-            }
-        }
+        reserveUntilRollback(id, item.getQuantity());
     }
     private List<OrderItemShipping> getShippingItem(Order order){
         return order.getItems().stream()
                 .map(mapper::orderItemsToShipping).collect(Collectors.toList());
     }
-    private void handleSockUpdate(Long productId,Integer oldQuantity,Integer newQuantity){
+    private void handleSockUpdate(UUID orderId, Long productId,Integer oldQuantity,Integer newQuantity){
         int quantityDifference = newQuantity - oldQuantity;
 
         if (quantityDifference > 0) {
@@ -218,11 +291,28 @@ public class OrderService implements OrderUseCases {
             if (stockResponse.availableStock() < stockToReserve) {
                 throw new InsufficientStockException("Insufficient Stock available to update the item. Required: " + stockToReserve);
             }
-            productPort.reserveStock(productId, stockToReserve);
+            reserveUntilRollback(productId, stockToReserve);
 
         } else if (quantityDifference < 0) {
             Integer stockToRelease = Math.abs(quantityDifference);
-            productPort.recoveryStock(productId, stockToRelease);
+            stockOutbox.enqueue(orderId, StockOperation.RELEASE, Map.of(productId, stockToRelease));
+        }
+    }
+    /**
+     * Reserves stock for an order claimed in the current transaction. The product service is not part of the
+     * transaction, so the reservation is released again if it rolls back after the call.
+     */
+    private void reserveUntilRollback(Long productId, int quantity) {
+        productPort.reserveStock(productId, quantity);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        reservationCoordinator.release(Map.of(productId, quantity));
+                    }
+                }
+            });
         }
     }
     private OrderItem getOrderItem(Order order, Long itemId){
@@ -231,118 +321,68 @@ public class OrderService implements OrderUseCases {
                 .orElseThrow(() -> new OrderNotFoundException("Item not found by ID: " + itemId));
 
     }
-    private String paymentProcess(UUID orderId,Double total){
-        String transactionId;
-
-        try {
-            transactionId = callPaymentService(orderId, total);
-            log.info("Payment processed for orderId: " + orderId + " with txId: " + transactionId);
-
-        } catch (PaymentFailedException e) {
-            log.warning("Payment initiation failed for orderId: " + orderId + " after all retries. Reason: " + e.getMessage());
-            throw e;
-
-        } catch (Exception e) {
-            log.severe("Unexpected error during payment processing for orderId: " + orderId + e);
-            throw new PaymentFailedException("Unexpected error during payment initiation for order " + orderId + ". Reason: " + e.getMessage(), e);
+    /**
+     * Conditionally moves the order to {@code target} before any stock side effect runs. The UPDATE only
+     * matches the status and version this request read, so of several concurrent requests exactly one wins
+     * and keeps the row locked until commit; the rest fail fast with a conflict.
+     */
+    private void claimTransition(Order order, OrderStatus target) {
+        if (!persistence.transitionStatus(order.getId(), order.getVersion(), order.getStatus(), target)) {
+            throw new OrderConflictException("Order " + order.getId() + " was modified concurrently while moving from "
+                    + order.getStatus() + " to " + target);
         }
-
-        return transactionId;
-    }
-    @Retry(name = "paymentInitBackoffRetry", fallbackMethod = "handlePaymentServiceFailure")
-    private String callPaymentService(UUID orderId, Double total) {
-        PaymentRequest request = new PaymentRequest(orderId, total);
-        return paymentPort.processPayment(request);
-    }
-
-    private String handlePaymentServiceFailure(UUID orderId, Double total, FeignException e) {
-        log.severe("Payment retries exhausted for order " + orderId + ". Error: " + e.getMessage());
-        throw new PaymentFailedException("Max retries exceeded contacting payment service", e);
-    }
-    public ComprehensiveOrderMetrics getComprehensiveMetrics() {
-        List<Order> allOrders = getOrders();
-
-        Long totalOrders = totalOrders(allOrders);
-        Long acceptedOrders = totalAcceptedOrders(allOrders);
-        Long pendingOrders = totalPendingOrders(allOrders);
-        Double totalSalesAmount = totalSalesAmount(allOrders);
-        Double averageOrderValue = calculateAverageOrderValue(totalSalesAmount, acceptedOrders);
-
-        BestSellerMetrics bestsellers = calculateBestsellerMetrics(allOrders);
-        return new ComprehensiveOrderMetrics(
-                totalOrders,
-                acceptedOrders,
-                pendingOrders,
-                totalSalesAmount,
-                averageOrderValue,
-                bestsellers
-        );
+        order.setVersion(order.getVersion() + 1);
     }
 
-    private BestSellerMetrics calculateBestsellerMetrics(List<Order> allOrders) {
-        Map<Long, Long> productCounts = getProductSalesCounts(allOrders);
-
-        if (productCounts.isEmpty()) {
-            return new BestSellerMetrics(null, null, 0L, 0L);
+    private Order buildOrder(OrderRequest request) {
+        Order order = orderFactory.createOrder(request);
+        for (OrderItem item : order.getItems()) {
+            item.calculateAmount();
+            item.setOrderId(order.getId());
         }
-        Map.Entry<Long, Long> mostSold = findMostSold(productCounts);
-        Map.Entry<Long, Long> leastSold = findLeastSold(productCounts);
-
-        return new BestSellerMetrics(
-                mostSold.getKey(),
-                leastSold.getKey(),
-                mostSold.getValue(),
-                leastSold.getValue()
-        );
+        order.calculateTotal();
+        return order;
     }
 
-    private Long totalOrders(List<Order> allOrders) {
-        return (long) allOrders.size();
-    }
-
-    private Long totalAcceptedOrders(List<Order> allOrders) {
-        return allOrders.stream()
-                .filter(order -> order.getStatus().equals(OrderStatus.ACCEPTED))
-                .count();
-    }
-
-    private Long totalPendingOrders(List<Order> allOrders) {
-        return allOrders.stream()
-                .filter(order -> order.getStatus().equals(OrderStatus.PENDING))
-                .count();
-    }
-
-    private Double totalSalesAmount(List<Order> allOrders) {
-        return allOrders.stream()
-
-                .filter(order -> order.getStatus().equals(OrderStatus.ACCEPTED))
-                .mapToDouble(Order::getTotal)
-                .sum();
+    /**
+     * Inserts the orders in one batch, together with their CREATED events. If the batch fails, falls back to
+     * saving them one by one so a single bad order does not take the rest down; the slots of orders that
+     * could not be saved are null.
+     */
+    private List<Order> saveReserved(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return transaction.execute(status -> recordCreated(persistence.saveAll(orders)));
+        } catch (RuntimeException e) {
+            log.warn("Batch insert of {} orders failed, saving them one by one: {}", orders.size(), e.getMessage());
+        }
+        List<Order> saved = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            try {
+                saved.add(transaction.execute(status -> recordCreated(List.of(persistence.save(order))).get(0)));
+            } catch (RuntimeException e) {
+                log.warn("Failed to save order {}: {}", order.getId(), e.getMessage());
+                saved.add(null);
+            }
+        }
+        return saved;
     }
 
-    private Double calculateAverageOrderValue(Double totalSalesAmount, Long acceptedOrders) {
-        return (acceptedOrders != null && acceptedOrders > 0) ?
-                (totalSalesAmount / acceptedOrders) : 0.0;
+    /** Called inside the transaction that inserted the orders, so an order never commits without its events. */
+    private List<Order> recordCreated(List<Order> saved) {
+        for (Order order : saved) {
+            metrics.record(null, OrderContribution.of(order));
+        }
+        events.created(saved);
+        return saved;
     }
 
-
-    private Map<Long, Long> getProductSalesCounts(List<Order> allOrders) {
-        return allOrders.stream()
-                .flatMap(order -> order.getItems().stream())
-                .collect(Collectors.groupingBy(
-                        OrderItem::getProductId,
-                        Collectors.summingLong(OrderItem::getQuantity)
-                ));
-    }
-    private Map.Entry<Long, Long> findMostSold(Map<Long, Long> productCounts) {
-        return productCounts.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .get();
-    }
-    private Map.Entry<Long, Long> findLeastSold(Map<Long, Long> productCounts) {
-        return productCounts.entrySet().stream()
-                .min(Map.Entry.comparingByValue())
-                .get();
+    private Order saveAndRecord(OrderContribution before, Order order) {
+        Order savedOrder = persistence.save(order);
+        metrics.record(before, OrderContribution.of(savedOrder));
+        return savedOrder;
     }
 
 }
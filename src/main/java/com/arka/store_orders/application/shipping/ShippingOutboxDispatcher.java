@@ -0,0 +1,104 @@
+package com.arka.store_orders.application.shipping;
+
+import com.arka.store_orders.domain.models.ShippingDispatch;
+import com.arka.store_orders.domain.ports.out.feignclient.ShippingPort;
+import com.arka.store_orders.domain.ports.out.persistence.ShippingOutboxPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Drains the shipping outbox written by {@code acceptOrder}. Due entries are claimed with a lease so
+ * several instances can dispatch in parallel; failed sends stay in the outbox and are retried with
+ * exponential backoff. An entry that still fails after {@code orders.shipping-outbox.max-attempts} is parked
+ * as DEAD so it stops consuming dispatch slots and can be replayed by hand.
+ */
+@Component
+public class ShippingOutboxDispatcher {
+    private final static Logger log = LoggerFactory.getLogger(ShippingOutboxDispatcher.class);
+
+    private final ShippingOutboxPort outbox;
+    private final ShippingPort shippingPort;
+    private final int batchSize;
+    private final int maxConcurrency;
+    private final Duration lease;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    public ShippingOutboxDispatcher(ShippingOutboxPort outbox,
+                                    ShippingPort shippingPort,
+                                    @Value("${orders.shipping-outbox.batch-size:50}") int batchSize,
+                                    @Value("${orders.shipping-outbox.max-concurrency:16}") int maxConcurrency,
+                                    @Value("${orders.shipping-outbox.lease:30s}") Duration lease,
+                                    @Value("${orders.shipping-outbox.initial-backoff:1s}") Duration initialBackoff,
+                                    @Value("${orders.shipping-outbox.max-backoff:5m}") Duration maxBackoff,
+                                    @Value("${orders.shipping-outbox.max-attempts:20}") int maxAttempts) {
+        this.outbox = outbox;
+        this.shippingPort = shippingPort;
+        this.batchSize = batchSize;
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+        this.lease = lease;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.shipping-outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        List<ShippingDispatch> batch = outbox.claimDue(batchSize, lease);
+        if (batch.isEmpty()) {
+            return;
+        }
+        Semaphore permits = new Semaphore(maxConcurrency);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (ShippingDispatch dispatch : batch) {
+                executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        send(dispatch);
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private void send(ShippingDispatch dispatch) {
+        try {
+            shippingPort.sendOrder(dispatch.request());
+            outbox.markSent(dispatch.id());
+        } catch (Exception e) {
+            int attempts = dispatch.attempts() + 1;
+            if (attempts >= maxAttempts) {
+                outbox.markDead(dispatch.id(), attempts, e.getMessage());
+                log.error("Shipping dispatch for orderId: {} gave up after {} attempts. Reason: {}",
+                        dispatch.request().orderId(), attempts, e.getMessage());
+                return;
+            }
+            LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(attempts));
+            outbox.markFailed(dispatch.id(), attempts, nextAttemptAt, e.getMessage());
+            if (log.isWarnEnabled()) {
+                log.warn("Shipping dispatch failed for orderId: {} (attempt {}), next attempt at {}. Reason: {}",
+                        dispatch.request().orderId(), attempts, nextAttemptAt, e.getMessage());
+            }
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        int exponent = Math.min(attempts - 1, 20);
+        Duration delay = initialBackoff.multipliedBy(1L << exponent);
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
@@ -0,0 +1,18 @@
+package com.arka.store_orders.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Turns {@code @Timed} on Spring beans into Micrometer timers. Feign clients are instrumented by
+ * Spring Cloud OpenFeign itself ({@code http.client.requests}, tagged by client, method, uri and status).
+ */
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+}
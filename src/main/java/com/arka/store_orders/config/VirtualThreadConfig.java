@@ -0,0 +1,22 @@
+package com.arka.store_orders.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.openfeign.clientconfig.http2client.Http2ClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Opt-in virtual-thread mode, enabled with the {@code virtual} profile. Tomcat and Spring's task
+ * executors switch to virtual threads through {@code spring.threads.virtual.enabled}; Feign moves to
+ * the JDK HttpClient, whose internal executor is made virtual here as well.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+    @Bean
+    public Http2ClientCustomizer virtualThreadHttpClientCustomizer() {
+        return builder -> builder.executor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
@@ -11,7 +13,7 @@ public class ComprehensiveOrderMetrics {
     private Long totalOrders;
     private Long acceptedOrders;
     private Long pendingOrders;
-    private Double totalSalesAmount;
-    private Double averageOrderValue;
+    private BigDecimal totalSalesAmount;
+    private BigDecimal averageOrderValue;
     private BestSellerMetrics bestsellers;
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.arka.store_orders.domain.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stored outcome of a request sent with an {@code Idempotency-Key}. The response stays null while the
+ * first request is still running.
+ */
+public record IdempotencyRecord(String key, String fingerprint, String response, LocalDateTime expiresAt) {
+
+    public boolean isCompleted() {
+        return response != null;
+    }
+}
@@ -0,0 +1,45 @@
+package com.arka.store_orders.domain.models;
+
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.InvalidMoneyAmountException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Money is carried as a primitive {@code long} of minor units (cents) through the domain, entities and
+ * metrics, so arithmetic is exact and allocation-free. Decimal values only exist at the API boundary.
+ */
+public final class Money {
+
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    /** Amounts with more than {@link #SCALE} decimals or outside the long range are rejected, never rounded. */
+    public static long toMinorUnits(BigDecimal amount) {
+        Objects.requireNonNull(amount, "amount");
+        try {
+            return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException exception) {
+            throw new InvalidMoneyAmountException("Amount " + amount.toPlainString()
+                    + " must have at most " + SCALE + " decimals and fit in minor units");
+        }
+    }
+
+    public static BigDecimal toMajorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    public static long times(long minorUnits, int quantity) {
+        return Math.multiplyExact(minorUnits, quantity);
+    }
+
+    public static BigDecimal average(long minorUnits, long count) {
+        if (count == 0) {
+            return toMajorUnits(0);
+        }
+        return toMajorUnits(minorUnits).divide(BigDecimal.valueOf(count), SCALE, RoundingMode.HALF_UP);
+    }
+}
@@ -8,20 +8,23 @@ import lombok.Setter;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @Getter
 @Setter
 @NoArgsConstructor
 public class Order {
-    private UUID id=UUID.randomUUID();
+    private UUID id=TimeOrderedUuid.next();
     private LocalDateTime createAt;
     private List<OrderItem> items;
     private OrderStatus status;
-    private Double total;
+    /** Sum of the item amounts in minor units, see {@link Money}. */
+    private long total;
     private LocalDateTime updateAt;
     private String transactionId;
     private String userId;
+    private Long version;
 
 
     public Order( List<OrderItem> items) {
@@ -36,6 +39,11 @@ public class Order {
             throw new InvalidOrderStateException("Order cannot be modified. Status is: " + this.status);
         }
     }
+    public void ensureCanProcess() {
+        if (this.status != OrderStatus.PENDING) {
+            throw new InvalidOrderStateException("Order cannot be processed. Status is: " + this.status);
+        }
+    }
     public void ensureCanRemoveOrder() {
         if (this.status != OrderStatus.PENDING) {
             throw new InvalidOrderStateException("Order cannot be modified. Status is: " + this.status);
@@ -54,8 +62,15 @@ public class Order {
     public void addItem(OrderItem item){
         this.items.add(item);
     }
+    public Map<Long, Integer> quantitiesByProduct(){
+        return OrderItem.mergeQuantities(items);
+    }
     public void calculateTotal(){
-        this.total=items.stream().mapToDouble(OrderItem::calculateAmount).sum();
+        long sum = 0;
+        for (OrderItem item : items) {
+            sum = Math.addExact(sum, item.calculateAmount());
+        }
+        this.total = sum;
     }
 
     public void switchToAccepted(){
@@ -70,5 +85,11 @@ public class Order {
     public void switchToWaitingPaymentInitiation(){
         this.status=OrderStatus.WAITING_PAYMENT_CONFIRMATION;
     }
+    public void switchToExpired(){
+        this.status=OrderStatus.EXPIRED;
+    }
+    public void switchToPaymentFailed(){
+        this.status=OrderStatus.PAYMENT_FAILED;
+    }
 
 }
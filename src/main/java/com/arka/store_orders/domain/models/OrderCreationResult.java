@@ -0,0 +1,19 @@
+package com.arka.store_orders.domain.models;
+
+/**
+ * Result of one order of a bulk creation: the saved order, or why it was not created.
+ */
+public record OrderCreationResult(Order order, String error) {
+
+    public static OrderCreationResult created(Order order) {
+        return new OrderCreationResult(order, null);
+    }
+
+    public static OrderCreationResult failed(String error) {
+        return new OrderCreationResult(null, error);
+    }
+
+    public boolean isCreated() {
+        return order != null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.arka.store_orders.domain.models;
+
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+public record OrderCursor(LocalDateTime createAt, UUID id) {
+
+    public static OrderCursor of(Order order) {
+        return new OrderCursor(order.getCreateAt(), order.getId());
+    }
+
+    public String encode() {
+        String raw = createAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new OrderCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.arka.store_orders.domain.models;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One entry of the append-only order log. {@code revision} is the order version the change produced, so the
+ * events of an order replay in (revision, append) order; {@code status} is the order status after the change.
+ * Item fields are only set for item events, {@code price} is in minor units.
+ */
+public record OrderEvent(UUID orderId, long revision, OrderEventType type, OrderStatus status,
+                         LocalDateTime occurredAt, Long itemId, Long productId, Integer quantity, long price,
+                         String userId) {
+
+    public static OrderEvent of(Order order, OrderEventType type, LocalDateTime occurredAt) {
+        return new OrderEvent(order.getId(), revisionOf(order), type, order.getStatus(), occurredAt,
+                null, null, null, 0L, order.getUserId());
+    }
+
+    public static OrderEvent ofItem(Order order, OrderEventType type, OrderItem item, LocalDateTime occurredAt) {
+        return new OrderEvent(order.getId(), revisionOf(order), type, order.getStatus(), occurredAt,
+                item.getId(), item.getProductId(), item.getQuantity(), item.getPrice(), null);
+    }
+
+    private static long revisionOf(Order order) {
+        return order.getVersion() == null ? 0L : order.getVersion();
+    }
+}
@@ -0,0 +1,14 @@
+package com.arka.store_orders.domain.models;
+
+public enum OrderEventType {
+    CREATED,
+    ITEM_ADDED,
+    ITEM_UPDATED,
+    ITEM_REMOVED,
+    PROCESSED,
+    PAYMENT_CONFIRMED,
+    ACCEPTED,
+    CANCELED,
+    EXPIRED,
+    PAYMENT_FAILED
+}
@@ -0,0 +1,5 @@
+package com.arka.store_orders.domain.models;
+
+public record OrderFilter(OrderStatus status, String userId) {
+    public static final OrderFilter ALL = new OrderFilter(null, null);
+}
@@ -2,6 +2,9 @@ package com.arka.store_orders.domain.models;
 
 import lombok.*;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.UUID;
 
 @Getter
@@ -14,13 +17,22 @@ public class OrderItem {
     private Long id;
     private Long productId;
     private Integer quantity;
-    private Double price;
-    private Double amount;
+    /** Unit price in minor units, see {@link Money}. */
+    private long price;
+    /** {@code price * quantity} in minor units. */
+    private long amount;
     private UUID orderId;
 
-    public Double calculateAmount(){
-        Double calculatedAmount = this.price * this.quantity;
-        setAmount(calculatedAmount);
-        return calculatedAmount;
+    public long calculateAmount(){
+        this.amount = Money.times(this.price, this.quantity);
+        return this.amount;
+    }
+
+    public static Map<Long, Integer> mergeQuantities(Collection<OrderItem> items) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItem item : items) {
+            quantities.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+        }
+        return quantities;
     }
 }
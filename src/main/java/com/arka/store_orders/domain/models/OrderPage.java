@@ -0,0 +1,6 @@
+package com.arka.store_orders.domain.models;
+
+import java.util.List;
+
+public record OrderPage(List<Order> orders, OrderCursor nextCursor) {
+}
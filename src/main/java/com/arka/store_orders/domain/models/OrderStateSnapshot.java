@@ -0,0 +1,9 @@
+package com.arka.store_orders.domain.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * The order as it was at {@code revision}. Replaying an order starts here and only applies later events.
+ */
+public record OrderStateSnapshot(Order order, long revision, LocalDateTime takenAt) {
+}
@@ -16,5 +16,11 @@ public enum OrderStatus {
     WAITING_PAYMENT_CONFIRMATION,
 
     @Schema(description = "Order canceled, stock released")
-    CANCELED
+    CANCELED,
+
+    @Schema(description = "Order abandoned past its reservation TTL, stock released")
+    EXPIRED,
+
+    @Schema(description = "Payment declined or never initiated, stock released")
+    PAYMENT_FAILED
 }
@@ -0,0 +1,7 @@
+package com.arka.store_orders.domain.models;
+
+import java.util.UUID;
+
+/** A claimed payment initiation: the order, its total in minor units and which attempt this is (from 1). */
+public record PaymentAttempt(UUID orderId, long total, int attempt) {
+}
@@ -0,0 +1,4 @@
+package com.arka.store_orders.domain.models;
+
+public record ProductSales(Long productId, long unitsSold) {
+}
@@ -0,0 +1,10 @@
+package com.arka.store_orders.domain.models;
+
+import java.util.List;
+
+/**
+ * Products ranked by units ordered. Approximate rankings come from a sketch whose counts can overshoot the
+ * true ones by up to {@code errorBound} units; exact rankings have an error bound of zero.
+ */
+public record ProductSalesRanking(List<ProductSales> products, boolean approximate, long errorBound) {
+}
@@ -0,0 +1,13 @@
+package com.arka.store_orders.domain.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Orders created in the bucket starting at {@code start}, counted by their current status. Sales and units
+ * only cover the ones that were accepted.
+ */
+public record SalesPoint(LocalDateTime start, Map<OrderStatus, Long> ordersByStatus, long orders,
+                         BigDecimal sales, long unitsSold) {
+}
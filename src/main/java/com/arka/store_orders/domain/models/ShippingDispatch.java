@@ -0,0 +1,6 @@
+package com.arka.store_orders.domain.models;
+
+import com.arka.store_orders.infrastructure.resources.Request.ShippingRequest;
+
+public record ShippingDispatch(Long id, ShippingRequest request, int attempts) {
+}
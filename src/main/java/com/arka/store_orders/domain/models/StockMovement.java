@@ -0,0 +1,7 @@
+package com.arka.store_orders.domain.models;
+
+import java.util.Map;
+import java.util.UUID;
+
+public record StockMovement(Long id, UUID orderId, StockOperation operation, Map<Long, Integer> quantities, int attempts) {
+}
@@ -0,0 +1,8 @@
+package com.arka.store_orders.domain.models;
+
+public enum StockOperation {
+    /** Turn the order's reservation into a definitive stock decrement. */
+    DECREMENT,
+    /** Give the order's reserved stock back. */
+    RELEASE
+}
@@ -0,0 +1,7 @@
+package com.arka.store_orders.domain.models;
+
+public enum TimeGranularity {
+    HOUR,
+    DAY,
+    WEEK
+}
@@ -0,0 +1,9 @@
+package com.arka.store_orders.domain.models;
+
+/**
+ * How long orders stayed in a status, computed from the event log. Completed stays are the ones the order
+ * already left; open stays are orders still in the status and are not part of the durations.
+ */
+public record TimeInState(OrderStatus status, long completedStays, long openStays,
+                          double averageSeconds, double maxSeconds) {
+}
@@ -0,0 +1,25 @@
+package com.arka.store_orders.domain.ports.in;
+
+import com.arka.store_orders.domain.models.ComprehensiveOrderMetrics;
+import com.arka.store_orders.domain.models.ProductSales;
+import com.arka.store_orders.domain.models.ProductSalesRanking;
+import com.arka.store_orders.domain.models.SalesPoint;
+import com.arka.store_orders.domain.models.TimeGranularity;
+import com.arka.store_orders.infrastructure.resources.Response.OrderCacheStats;
+import com.arka.store_orders.infrastructure.resources.Response.StockCacheStats;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderMetricsUseCases {
+    ComprehensiveOrderMetrics getComprehensiveMetrics();
+    /** The same metrics computed with aggregate queries on the stored orders. */
+    ComprehensiveOrderMetrics getDatabaseMetrics();
+    List<SalesPoint> getSalesTimeSeries(LocalDateTime from, LocalDateTime to, TimeGranularity granularity,
+                                        String userId, Long productId);
+    List<ProductSales> getTopProducts(int n, LocalDateTime from, LocalDateTime to);
+    /** All-time ranking by units ordered; the approximate one comes from the heavy-hitters sketch. */
+    ProductSalesRanking getBestsellers(int k, boolean bottom, boolean approximate);
+    StockCacheStats getStockCacheStats();
+    OrderCacheStats getOrderCacheStats();
+}
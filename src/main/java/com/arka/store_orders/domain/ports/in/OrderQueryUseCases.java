@@ -0,0 +1,26 @@
+package com.arka.store_orders.domain.ports.in;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderCursor;
+import com.arka.store_orders.domain.models.OrderEvent;
+import com.arka.store_orders.domain.models.OrderFilter;
+import com.arka.store_orders.domain.models.OrderPage;
+import com.arka.store_orders.domain.models.TimeInState;
+import com.arka.store_orders.infrastructure.resources.Response.OrderResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface OrderQueryUseCases {
+    Optional<OrderResponse> getOrderView(UUID id);
+    List<OrderEvent> getOrderEvents(UUID id);
+    /** The order rebuilt from its latest snapshot and the events logged after it. */
+    Optional<Order> replayOrder(UUID id);
+    /** Time spent in each status by the orders whose status events fall in [from, to); defaults to the last 24 hours. */
+    List<TimeInState> getTimeInState(LocalDateTime from, LocalDateTime to);
+    OrderPage getOrders(OrderFilter filter, OrderCursor cursor, int size);
+    void exportOrders(OrderFilter filter, Consumer<Order> consumer);
+}
@@ -1,7 +1,7 @@
 package com.arka.store_orders.domain.ports.in;
 
-import com.arka.store_orders.domain.models.ComprehensiveOrderMetrics;
 import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderCreationResult;
 import com.arka.store_orders.domain.models.OrderItem;
 import com.arka.store_orders.infrastructure.resources.Request.ItemQuantityUpdate;
 import com.arka.store_orders.infrastructure.resources.Request.OrderRequest;
@@ -12,6 +12,7 @@ import java.util.UUID;
 
 public interface OrderUseCases {
     Order createOrder(OrderRequest request);
+    List<OrderCreationResult> createOrders(List<OrderRequest> requests);
     Order processOrder(UUID orderId);
     Order acceptOrder(UUID orderId,String userId);
     void cancelOrder(UUID id);
@@ -20,7 +21,5 @@ public interface OrderUseCases {
     Order addItem(UUID orderId,OrderItem item);
 
     Optional<Order> getOrderById(UUID id);
-    List<Order> getOrders();
-    ComprehensiveOrderMetrics getComprehensiveMetrics();
 
 }
@@ -6,4 +6,5 @@ import java.util.UUID;
 
 public interface PaymentPort {
     String processPayment(PaymentRequest paymentRequest);
+    boolean isPaymentValid(String transactionId);
 }
@@ -3,10 +3,19 @@ package com.arka.store_orders.domain.ports.out.feignclient;
 import com.arka.store_orders.infrastructure.resources.Response.AvailableStockResponse;
 import com.arka.store_orders.infrastructure.resources.Response.ReservationResponse;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
 public interface ProductPort {
 
     void reserveStock(Long productId, Integer quantity);
     void decrementStock(Long productId,Integer quantity);
     AvailableStockResponse recoveryStock(Long productId, Integer quantity);
     AvailableStockResponse getAvailableStock(Long productId);
+
+    void reserveStockBatch(Map<Long, Integer> quantities);
+    void decrementStockBatch(Map<Long, Integer> quantities);
+    List<AvailableStockResponse> recoveryStockBatch(Map<Long, Integer> quantities);
+    Map<Long, AvailableStockResponse> getAvailableStockBatch(Collection<Long> productIds);
 }
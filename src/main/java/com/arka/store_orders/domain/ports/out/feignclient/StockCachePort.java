@@ -0,0 +1,8 @@
+package com.arka.store_orders.domain.ports.out.feignclient;
+
+import com.arka.store_orders.infrastructure.resources.Response.StockCacheStats;
+
+/** Counters of the available-stock cache kept in front of PRODUCTS-SERVICE. */
+public interface StockCachePort {
+    StockCacheStats stats();
+}
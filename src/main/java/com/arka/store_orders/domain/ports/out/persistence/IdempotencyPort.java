@@ -0,0 +1,27 @@
+package com.arka.store_orders.domain.ports.out.persistence;
+
+import com.arka.store_orders.domain.models.IdempotencyRecord;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+public interface IdempotencyPort {
+    Optional<IdempotencyRecord> find(String key, LocalDateTime now);
+    /**
+     * Registers the key as in progress, taking over a row that has expired but was not purged yet. Returns
+     * false when another request, possibly on another instance, already holds it.
+     */
+    boolean tryStart(String key, String fingerprint, LocalDateTime now, LocalDateTime expiresAt);
+    /**
+     * Stores the response of a finished request, inserting the row again if it was purged meanwhile.
+     * Returns false when the response could not be stored.
+     */
+    boolean complete(IdempotencyRecord record, LocalDateTime now);
+    /**
+     * Marks keys still held in progress as alive, so no instance purges them as stale.
+     */
+    int touch(Collection<String> keys, LocalDateTime now);
+    void release(String key);
+    int purgeExpired(LocalDateTime now, LocalDateTime staleInProgressBefore);
+}
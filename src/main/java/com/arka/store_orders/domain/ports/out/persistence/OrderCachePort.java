@@ -0,0 +1,8 @@
+package com.arka.store_orders.domain.ports.out.persistence;
+
+import com.arka.store_orders.infrastructure.resources.Response.OrderCacheStats;
+
+/** Counters of the order snapshot cache kept in front of the orders table. */
+public interface OrderCachePort {
+    OrderCacheStats stats();
+}
@@ -0,0 +1,23 @@
+package com.arka.store_orders.domain.ports.out.persistence;
+
+import com.arka.store_orders.domain.models.OrderEvent;
+import com.arka.store_orders.domain.models.OrderEventType;
+import com.arka.store_orders.domain.models.OrderStateSnapshot;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+public interface OrderEventPort {
+    /** Appends the events in the caller's transaction, letting the JDBC driver batch the inserts. */
+    void append(List<OrderEvent> events);
+    /** Events of the order with a revision above {@code afterRevision}, in replay order. */
+    List<OrderEvent> findEvents(UUID orderId, long afterRevision);
+    /** Events of the given types that occurred in [from, to), in occurrence order, read in keyset pages. */
+    void forEachEvent(Collection<OrderEventType> types, LocalDateTime from, LocalDateTime to, Consumer<OrderEvent> consumer);
+    void saveSnapshots(List<OrderStateSnapshot> snapshots);
+    Optional<OrderStateSnapshot> findSnapshot(UUID orderId);
+}
@@ -1,16 +1,61 @@
 package com.arka.store_orders.domain.ports.out.persistence;
 
 import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderCursor;
+import com.arka.store_orders.domain.models.OrderFilter;
+import com.arka.store_orders.domain.models.OrderPage;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.ProductSales;
 
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 public interface OrderPersistencePort {
     Order save(Order order);
+    /** Inserts new orders in one transaction, letting the JDBC driver batch the statements. */
+    List<Order> saveAll(List<Order> orders);
     Optional<Order> findById(UUID id);
-    List<Order> findAll();
     Optional<Order> findByIdWithItems(UUID id);
+    /** Current version of the order, without loading it. Empty when the order does not exist. */
+    Optional<Long> findVersion(UUID id);
+    OrderPage findPage(OrderFilter filter, OrderCursor cursor, int size);
+    void forEachOrder(OrderFilter filter, Consumer<Order> consumer);
+    /** Streams the orders created at or after {@code since} with their items, newest first. */
+    void forEachOrderCreatedSince(LocalDateTime since, Consumer<Order> consumer);
+    /**
+     * Orders in {@code status} that already hold a transaction id, in (create_at, id) order, starting strictly
+     * after {@code after} when it is given.
+     */
+    List<Order> findWithTransaction(OrderStatus status, OrderCursor after, int limit);
+    /**
+     * Atomically moves the order from {@code expected} to {@code target} and bumps its version, but only
+     * if nobody changed it since {@code version} was read. Returns false for the losing writer.
+     */
+    boolean transitionStatus(UUID id, Long version, OrderStatus expected, OrderStatus target);
+    /**
+     * Locks up to {@code limit} of the oldest unpaid orders in one of {@code statuses} created before
+     * {@code createdBefore}: no transaction id and no live payment lease. Rows another transaction already
+     * holds are skipped. Must run inside the caller's transaction.
+     */
+    List<Order> lockUnpaidCreatedBefore(Collection<OrderStatus> statuses, LocalDateTime createdBefore, int limit);
+    /** Number of orders in one of {@code statuses} created before {@code createdBefore} that hold a transaction id. */
+    long countPaidCreatedBefore(Collection<OrderStatus> statuses, LocalDateTime createdBefore);
+    /** Moves the given orders to {@code target} in one statement, bumping their version and update time. */
+    int updateStatus(Collection<UUID> ids, OrderStatus target);
+    /** Number of orders per status, grouped in the database. Statuses without orders are absent. */
+    Map<OrderStatus, Long> countByStatus();
+    /** Sum of the totals, in minor units, of the orders in {@code status}. */
+    long sumTotal(OrderStatus status);
+    /**
+     * Units ordered per product over every order, ranked in the database by SUM(quantity) (highest first,
+     * or lowest first when {@code ascending}), ties by product id. Returns at most {@code limit} rows.
+     */
+    List<ProductSales> rankProductsByQuantity(boolean ascending, int limit);
 
 }
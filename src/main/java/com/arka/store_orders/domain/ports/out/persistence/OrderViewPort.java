@@ -0,0 +1,11 @@
+package com.arka.store_orders.domain.ports.out.persistence;
+
+import com.arka.store_orders.infrastructure.resources.Response.OrderResponse;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface OrderViewPort {
+    /** Reads the order straight into its response shape, for callers that only display it. */
+    Optional<OrderResponse> findOrderView(UUID id);
+}
@@ -0,0 +1,21 @@
+package com.arka.store_orders.domain.ports.out.persistence;
+
+import com.arka.store_orders.domain.models.PaymentAttempt;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Leases orders in WAITING_PAYMENT_CONFIRMATION without a transaction id to one payment worker at a time,
+ * across instances. Every claim counts as one attempt; a lease that runs out makes the order claimable again.
+ */
+public interface PaymentClaimPort {
+    /** Claims up to {@code limit} of the oldest unleased orders, skipping rows another instance is claiming. */
+    List<PaymentAttempt> claimDue(int limit, Duration lease);
+    /** Claims one order, empty when it is leased, already initiated or no longer waiting for payment. */
+    Optional<PaymentAttempt> claim(UUID orderId, Duration lease);
+    /** Stores the transaction id and ends the lease, only while the order still waits without one. */
+    boolean recordTransaction(UUID orderId, String transactionId);
+}
@@ -0,0 +1,17 @@
+package com.arka.store_orders.domain.ports.out.persistence;
+
+import com.arka.store_orders.domain.models.ShippingDispatch;
+import com.arka.store_orders.infrastructure.resources.Request.ShippingRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface ShippingOutboxPort {
+    void enqueue(ShippingRequest request);
+    List<ShippingDispatch> claimDue(int batchSize, Duration lease);
+    void markSent(Long id);
+    void markFailed(Long id, int attempts, LocalDateTime nextAttemptAt, String error);
+    /** Parks the entry after its last allowed attempt; it is no longer claimed. */
+    void markDead(Long id, int attempts, String error);
+}
@@ -0,0 +1,22 @@
+package com.arka.store_orders.domain.ports.out.persistence;
+
+import com.arka.store_orders.domain.models.StockMovement;
+import com.arka.store_orders.domain.models.StockOperation;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stock changes at PRODUCTS-SERVICE that must follow a committed order transition. They are written in the
+ * caller's transaction and sent afterwards, so a rolled back transition never moves stock.
+ */
+public interface StockOutboxPort {
+    void enqueue(UUID orderId, StockOperation operation, Map<Long, Integer> quantities);
+    List<StockMovement> claimDue(int batchSize, Duration lease);
+    void markSent(Long id);
+    void markFailed(Long id, int attempts, LocalDateTime nextAttemptAt, String error);
+    void markDead(Long id, int attempts, String error);
+}
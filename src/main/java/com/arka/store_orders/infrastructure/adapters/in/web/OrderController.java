@@ -1,24 +1,52 @@
 package com.arka.store_orders.infrastructure.adapters.in.web;
 
+import com.arka.store_orders.application.idempotency.IdempotencyGuard;
 import com.arka.store_orders.domain.models.ComprehensiveOrderMetrics;
+import com.arka.store_orders.domain.models.OrderCreationResult;
+import com.arka.store_orders.domain.models.OrderCursor;
+import com.arka.store_orders.domain.models.OrderEvent;
+import com.arka.store_orders.domain.models.OrderFilter;
+import com.arka.store_orders.domain.models.OrderPage;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.ProductSales;
+import com.arka.store_orders.domain.models.ProductSalesRanking;
+import com.arka.store_orders.domain.models.SalesPoint;
+import com.arka.store_orders.domain.models.TimeGranularity;
+import com.arka.store_orders.domain.models.TimeInState;
+import com.arka.store_orders.domain.ports.in.OrderMetricsUseCases;
+import com.arka.store_orders.domain.ports.in.OrderQueryUseCases;
 import com.arka.store_orders.domain.ports.in.OrderUseCases;
 import com.arka.store_orders.infrastructure.mapper.OrderItemMapper;
 import com.arka.store_orders.infrastructure.mapper.OrderMapper;
 import com.arka.store_orders.infrastructure.resources.Request.ItemQuantityUpdate;
 import com.arka.store_orders.infrastructure.resources.Request.OrderItemRequest;
 import com.arka.store_orders.infrastructure.resources.Request.OrderRequest;
+import com.arka.store_orders.infrastructure.resources.Response.BatchOrderResponse;
+import com.arka.store_orders.infrastructure.resources.Response.BatchOrderResult;
+import com.arka.store_orders.infrastructure.resources.Response.OrderCacheStats;
+import com.arka.store_orders.infrastructure.resources.Response.OrderPageResponse;
 import com.arka.store_orders.infrastructure.resources.Response.OrderResponse;
+import com.arka.store_orders.infrastructure.resources.Response.StockCacheStats;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -28,8 +56,15 @@ import java.util.UUID;
 @Tag(name = "Orders", description = "Full order lifecycle management: creation, modification, acceptance, cancellation, and retrieval.")
 public class OrderController {
     private final OrderUseCases useCases;
+    private final OrderQueryUseCases queries;
+    private final OrderMetricsUseCases metrics;
     private final OrderMapper mapper;
     private final OrderItemMapper itemMapper;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyGuard idempotency;
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 
     @PostMapping
     @Operation(
@@ -42,24 +77,53 @@ public class OrderController {
                     content = @Content(schema = @Schema(implementation = OrderResponse.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input (e.g., empty items, invalid quantity)"),
             @ApiResponse(responseCode = "404", description = "Product not found"),
-            @ApiResponse(responseCode = "409", description = "Stock reservation failed")
+            @ApiResponse(responseCode = "409", description = "Stock reservation failed, or a request with the same Idempotency-Key is in progress"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request")
     })
-    public ResponseEntity<OrderResponse> createOrder(@RequestBody OrderRequest request){
-        OrderResponse orderResponse=mapper.domainToResponse(useCases.createOrder(request));
+    public ResponseEntity<OrderResponse> createOrder(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody OrderRequest request){
+        OrderResponse orderResponse=idempotency.execute(idempotencyKey, "POST /orders", request, OrderResponse.class,
+                () -> mapper.domainToResponse(useCases.createOrder(request)));
         return ResponseEntity.ok(orderResponse);
     }
 
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Create many orders at once",
+            description = "Creates up to 500 orders with one merged stock reservation and one batched insert. Each order succeeds or fails on its own; failed orders keep no reserved stock.")
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Per-order results, in request order",
+                    content = @Content(schema = @Schema(implementation = BatchOrderResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Too many orders in one batch"),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is in progress"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request")
+    })
+    public ResponseEntity<BatchOrderResponse> createOrders(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @RequestBody List<OrderRequest> requests){
+        BatchOrderResponse response=idempotency.execute(idempotencyKey, "POST /orders/batch", requests, BatchOrderResponse.class,
+                () -> toBatchResponse(useCases.createOrders(requests)));
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/process/{orderId}")
     @Operation(
             summary = "Process an order",
-            description = "Triggers order processing: reserves stock, validates payment, updates status.")
+            description = "Moves a PENDING order to WAITING_PAYMENT_CONFIRMATION and initiates the payment in the background. The order moves to WAITINGCONFIRMATION once the payment is confirmed.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order processed successfully"),
             @ApiResponse(responseCode = "404", description = "Order not found"),
-            @ApiResponse(responseCode = "409", description = "Insufficient stock or invalid state transition")
+            @ApiResponse(responseCode = "409", description = "Insufficient stock or invalid state transition"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request")
     })
-    public ResponseEntity<OrderResponse> processOrder(@PathVariable("orderId")UUID orderId){
-        OrderResponse orderResponse=mapper.domainToResponse(useCases.processOrder(orderId));
+    public ResponseEntity<OrderResponse> processOrder(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @PathVariable("orderId")UUID orderId){
+        OrderResponse orderResponse=idempotency.execute(idempotencyKey, "POST /orders/process/" + orderId, null, OrderResponse.class,
+                () -> mapper.domainToResponse(useCases.processOrder(orderId)));
         return ResponseEntity.ok(orderResponse);
     }
     @PutMapping("/update/{orderId}/{itemId}")
@@ -115,12 +179,15 @@ public class OrderController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order accepted"),
             @ApiResponse(responseCode = "404", description = "Order or user not found"),
-            @ApiResponse(responseCode = "409", description = "Invalid state transition (must be WAITING_CONFIRMATION)")
+            @ApiResponse(responseCode = "409", description = "Invalid state transition (must be WAITING_CONFIRMATION)"),
+            @ApiResponse(responseCode = "422", description = "Idempotency-Key already used for a different request")
     })
     public ResponseEntity<OrderResponse> acceptOrder(
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @PathVariable("orderId")UUID orderId,
             @PathVariable("userId")String userId){
-        OrderResponse orderResponse=mapper.domainToResponse(useCases.acceptOrder(orderId,userId));
+        OrderResponse orderResponse=idempotency.execute(idempotencyKey, "POST /orders/accept/" + orderId + "/" + userId, null,
+                OrderResponse.class, () -> mapper.domainToResponse(useCases.acceptOrder(orderId,userId)));
         return ResponseEntity.ok(orderResponse);
     }
     @PutMapping("/cancel/{orderId}")
@@ -140,20 +207,51 @@ public class OrderController {
 
     @GetMapping
     @Operation(
-            summary = "Get all orders",
-            description = "Retrieves a list of all orders with current status and details."
+            summary = "Get orders",
+            description = "Retrieves a page of orders, newest first, optionally filtered by status and user. Pass the returned cursor to fetch the next page."
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
-                    description = "List of orders",
-                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = OrderResponse.class)))
-            )
+                    description = "Page of orders",
+                    content = @Content(schema = @Schema(implementation = OrderPageResponse.class))
+            ),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor")
     })
-    public ResponseEntity<List<OrderResponse>> getAllOrder(){
-        List<OrderResponse> orders=useCases.getOrders().stream()
+    public ResponseEntity<OrderPageResponse> getAllOrder(
+            @RequestParam(value = "status", required = false) OrderStatus status,
+            @RequestParam(value = "userId", required = false) String userId,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = "50") int size){
+        OrderCursor pageCursor = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+        OrderPage page=queries.getOrders(new OrderFilter(status, userId), pageCursor, size);
+        List<OrderResponse> orders=page.orders().stream()
                 .map(mapper::domainToResponse).toList();
-        return ResponseEntity.ok(orders);
+        String nextCursor = page.nextCursor() == null ? null : page.nextCursor().encode();
+        return ResponseEntity.ok(new OrderPageResponse(orders, nextCursor));
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    @Operation(
+            summary = "Export orders",
+            description = "Streams every order matching the filters as newline-delimited JSON, newest first.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders streamed as NDJSON")
+    })
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam(value = "status", required = false) OrderStatus status,
+            @RequestParam(value = "userId", required = false) String userId){
+        ObjectWriter writer = objectMapper.writerFor(OrderResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        StreamingResponseBody body = out -> queries.exportOrders(new OrderFilter(status, userId), order -> {
+            try {
+                writer.writeValue(out, mapper.domainToResponse(order));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
     }
 
     @GetMapping("/{orderId}")
@@ -165,14 +263,131 @@ public class OrderController {
             @ApiResponse(responseCode = "404", description = "Order not found")
     })
     public ResponseEntity<OrderResponse>getById(@PathVariable("orderId")UUID orderId){
-        return useCases.getOrderById(orderId).map(mapper::domainToResponse)
+        return queries.getOrderView(orderId)
                 .map(ResponseEntity::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
+    @GetMapping("/{orderId}/events")
+    @Operation(
+            summary = "Get order history",
+            description = "Lists the lifecycle events logged for the order, oldest first.")
+    public ResponseEntity<List<OrderEvent>>getEvents(@PathVariable("orderId")UUID orderId){
+        return ResponseEntity.ok(queries.getOrderEvents(orderId));
+    }
+    @GetMapping("/{orderId}/replay")
+    @Operation(
+            summary = "Replay order from its history",
+            description = "Rebuilds the order from its latest snapshot and the events logged after it.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order rebuilt from the event log"),
+            @ApiResponse(responseCode = "404", description = "No history for the order")
+    })
+    public ResponseEntity<OrderResponse>replay(@PathVariable("orderId")UUID orderId){
+        return queries.replayOrder(orderId)
+                .map(order -> ResponseEntity.ok(mapper.domainToResponse(order)))
+                .orElse(ResponseEntity.notFound().build());
+    }
     @GetMapping("/metrics")
+    @Operation(
+            summary = "Order metrics from this instance",
+            description = "Served from in-memory counters of the instance that answers. Status counts and sales are resynced from the database every few minutes; use /orders/metrics/database for exact cluster-wide figures.")
     public ResponseEntity<ComprehensiveOrderMetrics>getMetrics(){
-        ComprehensiveOrderMetrics comprehensiveOrderMetrics=useCases.getComprehensiveMetrics();
+        ComprehensiveOrderMetrics comprehensiveOrderMetrics=metrics.getComprehensiveMetrics();
         return ResponseEntity.ok(comprehensiveOrderMetrics);
     }
+    @GetMapping("/metrics/database")
+    @Operation(
+            summary = "Order metrics from the database",
+            description = "Same figures as /orders/metrics, computed with aggregate queries on the stored orders instead of the in-memory counters.")
+    public ResponseEntity<ComprehensiveOrderMetrics>getDatabaseMetrics(){
+        return ResponseEntity.ok(metrics.getDatabaseMetrics());
+    }
+    @GetMapping("/metrics/stock-cache")
+    public ResponseEntity<StockCacheStats>getStockCacheStats(){
+        return ResponseEntity.ok(metrics.getStockCacheStats());
+    }
+    @GetMapping("/metrics/order-cache")
+    public ResponseEntity<OrderCacheStats>getOrderCacheStats(){
+        return ResponseEntity.ok(metrics.getOrderCacheStats());
+    }
+    @GetMapping("/metrics/time-in-state")
+    @Operation(
+            summary = "Time in state",
+            description = "Completed and open stays per status, from the status events logged in [from, to). "
+                    + "Defaults to the last 24 hours and covers at most 31 days; a stay that began before 'from' is not counted.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One entry per status"),
+            @ApiResponse(responseCode = "400", description = "Invalid range, or a range longer than 31 days")
+    })
+    public ResponseEntity<List<TimeInState>>getTimeInState(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to){
+        return ResponseEntity.ok(queries.getTimeInState(from, to));
+    }
+    @GetMapping("/metrics/timeseries")
+    @Operation(
+            summary = "Sales time series",
+            description = "Orders by status, accepted sales and units per hour, day or week for orders created in [from, to). "
+                    + "Defaults to the last 24 hours by hour; userId or productId narrows the series. "
+                    + "Built from the database when the answering instance starts and updated with its own changes; "
+                    + "the last 2 days (orders.timeseries.resync-window) are re-read from the database every 5 minutes, "
+                    + "so changes made through other instances show up there after at most one resync.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "One point per bucket, empty buckets included"),
+            @ApiResponse(responseCode = "400", description = "Invalid range or filters, or a range older than the retention of the granularity or filter")
+    })
+    public ResponseEntity<List<SalesPoint>>getSalesTimeSeries(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "granularity", defaultValue = "HOUR") TimeGranularity granularity,
+            @RequestParam(value = "userId", required = false) String userId,
+            @RequestParam(value = "productId", required = false) Long productId){
+        return ResponseEntity.ok(metrics.getSalesTimeSeries(from, to, granularity, userId, productId));
+    }
+    @GetMapping("/metrics/top-products")
+    @Operation(
+            summary = "Top selling products",
+            description = "The n products with the most accepted units among orders created in [from, to). Defaults to the last 24 hours.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products ordered by units sold"),
+            @ApiResponse(responseCode = "400", description = "Invalid range or n")
+    })
+    public ResponseEntity<List<ProductSales>>getTopProducts(
+            @RequestParam(value = "n", defaultValue = "10") int n,
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to){
+        return ResponseEntity.ok(metrics.getTopProducts(n, from, to));
+    }
+    @GetMapping("/metrics/bestsellers")
+    @Operation(
+            summary = "All-time bestsellers",
+            description = "The k products with the most (or, with bottom=true, the fewest) units ordered. "
+                    + "approximate=true reads the bounded-memory heavy-hitters sketch and reports its error bound. "
+                    + "When the sketch is enabled it replaces the exact counts, so only approximate=true is served.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products ordered by rank"),
+            @ApiResponse(responseCode = "400", description = "Invalid k, or the requested ranking is not available")
+    })
+    public ResponseEntity<ProductSalesRanking>getBestsellers(
+            @RequestParam(value = "k", defaultValue = "10") int k,
+            @RequestParam(value = "bottom", defaultValue = "false") boolean bottom,
+            @RequestParam(value = "approximate", defaultValue = "false") boolean approximate){
+        return ResponseEntity.ok(metrics.getBestsellers(k, bottom, approximate));
+    }
+
+    private BatchOrderResponse toBatchResponse(List<OrderCreationResult> outcomes){
+        List<BatchOrderResult> results=new ArrayList<>(outcomes.size());
+        int created=0;
+        for (int i = 0; i < outcomes.size(); i++) {
+            OrderCreationResult outcome=outcomes.get(i);
+            if (outcome.isCreated()) {
+                created++;
+                results.add(new BatchOrderResult(i, true, mapper.domainToResponse(outcome.order()), null));
+            } else {
+                results.add(new BatchOrderResult(i, false, null, outcome.error()));
+            }
+        }
+        return new BatchOrderResponse(created, outcomes.size()-created, results);
+    }
 
 }
@@ -2,6 +2,9 @@ package com.arka.store_orders.infrastructure.adapters.in.web;
 
 import com.arka.store_orders.domain.models.OrderItem;
 import com.arka.store_orders.domain.ports.in.OrderItemUseCases;
+import com.arka.store_orders.infrastructure.mapper.OrderItemMapper;
+import com.arka.store_orders.infrastructure.resources.Request.ItemQuantityUpdate;
+import com.arka.store_orders.infrastructure.resources.Response.OrderItemResponse;
 import lombok.AllArgsConstructor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -14,16 +17,18 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class OrderItemController {
     private final OrderItemUseCases useCases;
+    private final OrderItemMapper itemMapper;
     @DeleteMapping("/delete/{itemId}")
-    public ResponseEntity<OrderItem> deleteItem(@PathVariable("itemId")Long itemId){
+    public ResponseEntity<OrderItemResponse> deleteItem(@PathVariable("itemId")Long itemId){
         useCases.delete(itemId);
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
     @PutMapping("/update/{itemId}")
-    public ResponseEntity<OrderItem> updateItem(
+    public ResponseEntity<OrderItemResponse> updateItem(
             @PathVariable("itemId")Long itemId,
-            @RequestBody OrderItem item){
+            @RequestBody ItemQuantityUpdate update){
+        OrderItem item=OrderItem.builder().quantity(update.quantity()).build();
         OrderItem updateItem=useCases.updateOrderItem(itemId,item);
-        return ResponseEntity.ok(updateItem);
+        return ResponseEntity.ok(itemMapper.itemToResponse(updateItem));
     }
 }
@@ -0,0 +1,240 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderCursor;
+import com.arka.store_orders.domain.models.OrderFilter;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.OrderPage;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.ProductSales;
+import com.arka.store_orders.domain.ports.out.persistence.OrderCachePort;
+import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import com.arka.store_orders.infrastructure.resources.Response.OrderCacheStats;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Read-through cache of immutable order snapshots in front of {@link OrderPersistenceAdapter#findByIdWithItems}.
+ * A hit costs a primary-key lookup of the order's version instead of the item join and mapping; a snapshot
+ * whose version no longer matches the row (written by another instance, or by a rolled back transaction)
+ * is reloaded. Saves write the new snapshot through once their transaction commits. Every read hands out
+ * a fresh {@link Order}, so callers can mutate it without touching the cache.
+ */
+@Primary
+@Component
+public class CachedOrderPersistenceAdapter implements OrderPersistencePort, OrderCachePort {
+    private final OrderPersistenceAdapter delegate;
+    private final Cache<UUID, OrderSnapshot> snapshots;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+
+    public CachedOrderPersistenceAdapter(OrderPersistenceAdapter delegate,
+                                         @Value("${orders.order-cache.ttl:30s}") Duration ttl,
+                                         @Value("${orders.order-cache.maximum-size:10000}") long maximumSize) {
+        this.delegate = delegate;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public Order save(Order order) {
+        Order saved = delegate.save(order);
+        writeThrough(saved);
+        return saved;
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<Order> saved = delegate.saveAll(orders);
+        saved.forEach(this::writeThrough);
+        return saved;
+    }
+
+    @Override
+    public Optional<Order> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public Optional<Order> findByIdWithItems(UUID id) {
+        OrderSnapshot cached = snapshots.getIfPresent(id);
+        if (cached != null) {
+            Optional<Long> version = delegate.findVersion(id);
+            if (version.isPresent() && Objects.equals(version.get(), cached.version())) {
+                hits.increment();
+                return Optional.of(cached.toOrder());
+            }
+            stale.increment();
+            snapshots.asMap().remove(id, cached);
+            if (version.isEmpty()) {
+                return Optional.empty();
+            }
+        } else {
+            misses.increment();
+        }
+        Optional<Order> loaded = delegate.findByIdWithItems(id);
+        loaded.ifPresent(order -> snapshots.put(id, OrderSnapshot.of(order)));
+        return loaded;
+    }
+
+    @Override
+    public Optional<Long> findVersion(UUID id) {
+        return delegate.findVersion(id);
+    }
+
+    @Override
+    public OrderPage findPage(OrderFilter filter, OrderCursor cursor, int size) {
+        return delegate.findPage(filter, cursor, size);
+    }
+
+    @Override
+    public void forEachOrder(OrderFilter filter, Consumer<Order> consumer) {
+        delegate.forEachOrder(filter, consumer);
+    }
+
+    @Override
+    public void forEachOrderCreatedSince(LocalDateTime since, Consumer<Order> consumer) {
+        delegate.forEachOrderCreatedSince(since, consumer);
+    }
+
+    @Override
+    public List<Order> findWithTransaction(OrderStatus status, OrderCursor after, int limit) {
+        return delegate.findWithTransaction(status, after, limit);
+    }
+
+    @Override
+    public boolean transitionStatus(UUID id, Long version, OrderStatus expected, OrderStatus target) {
+        boolean transitioned = delegate.transitionStatus(id, version, expected, target);
+        if (transitioned) {
+            snapshots.invalidate(id);
+        }
+        return transitioned;
+    }
+
+    @Override
+    public List<Order> lockUnpaidCreatedBefore(Collection<OrderStatus> statuses, LocalDateTime createdBefore, int limit) {
+        return delegate.lockUnpaidCreatedBefore(statuses, createdBefore, limit);
+    }
+
+    @Override
+    public long countPaidCreatedBefore(Collection<OrderStatus> statuses, LocalDateTime createdBefore) {
+        return delegate.countPaidCreatedBefore(statuses, createdBefore);
+    }
+
+    @Override
+    public int updateStatus(Collection<UUID> ids, OrderStatus target) {
+        int updated = delegate.updateStatus(ids, target);
+        snapshots.invalidateAll(ids);
+        return updated;
+    }
+
+    @Override
+    public Map<OrderStatus, Long> countByStatus() {
+        return delegate.countByStatus();
+    }
+
+    @Override
+    public long sumTotal(OrderStatus status) {
+        return delegate.sumTotal(status);
+    }
+
+    @Override
+    public List<ProductSales> rankProductsByQuantity(boolean ascending, int limit) {
+        return delegate.rankProductsByQuantity(ascending, limit);
+    }
+
+    @Override
+    public OrderCacheStats stats() {
+        return new OrderCacheStats(
+                hits.sum(),
+                misses.sum(),
+                stale.sum(),
+                snapshots.stats().evictionCount(),
+                snapshots.estimatedSize()
+        );
+    }
+
+    private void writeThrough(Order saved) {
+        UUID id = saved.getId();
+        OrderSnapshot snapshot = OrderSnapshot.of(saved);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            snapshots.invalidate(id);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    snapshots.put(id, snapshot);
+                }
+            });
+        } else {
+            snapshots.put(id, snapshot);
+        }
+    }
+
+    private record OrderSnapshot(UUID id, LocalDateTime createAt, List<ItemSnapshot> items, OrderStatus status,
+                                 long total, LocalDateTime updateAt, String transactionId, String userId,
+                                 Long version) {
+
+        static OrderSnapshot of(Order order) {
+            List<ItemSnapshot> items = new ArrayList<>(order.getItems() == null ? 0 : order.getItems().size());
+            if (order.getItems() != null) {
+                for (OrderItem item : order.getItems()) {
+                    items.add(ItemSnapshot.of(item));
+                }
+            }
+            return new OrderSnapshot(order.getId(), order.getCreateAt(), List.copyOf(items), order.getStatus(),
+                    order.getTotal(), order.getUpdateAt(), order.getTransactionId(), order.getUserId(),
+                    order.getVersion());
+        }
+
+        Order toOrder() {
+            Order order = new Order();
+            order.setId(id);
+            order.setCreateAt(createAt);
+            List<OrderItem> orderItems = new ArrayList<>(items.size());
+            for (ItemSnapshot item : items) {
+                orderItems.add(item.toItem());
+            }
+            order.setItems(orderItems);
+            order.setStatus(status);
+            order.setTotal(total);
+            order.setUpdateAt(updateAt);
+            order.setTransactionId(transactionId);
+            order.setUserId(userId);
+            order.setVersion(version);
+            return order;
+        }
+    }
+
+    private record ItemSnapshot(Long id, Long productId, Integer quantity, long price, long amount, UUID orderId) {
+
+        static ItemSnapshot of(OrderItem item) {
+            return new ItemSnapshot(item.getId(), item.getProductId(), item.getQuantity(), item.getPrice(),
+                    item.getAmount(), item.getOrderId());
+        }
+
+        OrderItem toItem() {
+            return new OrderItem(id, productId, quantity, price, amount, orderId);
+        }
+    }
+}
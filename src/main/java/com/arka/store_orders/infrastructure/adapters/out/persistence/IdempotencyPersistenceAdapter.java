@@ -0,0 +1,62 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence;
+
+import com.arka.store_orders.domain.models.IdempotencyRecord;
+import com.arka.store_orders.domain.ports.out.persistence.IdempotencyPort;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.IdempotencyKeyJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class IdempotencyPersistenceAdapter implements IdempotencyPort {
+    private final IdempotencyKeyJpaRepository repository;
+
+    @Override
+    public Optional<IdempotencyRecord> find(String key, LocalDateTime now) {
+        return repository.findById(key)
+                .filter(entity -> entity.getExpiresAt().isAfter(now))
+                .map(entity -> new IdempotencyRecord(entity.getIdempotencyKey(), entity.getFingerprint(),
+                        entity.getResponse(), entity.getExpiresAt()));
+    }
+
+    @Override
+    @Transactional
+    public boolean tryStart(String key, String fingerprint, LocalDateTime now, LocalDateTime expiresAt) {
+        return repository.insertIfAbsent(key, fingerprint, now, expiresAt) == 1
+                || repository.takeOverExpired(key, fingerprint, now, expiresAt) == 1;
+    }
+
+    @Override
+    @Transactional
+    public boolean complete(IdempotencyRecord record, LocalDateTime now) {
+        return repository.complete(record.key(), record.response()) == 1
+                || repository.insertCompleted(record.key(), record.fingerprint(), record.response(), now,
+                record.expiresAt()) == 1;
+    }
+
+    @Override
+    @Transactional
+    public int touch(Collection<String> keys, LocalDateTime now) {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        return repository.touch(keys, now);
+    }
+
+    @Override
+    @Transactional
+    public void release(String key) {
+        repository.release(key);
+    }
+
+    @Override
+    @Transactional
+    public int purgeExpired(LocalDateTime now, LocalDateTime staleInProgressBefore) {
+        return repository.purgeExpired(now, staleInProgressBefore);
+    }
+}
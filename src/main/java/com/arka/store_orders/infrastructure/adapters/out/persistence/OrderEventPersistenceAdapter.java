@@ -0,0 +1,103 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderEvent;
+import com.arka.store_orders.domain.models.OrderEventType;
+import com.arka.store_orders.domain.models.OrderStateSnapshot;
+import com.arka.store_orders.domain.ports.out.persistence.OrderEventPort;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderEventEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderSnapshotEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.OrderEventJpaRepository;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.OrderSnapshotJpaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+public class OrderEventPersistenceAdapter implements OrderEventPort {
+    private static final int EVENT_PAGE_SIZE = 1000;
+
+    private final OrderEventJpaRepository events;
+    private final OrderSnapshotJpaRepository snapshots;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional
+    public void append(List<OrderEvent> batch) {
+        for (OrderEvent event : batch) {
+            entityManager.persist(new OrderEventEntity(null, event.orderId(), event.revision(), event.type(),
+                    event.status(), event.occurredAt(), event.itemId(), event.productId(), event.quantity(),
+                    event.price(), event.userId()));
+        }
+    }
+
+    @Override
+    public List<OrderEvent> findEvents(UUID orderId, long afterRevision) {
+        return events.findEvents(orderId, afterRevision);
+    }
+
+    @Override
+    public void forEachEvent(Collection<OrderEventType> types, LocalDateTime from, LocalDateTime to,
+                             Consumer<OrderEvent> consumer) {
+        LocalDateTime afterOccurredAt = from;
+        long afterId = Long.MIN_VALUE;
+        List<OrderEventEntity> page;
+        do {
+            page = events.findPageByTypes(types, afterOccurredAt, afterId, to, Limit.of(EVENT_PAGE_SIZE));
+            for (OrderEventEntity entity : page) {
+                consumer.accept(new OrderEvent(entity.getOrderId(), entity.getRevision(), entity.getType(),
+                        entity.getStatus(), entity.getOccurredAt(), entity.getItemId(), entity.getProductId(),
+                        entity.getQuantity(), entity.getPrice(), entity.getUserId()));
+            }
+            if (!page.isEmpty()) {
+                OrderEventEntity last = page.get(page.size() - 1);
+                afterOccurredAt = last.getOccurredAt();
+                afterId = last.getId();
+            }
+        } while (page.size() == EVENT_PAGE_SIZE);
+    }
+
+    @Override
+    @Transactional
+    public void saveSnapshots(List<OrderStateSnapshot> batch) {
+        for (OrderStateSnapshot snapshot : batch) {
+            entityManager.merge(new OrderSnapshotEntity(snapshot.order().getId(), snapshot.revision(),
+                    snapshot.takenAt(), write(snapshot.order())));
+        }
+    }
+
+    @Override
+    public Optional<OrderStateSnapshot> findSnapshot(UUID orderId) {
+        return snapshots.findById(orderId)
+                .map(entity -> new OrderStateSnapshot(read(entity.getState()), entity.getRevision(), entity.getTakenAt()));
+    }
+
+    private String write(Order order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize snapshot of order " + order.getId(), e);
+        }
+    }
+
+    private Order read(String state) {
+        try {
+            return objectMapper.readValue(state, Order.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read order snapshot", e);
+        }
+    }
+}
@@ -2,10 +2,13 @@ package com.arka.store_orders.infrastructure.adapters.out.persistence;
 
 import com.arka.store_orders.domain.models.OrderItem;
 import com.arka.store_orders.domain.ports.out.persistence.OrderItemPersistencePort;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderItemEntity;
 import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.OrderItemJpaRepository;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.OrderJpaRepository;
 import com.arka.store_orders.infrastructure.mapper.OrderItemMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,10 +19,18 @@ import java.util.UUID;
 public class OrderItemPersistenceAdapter implements OrderItemPersistencePort {
     private final OrderItemMapper mapper;
     private final OrderItemJpaRepository repository;
+    private final OrderJpaRepository orderRepository;
 
+    /**
+     * Item writes that bypass the order also bump the order's version, so cached order snapshots on every
+     * instance see the change on their next version check.
+     */
     @Override
+    @Transactional
     public OrderItem save(OrderItem orderItem) {
-        return  mapper.itemEntityToDomain(repository.save(mapper.itemToEntity(orderItem)));
+        OrderItemEntity saved = repository.save(mapper.itemToEntity(orderItem));
+        orderRepository.incrementVersion(saved.getOrderId());
+        return mapper.itemEntityToDomain(saved);
     }
 
     @Override
@@ -38,7 +49,11 @@ public class OrderItemPersistenceAdapter implements OrderItemPersistencePort {
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
-        repository.deleteById(id);
+        repository.findById(id).ifPresent(item -> {
+            repository.delete(item);
+            orderRepository.incrementVersion(item.getOrderId());
+        });
     }
 }
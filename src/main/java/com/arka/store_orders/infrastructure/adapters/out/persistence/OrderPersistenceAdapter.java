@@ -1,38 +1,294 @@
 package com.arka.store_orders.infrastructure.adapters.out.persistence;
 
 import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.OrderCursor;
+import com.arka.store_orders.domain.models.OrderFilter;
+import com.arka.store_orders.domain.models.OrderPage;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.ProductSales;
 import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderItemEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.projections.StatusCount;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.OrderItemJpaRepository;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.OrderConflictException;
 import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.OrderJpaRepository;
+import com.arka.store_orders.infrastructure.mapper.OrderItemMapper;
 import com.arka.store_orders.infrastructure.mapper.OrderMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Component
 @RequiredArgsConstructor
 public class OrderPersistenceAdapter implements OrderPersistencePort {
     private final OrderMapper mapper;
+    private final OrderItemMapper itemMapper;
     private final OrderJpaRepository repository;
+    private final OrderItemJpaRepository itemRepository;
+    private final EntityManager entityManager;
+
+    private static final int STREAM_CHUNK_SIZE = 500;
+
+    /**
+     * Applies the order onto the managed entity instead of merging a rebuilt graph, so Hibernate's dirty
+     * checking only writes the columns and item rows that actually changed. When the caller's transaction
+     * already loaded the order this costs no extra SELECT. A domain order read at an older version than the
+     * stored one is rejected, and Hibernate's versioned UPDATE catches writers that race past this check.
+     * The flush makes the returned order carry the version the row ends up with.
+     */
     @Override
+    @Transactional
     public Order save(Order order) {
-        return mapper.orderEntityToDomain(repository.save(mapper.orderDomainToEntity(order)));
+        OrderEntity entity = entityManager.find(OrderEntity.class, order.getId());
+        if (entity == null) {
+            entity = mapper.orderDomainToEntity(order);
+            entityManager.persist(entity);
+        } else {
+            if (order.getVersion() != null && !Objects.equals(order.getVersion(), entity.getVersion())) {
+                throw new OrderConflictException("Order " + order.getId() + " was modified concurrently. Expected version "
+                        + order.getVersion() + " but found " + entity.getVersion());
+            }
+            mapper.updateEntity(order, entity);
+            entity.setUpdateAt(LocalDateTime.now());
+            syncItems(order.getItems(), entity.getItems());
+        }
+        entityManager.flush();
+        return mapper.orderEntityToDomain(entity);
     }
 
     @Override
-    public Optional<Order> findById(UUID id) {
-        return repository.findById(id).map(mapper::orderEntityToDomain);
+    @Transactional
+    public List<Order> saveAll(List<Order> orders) {
+        List<OrderEntity> entities = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            OrderEntity entity = mapper.orderDomainToEntity(order);
+            entityManager.persist(entity);
+            entities.add(entity);
+        }
+        entityManager.flush();
+        List<Order> saved = new ArrayList<>(entities.size());
+        for (OrderEntity entity : entities) {
+            saved.add(mapper.orderEntityToDomain(entity));
+        }
+        return saved;
     }
 
     @Override
-    public List<Order> findAll() {
-        return repository.findAll().stream().map(mapper::orderEntityToDomain).toList();
+    public Optional<Order> findById(UUID id) {
+        return repository.findById(id).map(mapper::orderEntityToDomain);
     }
 
     @Override
     public Optional<Order> findByIdWithItems(UUID id) {
         return repository.findByIdWithItems(id).map(mapper::orderEntityToDomain);
     }
+
+    @Override
+    public Optional<Long> findVersion(UUID id) {
+        return repository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPage findPage(OrderFilter filter, OrderCursor cursor, int size) {
+        Limit limit = Limit.of(size + 1);
+        List<OrderEntity> entities = cursor == null ? findFirstPage(filter, limit) : findPageAfter(filter, cursor, limit);
+        boolean hasNext = entities.size() > size;
+        List<Order> orders = mapWithItems(hasNext ? entities.subList(0, size) : entities);
+        OrderCursor nextCursor = hasNext ? OrderCursor.of(orders.get(orders.size() - 1)) : null;
+        return new OrderPage(orders, nextCursor);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachOrder(OrderFilter filter, Consumer<Order> consumer) {
+        forEachChunk(stream(filter), consumer);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachOrderCreatedSince(LocalDateTime since, Consumer<Order> consumer) {
+        forEachChunk(repository.streamCreatedSince(since), consumer);
+    }
+
+    private void forEachChunk(Stream<OrderEntity> stream, Consumer<Order> consumer) {
+        List<OrderEntity> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        try (Stream<OrderEntity> orders = stream) {
+            orders.forEach(entity -> {
+                chunk.add(entity);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    flushChunk(chunk, consumer);
+                }
+            });
+        }
+        flushChunk(chunk, consumer);
+    }
+
+    private List<OrderEntity> findFirstPage(OrderFilter filter, Limit limit) {
+        if (filter.status() != null && filter.userId() != null) {
+            return repository.findFirstPageByStatusAndUser(filter.status(), filter.userId(), limit);
+        }
+        if (filter.status() != null) {
+            return repository.findFirstPageByStatus(filter.status(), limit);
+        }
+        if (filter.userId() != null) {
+            return repository.findFirstPageByUser(filter.userId(), limit);
+        }
+        return repository.findFirstPage(limit);
+    }
+
+    private List<OrderEntity> findPageAfter(OrderFilter filter, OrderCursor cursor, Limit limit) {
+        if (filter.status() != null && filter.userId() != null) {
+            return repository.findPageAfterByStatusAndUser(filter.status(), filter.userId(), cursor.createAt(),
+                    cursor.id(), limit);
+        }
+        if (filter.status() != null) {
+            return repository.findPageAfterByStatus(filter.status(), cursor.createAt(), cursor.id(), limit);
+        }
+        if (filter.userId() != null) {
+            return repository.findPageAfterByUser(filter.userId(), cursor.createAt(), cursor.id(), limit);
+        }
+        return repository.findPageAfter(cursor.createAt(), cursor.id(), limit);
+    }
+
+    private Stream<OrderEntity> stream(OrderFilter filter) {
+        if (filter.status() != null && filter.userId() != null) {
+            return repository.streamByStatusAndUser(filter.status(), filter.userId());
+        }
+        if (filter.status() != null) {
+            return repository.streamByStatus(filter.status());
+        }
+        if (filter.userId() != null) {
+            return repository.streamByUser(filter.userId());
+        }
+        return repository.streamAll();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findWithTransaction(OrderStatus status, OrderCursor after, int limit) {
+        List<OrderEntity> entities = after == null
+                ? repository.findWithTransaction(status, Limit.of(limit))
+                : repository.findWithTransactionAfter(status, after.createAt(), after.id(), Limit.of(limit));
+        return mapWithItems(entities);
+    }
+
+    @Override
+    @Transactional
+    public boolean transitionStatus(UUID id, Long version, OrderStatus expected, OrderStatus target) {
+        return repository.transitionStatus(id, version, expected, target, LocalDateTime.now()) == 1;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<Order> lockUnpaidCreatedBefore(Collection<OrderStatus> statuses, LocalDateTime createdBefore, int limit) {
+        List<String> statusNames = new ArrayList<>(statuses.size());
+        for (OrderStatus status : statuses) {
+            statusNames.add(status.name());
+        }
+        return mapWithItems(repository.findUnpaidCreatedBeforeForUpdate(statusNames, createdBefore, LocalDateTime.now(), limit));
+    }
+
+    @Override
+    public long countPaidCreatedBefore(Collection<OrderStatus> statuses, LocalDateTime createdBefore) {
+        return repository.countPaidCreatedBefore(statuses, createdBefore);
+    }
+
+    @Override
+    @Transactional
+    public int updateStatus(Collection<UUID> ids, OrderStatus target) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return repository.updateStatusIn(ids, target, LocalDateTime.now());
+    }
+
+    @Override
+    public Map<OrderStatus, Long> countByStatus() {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        for (StatusCount row : repository.countGroupedByStatus()) {
+            counts.put(row.status(), row.orders());
+        }
+        return counts;
+    }
+
+    @Override
+    public long sumTotal(OrderStatus status) {
+        return repository.sumTotalByStatus(status);
+    }
+
+    @Override
+    public List<ProductSales> rankProductsByQuantity(boolean ascending, int limit) {
+        return ascending
+                ? itemRepository.findLeastOrderedProducts(Limit.of(limit))
+                : itemRepository.findMostOrderedProducts(Limit.of(limit));
+    }
+
+    private void syncItems(List<OrderItem> items, List<OrderItemEntity> itemEntities) {
+        Map<Long, OrderItemEntity> existing = new HashMap<>(itemEntities.size() * 2);
+        for (OrderItemEntity itemEntity : itemEntities) {
+            existing.put(itemEntity.getId(), itemEntity);
+        }
+        List<OrderItemEntity> added = new ArrayList<>();
+        for (OrderItem item : items) {
+            OrderItemEntity itemEntity = item.getId() == null ? null : existing.remove(item.getId());
+            if (itemEntity == null) {
+                itemEntity = itemMapper.itemToEntity(item);
+                entityManager.persist(itemEntity);
+                added.add(itemEntity);
+            } else {
+                itemMapper.updateEntity(item, itemEntity);
+            }
+        }
+        if (!existing.isEmpty()) {
+            itemEntities.removeIf(itemEntity -> existing.containsKey(itemEntity.getId()));
+        }
+        itemEntities.addAll(added);
+    }
+
+    private void flushChunk(List<OrderEntity> chunk, Consumer<Order> consumer) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        mapWithItems(chunk).forEach(consumer);
+        chunk.clear();
+        entityManager.clear();
+    }
+
+    private List<Order> mapWithItems(List<OrderEntity> entities) {
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> orderIds = new ArrayList<>(entities.size());
+        for (OrderEntity entity : entities) {
+            orderIds.add(entity.getId());
+        }
+        Map<UUID, List<OrderItemEntity>> itemsByOrder = new HashMap<>(entities.size() * 2);
+        for (OrderItemEntity item : itemRepository.findAllByOrderIdIn(orderIds)) {
+            itemsByOrder.computeIfAbsent(item.getOrderId(), id -> new ArrayList<>()).add(item);
+        }
+        List<Order> orders = new ArrayList<>(entities.size());
+        for (OrderEntity entity : entities) {
+            orders.add(mapper.orderEntityToDomain(entity, itemsByOrder.getOrDefault(entity.getId(), List.of())));
+        }
+        return orders;
+    }
 }
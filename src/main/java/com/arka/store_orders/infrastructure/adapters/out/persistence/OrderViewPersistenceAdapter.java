@@ -0,0 +1,27 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence;
+
+import com.arka.store_orders.domain.ports.out.persistence.OrderViewPort;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.OrderJpaRepository;
+import com.arka.store_orders.infrastructure.mapper.OrderMapper;
+import com.arka.store_orders.infrastructure.resources.Response.OrderResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Single-statement read model for displaying an order. The LEFT JOIN projection returns plain rows, so no
+ * entities are hydrated or snapshotted for dirty checking and the rows map to the response in one pass.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderViewPersistenceAdapter implements OrderViewPort {
+    private final OrderJpaRepository repository;
+    private final OrderMapper mapper;
+
+    @Override
+    public Optional<OrderResponse> findOrderView(UUID id) {
+        return Optional.ofNullable(mapper.rowsToResponse(repository.findRowsById(id)));
+    }
+}
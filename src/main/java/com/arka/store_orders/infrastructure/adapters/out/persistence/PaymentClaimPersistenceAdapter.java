@@ -0,0 +1,63 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence;
+
+import com.arka.store_orders.domain.models.PaymentAttempt;
+import com.arka.store_orders.domain.ports.out.persistence.PaymentClaimPort;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.projections.PaymentClaimRow;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.PaymentClaimJpaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Claims run in their own short transaction: the lease is what keeps other instances away while the
+ * payment call is in flight, not a row lock. {@code recordTransaction} bumps the order version, which also
+ * invalidates cached snapshots of the order.
+ */
+@Component
+@RequiredArgsConstructor
+public class PaymentClaimPersistenceAdapter implements PaymentClaimPort {
+    private final PaymentClaimJpaRepository repository;
+
+    @Override
+    @Transactional
+    public List<PaymentAttempt> claimDue(int limit, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PaymentClaimRow> due = repository.findDueForUpdate(now, limit);
+        if (due.isEmpty()) {
+            return List.of();
+        }
+        List<UUID> ids = new ArrayList<>(due.size());
+        List<PaymentAttempt> claimed = new ArrayList<>(due.size());
+        for (PaymentClaimRow row : due) {
+            UUID orderId = UUID.fromString(row.getId());
+            ids.add(orderId);
+            claimed.add(new PaymentAttempt(orderId, row.getTotal(), row.getAttempts() + 1));
+        }
+        repository.lease(ids, now.plus(lease));
+        return claimed;
+    }
+
+    @Override
+    @Transactional
+    public Optional<PaymentAttempt> claim(UUID orderId, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        if (repository.leaseIfDue(orderId, now, now.plus(lease)) == 0) {
+            return Optional.empty();
+        }
+        return repository.findClaim(orderId)
+                .map(row -> new PaymentAttempt(orderId, row.getTotal(), row.getAttempts()));
+    }
+
+    @Override
+    @Transactional
+    public boolean recordTransaction(UUID orderId, String transactionId) {
+        return repository.recordTransaction(orderId, transactionId, LocalDateTime.now()) == 1;
+    }
+}
@@ -0,0 +1,90 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence;
+
+import com.arka.store_orders.domain.models.ShippingDispatch;
+import com.arka.store_orders.domain.ports.out.persistence.ShippingOutboxPort;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OutboxStatus;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.ShippingOutboxEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.ShippingOutboxJpaRepository;
+import com.arka.store_orders.infrastructure.resources.Request.ShippingRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class ShippingOutboxPersistenceAdapter implements ShippingOutboxPort {
+    private final ShippingOutboxJpaRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void enqueue(ShippingRequest request) {
+        LocalDateTime now = LocalDateTime.now();
+        ShippingOutboxEntity entry = new ShippingOutboxEntity();
+        entry.setOrderId(UUID.fromString(request.orderId()));
+        entry.setPayload(write(request));
+        entry.setStatus(OutboxStatus.PENDING);
+        entry.setAttempts(0);
+        entry.setNextAttemptAt(now);
+        entry.setCreatedAt(now);
+        repository.save(entry);
+    }
+
+    @Override
+    @Transactional
+    public List<ShippingDispatch> claimDue(int batchSize, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ShippingOutboxEntity> due = repository.findDueForUpdate(now, batchSize);
+        List<ShippingDispatch> claimed = new ArrayList<>(due.size());
+        for (ShippingOutboxEntity entry : due) {
+            entry.setNextAttemptAt(now.plus(lease));
+            claimed.add(new ShippingDispatch(entry.getId(), read(entry.getPayload()), entry.getAttempts()));
+        }
+        return claimed;
+    }
+
+    @Override
+    @Transactional
+    public void markSent(Long id) {
+        repository.updateStatus(id, OutboxStatus.SENT);
+    }
+
+    @Override
+    @Transactional
+    public void markFailed(Long id, int attempts, LocalDateTime nextAttemptAt, String error) {
+        repository.reschedule(id, attempts, nextAttemptAt, truncate(error));
+    }
+
+    @Override
+    @Transactional
+    public void markDead(Long id, int attempts, String error) {
+        repository.park(id, OutboxStatus.DEAD, attempts, truncate(error));
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+    private String write(ShippingRequest request) {
+        try {
+            return objectMapper.writeValueAsString(request);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize shipping request for order " + request.orderId(), e);
+        }
+    }
+
+    private ShippingRequest read(String payload) {
+        try {
+            return objectMapper.readValue(payload, ShippingRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read shipping outbox payload", e);
+        }
+    }
+}
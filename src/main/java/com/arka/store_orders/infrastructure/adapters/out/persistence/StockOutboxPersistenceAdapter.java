@@ -0,0 +1,100 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence;
+
+import com.arka.store_orders.domain.models.StockMovement;
+import com.arka.store_orders.domain.models.StockOperation;
+import com.arka.store_orders.domain.ports.out.persistence.StockOutboxPort;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OutboxStatus;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.StockOutboxEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.StockOutboxJpaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class StockOutboxPersistenceAdapter implements StockOutboxPort {
+    private static final TypeReference<Map<Long, Integer>> QUANTITIES = new TypeReference<>() {
+    };
+
+    private final StockOutboxJpaRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void enqueue(UUID orderId, StockOperation operation, Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        StockOutboxEntity entry = new StockOutboxEntity();
+        entry.setOrderId(orderId);
+        entry.setOperation(operation);
+        entry.setQuantities(write(quantities));
+        entry.setStatus(OutboxStatus.PENDING);
+        entry.setAttempts(0);
+        entry.setNextAttemptAt(now);
+        entry.setCreatedAt(now);
+        repository.save(entry);
+    }
+
+    @Override
+    @Transactional
+    public List<StockMovement> claimDue(int batchSize, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        List<StockOutboxEntity> due = repository.findDueForUpdate(now, batchSize);
+        List<StockMovement> claimed = new ArrayList<>(due.size());
+        for (StockOutboxEntity entry : due) {
+            entry.setNextAttemptAt(now.plus(lease));
+            claimed.add(new StockMovement(entry.getId(), entry.getOrderId(), entry.getOperation(),
+                    read(entry.getQuantities()), entry.getAttempts()));
+        }
+        return claimed;
+    }
+
+    @Override
+    @Transactional
+    public void markSent(Long id) {
+        repository.updateStatus(id, OutboxStatus.SENT);
+    }
+
+    @Override
+    @Transactional
+    public void markFailed(Long id, int attempts, LocalDateTime nextAttemptAt, String error) {
+        repository.reschedule(id, attempts, nextAttemptAt, truncate(error));
+    }
+
+    @Override
+    @Transactional
+    public void markDead(Long id, int attempts, String error) {
+        repository.park(id, OutboxStatus.DEAD, attempts, truncate(error));
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+    private String write(Map<Long, Integer> quantities) {
+        try {
+            return objectMapper.writeValueAsString(quantities);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize stock quantities", e);
+        }
+    }
+
+    private Map<Long, Integer> read(String quantities) {
+        try {
+            return objectMapper.readValue(quantities, QUANTITIES);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot read stock outbox quantities", e);
+        }
+    }
+}
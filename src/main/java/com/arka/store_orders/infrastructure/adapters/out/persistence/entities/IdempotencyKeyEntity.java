@@ -0,0 +1,24 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "idempotency_keys")
+public class IdempotencyKeyEntity {
+    @Id
+    @Column(length = 255)
+    private String idempotencyKey;
+    @Column(length = 64)
+    private String fingerprint;
+    @Column(columnDefinition = "text")
+    private String response;
+    private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
+}
@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -13,18 +15,24 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity(name = "orders")
+@DynamicUpdate
 public class OrderEntity {
 
     @Id
     private UUID id;
     private LocalDateTime createAt;
     @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    @JoinColumn(name = "order_id")
+    @JoinColumn(name = "order_id", insertable = false, updatable = false)
+    @BatchSize(size = 100)
     private List<OrderItemEntity> items = new ArrayList<>();
     @Enumerated(EnumType.STRING)
     @Column(name = "status")
     private OrderStatus status;
-    private Double total;
+    @Column(name = "total_minor")
+    private long total;
     private LocalDateTime updateAt;
     private String userId;
+    private String transactionId;
+    @Version
+    private Long version;
 }
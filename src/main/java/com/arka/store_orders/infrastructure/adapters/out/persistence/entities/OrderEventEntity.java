@@ -0,0 +1,36 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence.entities;
+
+import com.arka.store_orders.domain.models.OrderEventType;
+import com.arka.store_orders.domain.models.OrderStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "order_events")
+public class OrderEventEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_events_seq")
+    @SequenceGenerator(name = "order_events_seq", sequenceName = "order_events_seq", allocationSize = 50)
+    private Long id;
+    @Column(name = "order_id", nullable = false)
+    private UUID orderId;
+    private long revision;
+    @Enumerated(EnumType.STRING)
+    private OrderEventType type;
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+    private LocalDateTime occurredAt;
+    private Long itemId;
+    private Long productId;
+    private Integer quantity;
+    @Column(name = "price_minor")
+    private long price;
+    private String userId;
+}
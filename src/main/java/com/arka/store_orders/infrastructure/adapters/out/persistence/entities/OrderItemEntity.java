@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.util.UUID;
 
@@ -12,9 +13,11 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity(name = "items")
+@DynamicUpdate
 public class OrderItemEntity {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     @Schema(description = "Internal ID of the order item", example = "101")
     private Long id;
 
@@ -24,12 +27,13 @@ public class OrderItemEntity {
     @Schema(description = "Quantity ordered", example = "2")
     private Integer quantity;
 
-    @Schema(description = "Unit price at the time of order", example = "49.99")
-    private Double price;
+    @Schema(description = "Unit price at the time of order, in minor units", example = "4999")
+    @Column(name = "price_minor")
+    private long price;
 
-    @Schema(description = "Total for this item (quantity × price)", example = "99.98")
-    private Double amount;
+    @Schema(description = "Total for this item (quantity × price), in minor units", example = "9998")
+    @Column(name = "amount_minor")
+    private long amount;
     @Column(name = "order_id")
-
     private UUID orderId;
 }
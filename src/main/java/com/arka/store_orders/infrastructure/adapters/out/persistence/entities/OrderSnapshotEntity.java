@@ -0,0 +1,24 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "order_snapshots")
+public class OrderSnapshotEntity {
+    @Id
+    private UUID orderId;
+    private long revision;
+    private LocalDateTime takenAt;
+    @Column(columnDefinition = "text")
+    private String state;
+}
@@ -0,0 +1,8 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence.entities;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    /** Gave up after the maximum number of attempts; kept for inspection and manual replay. */
+    DEAD
+}
@@ -0,0 +1,30 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "shipping_outbox")
+public class ShippingOutboxEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shipping_outbox_seq")
+    @SequenceGenerator(name = "shipping_outbox_seq", sequenceName = "shipping_outbox_seq", allocationSize = 50)
+    private Long id;
+    private UUID orderId;
+    @Column(columnDefinition = "text")
+    private String payload;
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime createdAt;
+    @Column(length = 500)
+    private String lastError;
+}
@@ -0,0 +1,33 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence.entities;
+
+import com.arka.store_orders.domain.models.StockOperation;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity(name = "stock_outbox")
+public class StockOutboxEntity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_outbox_seq")
+    @SequenceGenerator(name = "stock_outbox_seq", sequenceName = "stock_outbox_seq", allocationSize = 50)
+    private Long id;
+    private UUID orderId;
+    @Enumerated(EnumType.STRING)
+    private StockOperation operation;
+    @Column(columnDefinition = "text")
+    private String quantities;
+    @Enumerated(EnumType.STRING)
+    private OutboxStatus status;
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime createdAt;
+    @Column(length = 500)
+    private String lastError;
+}
@@ -0,0 +1,13 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence.projections;
+
+import com.arka.store_orders.domain.models.OrderStatus;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One row of the order/items LEFT JOIN. The item columns are null for an order without items.
+ */
+public record OrderRow(UUID orderId, LocalDateTime createAt, OrderStatus status, long total,
+                       Long itemId, Long productId, Integer quantity, Long price, Long amount) {
+}
@@ -0,0 +1,8 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence.projections;
+
+/** Payment claim columns read natively; the id comes back as text so H2 and PostgreSQL map it alike. */
+public interface PaymentClaimRow {
+    String getId();
+    long getTotal();
+    int getAttempts();
+}
@@ -0,0 +1,9 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence.projections;
+
+import com.arka.store_orders.domain.models.OrderStatus;
+
+/**
+ * One row of the orders GROUP BY status.
+ */
+public record StatusCount(OrderStatus status, long orders) {
+}
@@ -0,0 +1,66 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence.repositories;
+
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public interface IdempotencyKeyJpaRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (idempotency_key, fingerprint, created_at, expires_at)
+            VALUES (:key, :fingerprint, :createdAt, :expiresAt)
+            ON CONFLICT DO NOTHING""", nativeQuery = true)
+    int insertIfAbsent(
+            @Param("key") String key,
+            @Param("fingerprint") String fingerprint,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (idempotency_key, fingerprint, response, created_at, expires_at)
+            VALUES (:key, :fingerprint, :response, :createdAt, :expiresAt)
+            ON CONFLICT DO NOTHING""", nativeQuery = true)
+    int insertCompleted(
+            @Param("key") String key,
+            @Param("fingerprint") String fingerprint,
+            @Param("response") String response,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("""
+            UPDATE idempotency_keys k
+            SET k.fingerprint = :fingerprint, k.response = NULL, k.createdAt = :createdAt, k.expiresAt = :expiresAt
+            WHERE k.idempotencyKey = :key AND k.expiresAt <= :createdAt""")
+    int takeOverExpired(
+            @Param("key") String key,
+            @Param("fingerprint") String fingerprint,
+            @Param("createdAt") LocalDateTime createdAt,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE idempotency_keys k SET k.response = :response WHERE k.idempotencyKey = :key")
+    int complete(@Param("key") String key, @Param("response") String response);
+
+    @Modifying
+    @Query("UPDATE idempotency_keys k SET k.createdAt = :now WHERE k.idempotencyKey IN :keys AND k.response IS NULL")
+    int touch(@Param("keys") Collection<String> keys, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM idempotency_keys k WHERE k.idempotencyKey = :key AND k.response IS NULL")
+    int release(@Param("key") String key);
+
+    @Modifying
+    @Query("""
+            DELETE FROM idempotency_keys k
+            WHERE k.expiresAt < :now
+               OR (k.response IS NULL AND k.createdAt < :staleBefore)""")
+    int purgeExpired(@Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -0,0 +1,35 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence.repositories;
+
+import com.arka.store_orders.domain.models.OrderEvent;
+import com.arka.store_orders.domain.models.OrderEventType;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderEventEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface OrderEventJpaRepository extends JpaRepository<OrderEventEntity, Long> {
+    @Query("""
+            SELECT new com.arka.store_orders.domain.models.OrderEvent(
+                e.orderId, e.revision, e.type, e.status, e.occurredAt, e.itemId, e.productId, e.quantity, e.price, e.userId)
+            FROM order_events e
+            WHERE e.orderId = :orderId AND e.revision > :afterRevision
+            ORDER BY e.revision, e.id""")
+    List<OrderEvent> findEvents(@Param("orderId") UUID orderId, @Param("afterRevision") long afterRevision);
+
+    @Query("""
+            SELECT e FROM order_events e
+            WHERE e.type IN :types AND e.occurredAt < :to
+              AND (e.occurredAt > :afterOccurredAt OR (e.occurredAt = :afterOccurredAt AND e.id > :afterId))
+            ORDER BY e.occurredAt, e.id""")
+    List<OrderEventEntity> findPageByTypes(@Param("types") Collection<OrderEventType> types,
+                                           @Param("afterOccurredAt") LocalDateTime afterOccurredAt,
+                                           @Param("afterId") long afterId,
+                                           @Param("to") LocalDateTime to,
+                                           Limit limit);
+}
@@ -1,11 +1,32 @@
 package com.arka.store_orders.infrastructure.adapters.out.persistence.repositories;
 
+import com.arka.store_orders.domain.models.ProductSales;
 import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderItemEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 public interface OrderItemJpaRepository extends JpaRepository<OrderItemEntity,Long> {
     List<OrderItemEntity> findAllItemsByOrderId(UUID id);
+    List<OrderItemEntity> findAllByOrderIdIn(Collection<UUID> orderIds);
+
+    @Query("""
+            SELECT new com.arka.store_orders.domain.models.ProductSales(i.productId, SUM(i.quantity))
+            FROM items i
+            GROUP BY i.productId
+            HAVING SUM(i.quantity) > 0
+            ORDER BY SUM(i.quantity) DESC, i.productId""")
+    List<ProductSales> findMostOrderedProducts(Limit limit);
+
+    @Query("""
+            SELECT new com.arka.store_orders.domain.models.ProductSales(i.productId, SUM(i.quantity))
+            FROM items i
+            GROUP BY i.productId
+            HAVING SUM(i.quantity) > 0
+            ORDER BY SUM(i.quantity), i.productId""")
+    List<ProductSales> findLeastOrderedProducts(Limit limit);
 }
@@ -1,14 +1,243 @@
 package com.arka.store_orders.infrastructure.adapters.out.persistence.repositories;
 
+import com.arka.store_orders.domain.models.OrderStatus;
 import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.projections.OrderRow;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.projections.StatusCount;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 public interface OrderJpaRepository extends JpaRepository<OrderEntity, UUID> {
-    @Query("SELECT o FROM orders o JOIN FETCH o.items WHERE o.id = :id")
+    @Query("SELECT o FROM orders o LEFT JOIN FETCH o.items WHERE o.id = :id")
     Optional<OrderEntity> findByIdWithItems(@Param("id") UUID id);
+
+    @Query("""
+            SELECT new com.arka.store_orders.infrastructure.adapters.out.persistence.projections.OrderRow(
+                o.id, o.createAt, o.status, o.total, i.id, i.productId, i.quantity, i.price, i.amount)
+            FROM orders o LEFT JOIN o.items i
+            WHERE o.id = :id
+            ORDER BY i.id""")
+    List<OrderRow> findRowsById(@Param("id") UUID id);
+
+    @Query("SELECT o.version FROM orders o WHERE o.id = :id")
+    Optional<Long> findVersionById(@Param("id") UUID id);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE orders o SET o.version = o.version + 1 WHERE o.id = :id")
+    int incrementVersion(@Param("id") UUID id);
+
+    // One query per filter combination: catch-all (:param IS NULL OR ...) predicates are planned once for
+    // any value and keep the (status, create_at, id) and (user_id, create_at, id) indexes out of the plan.
+    @Query("""
+            SELECT o FROM orders o
+            ORDER BY o.createAt DESC, o.id DESC""")
+    List<OrderEntity> findFirstPage(Limit limit);
+
+    @Query("""
+            SELECT o FROM orders o
+            WHERE o.status = :status
+            ORDER BY o.createAt DESC, o.id DESC""")
+    List<OrderEntity> findFirstPageByStatus(
+            @Param("status") OrderStatus status,
+            Limit limit);
+
+    @Query("""
+            SELECT o FROM orders o
+            WHERE o.userId = :userId
+            ORDER BY o.createAt DESC, o.id DESC""")
+    List<OrderEntity> findFirstPageByUser(
+            @Param("userId") String userId,
+            Limit limit);
+
+    @Query("""
+            SELECT o FROM orders o
+            WHERE o.status = :status
+              AND o.userId = :userId
+            ORDER BY o.createAt DESC, o.id DESC""")
+    List<OrderEntity> findFirstPageByStatusAndUser(
+            @Param("status") OrderStatus status,
+            @Param("userId") String userId,
+            Limit limit);
+
+    @Query("""
+            SELECT o FROM orders o
+            WHERE (o.createAt < :createAt OR (o.createAt = :createAt AND o.id < :id))
+            ORDER BY o.createAt DESC, o.id DESC""")
+    List<OrderEntity> findPageAfter(
+            @Param("createAt") LocalDateTime createAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    @Query("""
+            SELECT o FROM orders o
+            WHERE o.status = :status
+              AND (o.createAt < :createAt OR (o.createAt = :createAt AND o.id < :id))
+            ORDER BY o.createAt DESC, o.id DESC""")
+    List<OrderEntity> findPageAfterByStatus(
+            @Param("status") OrderStatus status,
+            @Param("createAt") LocalDateTime createAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    @Query("""
+            SELECT o FROM orders o
+            WHERE o.userId = :userId
+              AND (o.createAt < :createAt OR (o.createAt = :createAt AND o.id < :id))
+            ORDER BY o.createAt DESC, o.id DESC""")
+    List<OrderEntity> findPageAfterByUser(
+            @Param("userId") String userId,
+            @Param("createAt") LocalDateTime createAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    @Query("""
+            SELECT o FROM orders o
+            WHERE o.status = :status
+              AND o.userId = :userId
+              AND (o.createAt < :createAt OR (o.createAt = :createAt AND o.id < :id))
+            ORDER BY o.createAt DESC, o.id DESC""")
+    List<OrderEntity> findPageAfterByStatusAndUser(
+            @Param("status") OrderStatus status,
+            @Param("userId") String userId,
+            @Param("createAt") LocalDateTime createAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    @Query("""
+            SELECT o FROM orders o
+            WHERE o.status = :status AND o.transactionId IS NOT NULL
+            ORDER BY o.createAt, o.id""")
+    List<OrderEntity> findWithTransaction(@Param("status") OrderStatus status, Limit limit);
+
+    @Query("""
+            SELECT o FROM orders o
+            WHERE o.status = :status AND o.transactionId IS NOT NULL
+              AND (o.createAt > :createAt OR (o.createAt = :createAt AND o.id > :id))
+            ORDER BY o.createAt, o.id""")
+    List<OrderEntity> findWithTransactionAfter(
+            @Param("status") OrderStatus status,
+            @Param("createAt") LocalDateTime createAt,
+            @Param("id") UUID id,
+            Limit limit);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE orders o SET o.status = :target, o.updateAt = :now, o.version = o.version + 1
+            WHERE o.id = :id AND o.status = :expected AND o.version = :version""")
+    int transitionStatus(
+            @Param("id") UUID id,
+            @Param("version") Long version,
+            @Param("expected") OrderStatus expected,
+            @Param("target") OrderStatus target,
+            @Param("now") LocalDateTime now);
+
+    @Query(value = """
+            SELECT * FROM orders
+            WHERE status IN (:statuses) AND create_at < :createdBefore
+              AND transaction_id IS NULL
+              AND (payment_lease_until IS NULL OR payment_lease_until <= :now)
+            ORDER BY create_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    List<OrderEntity> findUnpaidCreatedBeforeForUpdate(
+            @Param("statuses") Collection<String> statuses,
+            @Param("createdBefore") LocalDateTime createdBefore,
+            @Param("now") LocalDateTime now,
+            @Param("limit") int limit);
+
+    @Query("""
+            SELECT COUNT(o) FROM orders o
+            WHERE o.status IN :statuses AND o.createAt < :createdBefore AND o.transactionId IS NOT NULL""")
+    long countPaidCreatedBefore(
+            @Param("statuses") Collection<OrderStatus> statuses,
+            @Param("createdBefore") LocalDateTime createdBefore);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE orders o SET o.status = :target, o.updateAt = :now, o.version = o.version + 1
+            WHERE o.id IN :ids""")
+    int updateStatusIn(
+            @Param("ids") Collection<UUID> ids,
+            @Param("target") OrderStatus target,
+            @Param("now") LocalDateTime now);
+
+    @Query("""
+            SELECT new com.arka.store_orders.infrastructure.adapters.out.persistence.projections.StatusCount(
+                o.status, COUNT(o))
+            FROM orders o
+            GROUP BY o.status""")
+    List<StatusCount> countGroupedByStatus();
+
+    @Query("SELECT COALESCE(SUM(o.total), 0) FROM orders o WHERE o.status = :status")
+    long sumTotalByStatus(@Param("status") OrderStatus status);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT o FROM orders o
+            ORDER BY o.createAt DESC, o.id DESC""")
+    Stream<OrderEntity> streamAll();
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT o FROM orders o
+            WHERE o.createAt >= :since
+            ORDER BY o.createAt DESC, o.id DESC""")
+    Stream<OrderEntity> streamCreatedSince(
+            @Param("since") LocalDateTime since);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT o FROM orders o
+            WHERE o.status = :status
+            ORDER BY o.createAt DESC, o.id DESC""")
+    Stream<OrderEntity> streamByStatus(
+            @Param("status") OrderStatus status);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT o FROM orders o
+            WHERE o.userId = :userId
+            ORDER BY o.createAt DESC, o.id DESC""")
+    Stream<OrderEntity> streamByUser(
+            @Param("userId") String userId);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT o FROM orders o
+            WHERE o.status = :status
+              AND o.userId = :userId
+            ORDER BY o.createAt DESC, o.id DESC""")
+    Stream<OrderEntity> streamByStatusAndUser(
+            @Param("status") OrderStatus status,
+            @Param("userId") String userId);
 }
@@ -0,0 +1,9 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence.repositories;
+
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderSnapshotEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface OrderSnapshotJpaRepository extends JpaRepository<OrderSnapshotEntity, UUID> {
+}
@@ -0,0 +1,56 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence.repositories;
+
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.projections.PaymentClaimRow;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/** The payment lease columns are not mapped on {@link OrderEntity}, so order saves never overwrite them. */
+public interface PaymentClaimJpaRepository extends Repository<OrderEntity, UUID> {
+
+    @Query(value = """
+            SELECT CAST(id AS VARCHAR(36)) AS id, total_minor AS total, payment_attempts AS attempts FROM orders
+            WHERE status = 'WAITING_PAYMENT_CONFIRMATION' AND transaction_id IS NULL
+              AND (payment_lease_until IS NULL OR payment_lease_until <= :now)
+            ORDER BY create_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    List<PaymentClaimRow> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = """
+            UPDATE orders SET payment_attempts = payment_attempts + 1, payment_lease_until = :until
+            WHERE id IN (:ids)""", nativeQuery = true)
+    int lease(@Param("ids") Collection<UUID> ids, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query(value = """
+            UPDATE orders SET payment_attempts = payment_attempts + 1, payment_lease_until = :until
+            WHERE id = :id AND status = 'WAITING_PAYMENT_CONFIRMATION' AND transaction_id IS NULL
+              AND (payment_lease_until IS NULL OR payment_lease_until <= :now)""", nativeQuery = true)
+    int leaseIfDue(@Param("id") UUID id, @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Query(value = """
+            SELECT CAST(id AS VARCHAR(36)) AS id, total_minor AS total, payment_attempts AS attempts
+            FROM orders WHERE id = :id""", nativeQuery = true)
+    Optional<PaymentClaimRow> findClaim(@Param("id") UUID id);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = """
+            UPDATE orders SET transaction_id = :transactionId, payment_lease_until = NULL,
+                update_at = :now, version = version + 1
+            WHERE id = :id AND status = 'WAITING_PAYMENT_CONFIRMATION' AND transaction_id IS NULL""",
+            nativeQuery = true)
+    int recordTransaction(
+            @Param("id") UUID id,
+            @Param("transactionId") String transactionId,
+            @Param("now") LocalDateTime now);
+}
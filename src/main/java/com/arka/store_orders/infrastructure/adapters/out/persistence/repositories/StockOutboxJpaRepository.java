@@ -0,0 +1,48 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence.repositories;
+
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OutboxStatus;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.StockOutboxEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface StockOutboxJpaRepository extends JpaRepository<StockOutboxEntity, Long> {
+
+    @Query(value = """
+            SELECT * FROM stock_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED""", nativeQuery = true)
+    List<StockOutboxEntity> findDueForUpdate(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE stock_outbox o SET o.status = :status, o.lastError = null WHERE o.id = :id")
+    int updateStatus(@Param("id") Long id, @Param("status") OutboxStatus status);
+
+    @Modifying
+    @Query("""
+            UPDATE stock_outbox o
+            SET o.attempts = :attempts, o.nextAttemptAt = :nextAttemptAt, o.lastError = :error
+            WHERE o.id = :id""")
+    int reschedule(
+            @Param("id") Long id,
+            @Param("attempts") int attempts,
+            @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+            @Param("error") String error);
+
+    @Modifying
+    @Query("""
+            UPDATE stock_outbox o
+            SET o.status = :status, o.attempts = :attempts, o.lastError = :error
+            WHERE o.id = :id""")
+    int park(
+            @Param("id") Long id,
+            @Param("status") OutboxStatus status,
+            @Param("attempts") int attempts,
+            @Param("error") String error);
+}
@@ -0,0 +1,200 @@
+package com.arka.store_orders.infrastructure.adapters.out.webclient.adapter;
+
+import com.arka.store_orders.domain.ports.out.feignclient.ProductPort;
+import com.arka.store_orders.domain.ports.out.feignclient.StockCachePort;
+import com.arka.store_orders.infrastructure.resources.Response.AvailableStockResponse;
+import com.arka.store_orders.infrastructure.resources.Response.StockCacheStats;
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Short-TTL cache of available stock in front of {@link ProductWebAdapter}. Concurrent lookups of the
+ * same SKU share one in-flight request, and our own reserve/recover calls adjust the cached value so
+ * hot SKUs stay cached during bursts. A lookup counts as a miss when it started the load, as coalesced
+ * when it joined a load still in flight, and as a hit otherwise.
+ */
+@Primary
+@Component
+public class CachedProductAdapter implements ProductPort, StockCachePort {
+    private final ProductWebAdapter delegate;
+    private final ExecutorService loads = Executors.newVirtualThreadPerTaskExecutor();
+    private final AvailableStockLoader loader = new AvailableStockLoader();
+    private final AsyncLoadingCache<Long, AvailableStockResponse> availableStock;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    @Autowired
+    public CachedProductAdapter(ProductWebAdapter delegate,
+                                @Value("${orders.stock-cache.ttl:2s}") Duration ttl,
+                                @Value("${orders.stock-cache.maximum-size:10000}") long maximumSize) {
+        this(delegate, ttl, maximumSize, Ticker.systemTicker());
+    }
+
+    CachedProductAdapter(ProductWebAdapter delegate, Duration ttl, long maximumSize, Ticker ticker) {
+        this.delegate = delegate;
+        this.availableStock = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .ticker(ticker)
+                .executor(loads)
+                .recordStats()
+                .buildAsync(loader);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loads.shutdownNow();
+    }
+
+    @Override
+    public void reserveStock(Long productId, Integer quantity) {
+        delegate.reserveStock(productId, quantity);
+        adjust(productId, -quantity);
+    }
+
+    @Override
+    public void decrementStock(Long productId, Integer quantity) {
+        delegate.decrementStock(productId, quantity);
+    }
+
+    @Override
+    public AvailableStockResponse recoveryStock(Long productId, Integer quantity) {
+        AvailableStockResponse response = delegate.recoveryStock(productId, quantity);
+        refresh(productId, response);
+        return response;
+    }
+
+    @Override
+    public AvailableStockResponse getAvailableStock(Long productId) {
+        boolean[] loaded = new boolean[1];
+        CompletableFuture<AvailableStockResponse> stock = availableStock.get(productId, (id, executor) -> {
+            loaded[0] = true;
+            return loader.asyncLoad(id, executor);
+        });
+        count(loaded[0], stock);
+        return join(stock);
+    }
+
+    @Override
+    public void reserveStockBatch(Map<Long, Integer> quantities) {
+        delegate.reserveStockBatch(quantities);
+        quantities.forEach((productId, quantity) -> adjust(productId, -quantity));
+    }
+
+    @Override
+    public void decrementStockBatch(Map<Long, Integer> quantities) {
+        delegate.decrementStockBatch(quantities);
+    }
+
+    @Override
+    public List<AvailableStockResponse> recoveryStockBatch(Map<Long, Integer> quantities) {
+        List<AvailableStockResponse> responses = delegate.recoveryStockBatch(quantities);
+        if (responses == null || responses.size() != quantities.size()) {
+            availableStock.synchronous().invalidateAll(quantities.keySet());
+        } else {
+            responses.forEach(response -> refresh(response.productId(), response));
+        }
+        return responses;
+    }
+
+    @Override
+    public Map<Long, AvailableStockResponse> getAvailableStockBatch(Collection<Long> productIds) {
+        Set<Long> loaded = new HashSet<>();
+        CompletableFuture<Map<Long, AvailableStockResponse>> stock = availableStock.getAll(productIds, (ids, executor) -> {
+            loaded.addAll(ids);
+            return loader.asyncLoadAll(ids, executor);
+        });
+        for (Long productId : new HashSet<>(productIds)) {
+            count(loaded.contains(productId), availableStock.getIfPresent(productId));
+        }
+        return join(stock);
+    }
+
+    @Override
+    public StockCacheStats stats() {
+        return new StockCacheStats(
+                hits.sum(),
+                misses.sum(),
+                coalesced.sum(),
+                availableStock.synchronous().stats().evictionCount(),
+                availableStock.synchronous().estimatedSize()
+        );
+    }
+
+    private void count(boolean loaded, CompletableFuture<AvailableStockResponse> stock) {
+        if (loaded) {
+            misses.increment();
+        } else if (stock == null || stock.isDone()) {
+            hits.increment();
+        } else {
+            coalesced.increment();
+        }
+    }
+
+    private void adjust(Long productId, int delta) {
+        availableStock.asMap().computeIfPresent(productId, (id, cached) -> {
+            if (!cached.isDone() || cached.isCompletedExceptionally()) {
+                return null;
+            }
+            AvailableStockResponse current = cached.join();
+            if (current == null || current.availableStock() == null) {
+                return null;
+            }
+            return CompletableFuture.completedFuture(
+                    new AvailableStockResponse(id, current.availableStock() + delta));
+        });
+    }
+
+    private void refresh(Long productId, AvailableStockResponse response) {
+        if (response != null && response.availableStock() != null) {
+            availableStock.put(productId, CompletableFuture.completedFuture(response));
+        } else {
+            availableStock.synchronous().invalidate(productId);
+        }
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private class AvailableStockLoader implements AsyncCacheLoader<Long, AvailableStockResponse> {
+        @Override
+        public CompletableFuture<AvailableStockResponse> asyncLoad(Long productId, Executor executor) {
+            return CompletableFuture.supplyAsync(() -> delegate.getAvailableStock(productId), executor);
+        }
+
+        @Override
+        public CompletableFuture<Map<Long, AvailableStockResponse>> asyncLoadAll(
+                Set<? extends Long> productIds, Executor executor) {
+            return CompletableFuture.supplyAsync(() -> delegate.getAvailableStockBatch(List.copyOf(productIds)), executor);
+        }
+    }
+}
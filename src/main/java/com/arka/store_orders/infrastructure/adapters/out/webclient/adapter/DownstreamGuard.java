@@ -0,0 +1,87 @@
+package com.arka.store_orders.infrastructure.adapters.out.webclient.adapter;
+
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.DownstreamUnavailableException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiter;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker, time limiter and semaphore bulkhead of one downstream service, applied explicitly around
+ * each Feign call so they hold regardless of how the adapter is invoked. The call runs on a virtual thread
+ * so the time limiter can give up on it and interrupt it. While the breaker is open, the bulkhead is full
+ * or the call times out, callers fail fast with {@link DownstreamUnavailableException}; errors returned by
+ * the service itself propagate unchanged.
+ * <p>
+ * A timed out call may still be applied downstream, so the time limiter only guards reads and requests that
+ * carry an idempotency key. Stock mutations go through {@link #mutate}, which keeps the breaker and the
+ * bulkhead but waits for the service's answer, so callers learn whether the change was applied.
+ */
+final class DownstreamGuard {
+    private static final ExecutorService CALLS = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("downstream-", 0).factory());
+
+    private final String name;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final TimeLimiter timeLimiter;
+
+    DownstreamGuard(String name,
+                    CircuitBreakerRegistry circuitBreakers,
+                    BulkheadRegistry bulkheads,
+                    TimeLimiterRegistry timeLimiters) {
+        this.name = name;
+        this.circuitBreaker = circuitBreakers.circuitBreaker(name);
+        this.bulkhead = bulkheads.bulkhead(name);
+        this.timeLimiter = timeLimiters.timeLimiter(name);
+    }
+
+    <T> T call(Supplier<T> call) {
+        Callable<T> limited = timeLimiter.decorateFutureSupplier(
+                () -> CALLS.submit(() -> bulkhead.executeSupplier(call)));
+        try {
+            return circuitBreaker.executeCallable(limited);
+        } catch (CallNotPermittedException | BulkheadFullException | TimeoutException e) {
+            throw new DownstreamUnavailableException(name + " is unavailable: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DownstreamUnavailableException("Interrupted while calling " + name, e);
+        } catch (Exception e) {
+            throw new IllegalStateException("Call to " + name + " failed", e);
+        }
+    }
+
+    void run(Runnable call) {
+        call(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    <T> T mutate(Supplier<T> call) {
+        try {
+            return circuitBreaker.executeSupplier(() -> bulkhead.executeSupplier(call));
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw new DownstreamUnavailableException(name + " is unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    void mutate(Runnable call) {
+        mutate(() -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -1,20 +1,50 @@
 package com.arka.store_orders.infrastructure.adapters.out.webclient.adapter;
 
 import com.arka.store_orders.domain.ports.out.feignclient.PaymentPort;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.PaymentFailedException;
 import com.arka.store_orders.infrastructure.adapters.out.webclient.feign.PaymentClient;
 import com.arka.store_orders.infrastructure.resources.Request.PaymentRequest;
-import lombok.RequiredArgsConstructor;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 import org.springframework.stereotype.Component;
 
 import java.util.UUID;
 
 @Component
-@RequiredArgsConstructor
 public class PaymentWebAdapter implements PaymentPort {
     private final PaymentClient paymentClient;
+    private final DownstreamGuard guard;
+
+    public PaymentWebAdapter(PaymentClient paymentClient,
+                             CircuitBreakerRegistry circuitBreakers,
+                             BulkheadRegistry bulkheads,
+                             TimeLimiterRegistry timeLimiters) {
+        this.paymentClient = paymentClient;
+        this.guard = new DownstreamGuard("payments", circuitBreakers, bulkheads, timeLimiters);
+    }
+
+    /**
+     * The order id goes out as the idempotency key: an order is charged at most once per processing, so a
+     * retried or re-claimed initiation returns the original transaction instead of charging again. A 4xx
+     * other than timeout, conflict or throttling is a decline and surfaces as {@link PaymentFailedException}.
+     */
     @Override
     public String processPayment(PaymentRequest paymentRequest) {
-        return paymentClient.processPayment(paymentRequest);
+        try {
+            return guard.call(() -> paymentClient.processPayment(paymentRequest.orderId().toString(), paymentRequest));
+        } catch (FeignException.FeignClientException e) {
+            if (e.status() == 408 || e.status() == 409 || e.status() == 429) {
+                throw e;
+            }
+            throw new PaymentFailedException("Payment declined for order " + paymentRequest.orderId() + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean isPaymentValid(String transactionId) {
+        return guard.call(() -> paymentClient.validPayment(transactionId));
     }
 
 }
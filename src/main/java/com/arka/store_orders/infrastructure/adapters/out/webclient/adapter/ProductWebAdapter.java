@@ -2,31 +2,90 @@ package com.arka.store_orders.infrastructure.adapters.out.webclient.adapter;
 
 import com.arka.store_orders.domain.ports.out.feignclient.ProductPort;
 import com.arka.store_orders.infrastructure.adapters.out.webclient.feign.ProductClient;
+import com.arka.store_orders.infrastructure.resources.Request.StockQuantityRequest;
 import com.arka.store_orders.infrastructure.resources.Response.AvailableStockResponse;
 import com.arka.store_orders.infrastructure.resources.Response.ReservationResponse;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @Component
-@RequiredArgsConstructor
 public class ProductWebAdapter implements ProductPort {
     private final ProductClient productClient;
+    private final DownstreamGuard guard;
+
+    public ProductWebAdapter(ProductClient productClient,
+                             CircuitBreakerRegistry circuitBreakers,
+                             BulkheadRegistry bulkheads,
+                             TimeLimiterRegistry timeLimiters) {
+        this.productClient = productClient;
+        this.guard = new DownstreamGuard("products", circuitBreakers, bulkheads, timeLimiters);
+    }
+
     @Override
     public void reserveStock(Long productId, Integer quantity) {
-        productClient.reserveStock(productId,quantity);
+        guard.mutate(() -> productClient.reserveStock(productId,quantity));
     }
     @Override
     public void decrementStock(Long productId, Integer quantity) {
-            productClient.decrementStock(productId,quantity);
+        guard.mutate(() -> productClient.decrementStock(productId,quantity));
     }
 
     @Override
     public AvailableStockResponse recoveryStock(Long productId, Integer quantity) {
-             return productClient.recoveryStock(productId,quantity);
+        return guard.mutate(() -> productClient.recoveryStock(productId,quantity));
     }
 
     @Override
     public AvailableStockResponse getAvailableStock(Long productId) {
-        return productClient.getAvailableStock(productId);
+        return guard.call(() -> productClient.getAvailableStock(productId));
+    }
+
+    @Override
+    public void reserveStockBatch(Map<Long, Integer> quantities) {
+        if (!quantities.isEmpty()) {
+            guard.mutate(() -> productClient.reserveStockBatch(toRequest(quantities)));
+        }
+    }
+
+    @Override
+    public void decrementStockBatch(Map<Long, Integer> quantities) {
+        if (!quantities.isEmpty()) {
+            guard.mutate(() -> productClient.decrementStockBatch(toRequest(quantities)));
+        }
+    }
+
+    @Override
+    public List<AvailableStockResponse> recoveryStockBatch(Map<Long, Integer> quantities) {
+        if (quantities.isEmpty()) {
+            return List.of();
+        }
+        return guard.mutate(() -> productClient.recoveryStockBatch(toRequest(quantities)));
+    }
+
+    @Override
+    public Map<Long, AvailableStockResponse> getAvailableStockBatch(Collection<Long> productIds) {
+        if (productIds.isEmpty()) {
+            return Map.of();
+        }
+        List<AvailableStockResponse> responses = guard.call(() -> productClient.getAvailableStockBatch(productIds));
+        Map<Long, AvailableStockResponse> stockByProduct = new HashMap<>(responses.size() * 2);
+        for (AvailableStockResponse response : responses) {
+            stockByProduct.put(response.productId(), response);
+        }
+        return stockByProduct;
+    }
+
+    private List<StockQuantityRequest> toRequest(Map<Long, Integer> quantities) {
+        List<StockQuantityRequest> request = new ArrayList<>(quantities.size());
+        quantities.forEach((productId, quantity) -> request.add(new StockQuantityRequest(productId, quantity)));
+        return request;
     }
 }
@@ -3,16 +3,27 @@ package com.arka.store_orders.infrastructure.adapters.out.webclient.adapter;
 import com.arka.store_orders.domain.ports.out.feignclient.ShippingPort;
 import com.arka.store_orders.infrastructure.adapters.out.webclient.feign.ShippingClient;
 import com.arka.store_orders.infrastructure.resources.Request.ShippingRequest;
-import lombok.RequiredArgsConstructor;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
 import org.springframework.stereotype.Component;
 
 @Component
-@RequiredArgsConstructor
 public class ShippingAdapter implements ShippingPort {
-    private final ShippingClient  shippingClient;
+    private final ShippingClient shippingClient;
+    private final DownstreamGuard guard;
+
+    public ShippingAdapter(ShippingClient shippingClient,
+                           CircuitBreakerRegistry circuitBreakers,
+                           BulkheadRegistry bulkheads,
+                           TimeLimiterRegistry timeLimiters) {
+        this.shippingClient = shippingClient;
+        this.guard = new DownstreamGuard("shipping", circuitBreakers, bulkheads, timeLimiters);
+    }
+
     @Override
     public void sendOrder(ShippingRequest request) {
-        shippingClient.sendShipping(request);
+        guard.run(() -> shippingClient.sendShipping(request));
     }
 
 }
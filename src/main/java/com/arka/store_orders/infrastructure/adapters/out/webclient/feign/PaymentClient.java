@@ -10,6 +10,7 @@ import java.util.UUID;
 public interface PaymentClient {
     @PostMapping("/process")
     public String processPayment(
+            @RequestHeader("Idempotency-Key") String idempotencyKey,
             @RequestBody PaymentRequest paymentRequest);
 
     @GetMapping("/{transactionId}")
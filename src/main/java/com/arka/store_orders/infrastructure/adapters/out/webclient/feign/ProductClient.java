@@ -1,10 +1,14 @@
 package com.arka.store_orders.infrastructure.adapters.out.webclient.feign;
 
+import com.arka.store_orders.infrastructure.resources.Request.StockQuantityRequest;
 import com.arka.store_orders.infrastructure.resources.Response.AvailableStockResponse;
 import com.arka.store_orders.infrastructure.resources.Response.ReservationResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Collection;
+import java.util.List;
+
 @FeignClient(name = "PRODUCTS-SERVICE",path = "/products")
 public interface ProductClient {
 
@@ -23,4 +27,13 @@ public interface ProductClient {
     @GetMapping("/available/{productId}")
     public AvailableStockResponse getAvailableStock(@PathVariable("productId")Long productId);
 
+    @PostMapping("/reserve/batch")
+    public List<ReservationResponse> reserveStockBatch(@RequestBody List<StockQuantityRequest> items);
+    @PostMapping("/decrement/batch")
+    public void decrementStockBatch(@RequestBody List<StockQuantityRequest> items);
+    @PutMapping("/recover/batch")
+    public List<AvailableStockResponse> recoveryStockBatch(@RequestBody List<StockQuantityRequest> items);
+    @GetMapping("/available")
+    public List<AvailableStockResponse> getAvailableStockBatch(@RequestParam("ids") Collection<Long> productIds);
+
 }
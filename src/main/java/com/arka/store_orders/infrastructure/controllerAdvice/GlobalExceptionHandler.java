@@ -1,6 +1,7 @@
 package com.arka.store_orders.infrastructure.controllerAdvice;
 
 import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.*;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -44,6 +45,42 @@ public class GlobalExceptionHandler {
     public ResponseEntity<String>handlePaymentFailedException(PaymentFailedException exception){
         return new ResponseEntity<>("Error"+exception.getMessage(), HttpStatus.BAD_REQUEST);
     }
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<String>handleInvalidCursorException(InvalidCursorException exception){
+        return new ResponseEntity<>("Error"+exception.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(BatchTooLargeException.class)
+    public ResponseEntity<String>handleBatchTooLargeException(BatchTooLargeException exception){
+        return new ResponseEntity<>("Error"+exception.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(InvalidMetricsQueryException.class)
+    public ResponseEntity<String>handleInvalidMetricsQueryException(InvalidMetricsQueryException exception){
+        return new ResponseEntity<>("Error"+exception.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(InvalidMoneyAmountException.class)
+    public ResponseEntity<String>handleInvalidMoneyAmountException(InvalidMoneyAmountException exception){
+        return new ResponseEntity<>("Error"+exception.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(DownstreamUnavailableException.class)
+    public ResponseEntity<String>handleDownstreamUnavailableException(DownstreamUnavailableException exception){
+        return new ResponseEntity<>("Error"+exception.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    @ExceptionHandler(OrderConflictException.class)
+    public ResponseEntity<String>handleOrderConflictException(OrderConflictException exception){
+        return new ResponseEntity<>("Error"+exception.getMessage(), HttpStatus.CONFLICT);
+    }
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<String>handleIdempotencyKeyReusedException(IdempotencyKeyReusedException exception){
+        return new ResponseEntity<>("Error"+exception.getMessage(), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+    @ExceptionHandler(InvalidIdempotencyKeyException.class)
+    public ResponseEntity<String>handleInvalidIdempotencyKeyException(InvalidIdempotencyKeyException exception){
+        return new ResponseEntity<>("Error"+exception.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String>handleOptimisticLockingFailureException(OptimisticLockingFailureException exception){
+        return new ResponseEntity<>("Error: order was modified concurrently, reload it and retry", HttpStatus.CONFLICT);
+    }
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<String> handleValidationExceptions(MethodArgumentNotValidException ex) {
         String errorMessage = "Validation Fail: " + Objects.requireNonNull(ex.getBindingResult().getFieldError()).getDefaultMessage();
@@ -0,0 +1,7 @@
+package com.arka.store_orders.infrastructure.controllerAdvice.exceptions;
+
+public class BatchTooLargeException extends RuntimeException {
+    public BatchTooLargeException(String message) {
+        super(message);
+    }
+}
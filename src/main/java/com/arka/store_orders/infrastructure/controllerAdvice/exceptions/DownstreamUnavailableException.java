@@ -0,0 +1,7 @@
+package com.arka.store_orders.infrastructure.controllerAdvice.exceptions;
+
+public class DownstreamUnavailableException extends RuntimeException {
+    public DownstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,7 @@
+package com.arka.store_orders.infrastructure.controllerAdvice.exceptions;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.arka.store_orders.infrastructure.controllerAdvice.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+    public InvalidCursorException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
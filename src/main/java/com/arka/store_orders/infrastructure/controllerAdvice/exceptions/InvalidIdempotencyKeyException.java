@@ -0,0 +1,7 @@
+package com.arka.store_orders.infrastructure.controllerAdvice.exceptions;
+
+public class InvalidIdempotencyKeyException extends RuntimeException {
+    public InvalidIdempotencyKeyException(String message) {
+        super(message);
+    }
+}
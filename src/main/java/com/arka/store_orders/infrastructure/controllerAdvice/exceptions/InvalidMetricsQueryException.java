@@ -0,0 +1,7 @@
+package com.arka.store_orders.infrastructure.controllerAdvice.exceptions;
+
+public class InvalidMetricsQueryException extends RuntimeException {
+    public InvalidMetricsQueryException(String message) {
+        super(message);
+    }
+}
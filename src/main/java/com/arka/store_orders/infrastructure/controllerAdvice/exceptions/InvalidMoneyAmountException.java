@@ -0,0 +1,7 @@
+package com.arka.store_orders.infrastructure.controllerAdvice.exceptions;
+
+public class InvalidMoneyAmountException extends RuntimeException {
+    public InvalidMoneyAmountException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,10 @@
+package com.arka.store_orders.infrastructure.controllerAdvice.exceptions;
+
+public class OrderConflictException extends RuntimeException {
+    public OrderConflictException(String message) {
+        super(message);
+    }
+    public OrderConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,8 +1,10 @@
 package com.arka.store_orders.infrastructure.mapper;
 
+import com.arka.store_orders.domain.models.Money;
 import com.arka.store_orders.domain.models.OrderItem;
 import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderItemEntity;
 import com.arka.store_orders.infrastructure.resources.Request.OrderItemRequest;
+import com.arka.store_orders.infrastructure.resources.Response.OrderItemResponse;
 import com.arka.store_orders.infrastructure.resources.Response.OrderItemShipping;
 import org.springframework.stereotype.Component;
 
@@ -10,7 +12,7 @@ import org.springframework.stereotype.Component;
 public class OrderItemMapper {
     public OrderItemEntity itemToEntity(OrderItem item){
         OrderItemEntity itemEntity=new OrderItemEntity();
-        itemEntity.setId(itemEntity.getId());
+        itemEntity.setId(item.getId());
         itemEntity.setProductId(item.getProductId());
         itemEntity.setQuantity(item.getQuantity());
         itemEntity.setPrice(item.getPrice());
@@ -18,6 +20,13 @@ public class OrderItemMapper {
         itemEntity.setOrderId(item.getOrderId());
         return itemEntity;
     }
+    public void updateEntity(OrderItem item, OrderItemEntity itemEntity){
+        itemEntity.setProductId(item.getProductId());
+        itemEntity.setQuantity(item.getQuantity());
+        itemEntity.setPrice(item.getPrice());
+        itemEntity.setAmount(item.getAmount());
+        itemEntity.setOrderId(item.getOrderId());
+    }
     public OrderItem itemEntityToDomain(OrderItemEntity item){
         return new OrderItem(
                 item.getId(),
@@ -33,11 +42,21 @@ public class OrderItemMapper {
                 null,
                 request.getProductId(),
                 request.getQuantity(),
-                request.getPrice(),
-                null,
+                Money.toMinorUnits(request.getPrice()),
+                0L,
                 null
         );
     }
+    public OrderItemResponse itemToResponse(OrderItem item){
+        return new OrderItemResponse(
+                item.getId(),
+                item.getProductId(),
+                item.getQuantity(),
+                Money.toMajorUnits(item.getPrice()),
+                Money.toMajorUnits(item.getAmount()),
+                item.getOrderId()
+        );
+    }
     public OrderItemShipping orderItemsToShipping(OrderItem orderItem){
         return new OrderItemShipping(orderItem.getProductId(),orderItem.getQuantity());
     }
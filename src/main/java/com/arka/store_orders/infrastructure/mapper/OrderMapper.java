@@ -1,14 +1,18 @@
 package com.arka.store_orders.infrastructure.mapper;
 
+import com.arka.store_orders.domain.models.Money;
 import com.arka.store_orders.domain.models.Order;
 import com.arka.store_orders.domain.models.OrderItem;
 import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderEntity;
 import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderItemEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.projections.OrderRow;
 import com.arka.store_orders.infrastructure.resources.Request.OrderRequest;
+import com.arka.store_orders.infrastructure.resources.Response.OrderItemResponse;
 import com.arka.store_orders.infrastructure.resources.Response.OrderResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,8 +23,11 @@ public class OrderMapper {
     private final OrderItemMapper itemMapper;
 
     public Order orderEntityToDomain(OrderEntity order){
-        List<OrderItem> items=order.getItems().stream()
-                .map(itemMapper::itemEntityToDomain).collect(Collectors.toList());;
+        return orderEntityToDomain(order, order.getItems());
+    }
+    public Order orderEntityToDomain(OrderEntity order, List<OrderItemEntity> itemEntities){
+        List<OrderItem> items=itemEntities.stream()
+                .map(itemMapper::itemEntityToDomain).collect(Collectors.toList());
         Order mapperOrder=new Order();
         mapperOrder.setId(order.getId());
         mapperOrder.setCreateAt(order.getCreateAt());
@@ -29,11 +36,13 @@ public class OrderMapper {
         mapperOrder.setTotal(order.getTotal());
         mapperOrder.setUpdateAt(order.getUpdateAt());
         mapperOrder.setUserId(order.getUserId());
+        mapperOrder.setTransactionId(order.getTransactionId());
+        mapperOrder.setVersion(order.getVersion());
         return mapperOrder;
     }
     public OrderEntity orderDomainToEntity(Order order){
         List<OrderItemEntity> items=order.getItems().stream()
-                .map(itemMapper::itemToEntity).collect(Collectors.toList());;
+                .map(itemMapper::itemToEntity).collect(Collectors.toList());
         return new OrderEntity(
         order.getId(),
         order.getCreateAt(),
@@ -41,16 +50,53 @@ public class OrderMapper {
         order.getStatus(),
         order.getTotal(),
         order.getUpdateAt(),
-        order.getUserId()
+        order.getUserId(),
+        order.getTransactionId(),
+        order.getVersion()
         );
     }
+    public void updateEntity(Order order, OrderEntity entity){
+        entity.setCreateAt(order.getCreateAt());
+        entity.setStatus(order.getStatus());
+        entity.setTotal(order.getTotal());
+        entity.setUpdateAt(order.getUpdateAt());
+        entity.setUserId(order.getUserId());
+        entity.setTransactionId(order.getTransactionId());
+    }
     public OrderResponse domainToResponse(Order order){
         return new OrderResponse(
                 order.getId(),
                 order.getCreateAt(),
-                order.getItems(),
+                order.getItems().stream().map(itemMapper::itemToResponse).toList(),
                 order.getStatus(),
-                order.getTotal()
+                Money.toMajorUnits(order.getTotal())
+        );
+    }
+    /** Folds the rows of one order's LEFT JOIN into its response; null when there are no rows. */
+    public OrderResponse rowsToResponse(List<OrderRow> rows){
+        if (rows.isEmpty()) {
+            return null;
+        }
+        OrderRow first = rows.get(0);
+        List<OrderItemResponse> items = new ArrayList<>(rows.size());
+        for (OrderRow row : rows) {
+            if (row.itemId() != null) {
+                items.add(new OrderItemResponse(
+                        row.itemId(),
+                        row.productId(),
+                        row.quantity(),
+                        Money.toMajorUnits(row.price()),
+                        Money.toMajorUnits(row.amount()),
+                        row.orderId()
+                ));
+            }
+        }
+        return new OrderResponse(
+                first.orderId(),
+                first.createAt(),
+                items,
+                first.status(),
+                Money.toMajorUnits(first.total())
         );
     }
 
@@ -8,6 +8,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -36,5 +38,5 @@ public class OrderItemRequest {
             minimum = "0"
     )
     @PositiveOrZero(message = "Price cannot be negative")
-    private Double price;
+    private BigDecimal price;
 }
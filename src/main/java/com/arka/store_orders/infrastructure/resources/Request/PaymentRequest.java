@@ -1,6 +1,7 @@
 package com.arka.store_orders.infrastructure.resources.Request;
 
+import java.math.BigDecimal;
 import java.util.UUID;
 
-public record PaymentRequest(UUID orderId,Double amount) {
+public record PaymentRequest(UUID orderId,BigDecimal amount) {
 }
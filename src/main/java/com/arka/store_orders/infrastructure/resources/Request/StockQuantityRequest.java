@@ -0,0 +1,4 @@
+package com.arka.store_orders.infrastructure.resources.Request;
+
+public record StockQuantityRequest(Long productId, Integer quantity) {
+}
@@ -0,0 +1,15 @@
+package com.arka.store_orders.infrastructure.resources.Response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record BatchOrderResponse(
+        @Schema(description = "Number of orders created", example = "98")
+        int created,
+        @Schema(description = "Number of orders that failed", example = "2")
+        int failed,
+        @Schema(description = "One result per requested order, in request order")
+        List<BatchOrderResult> results
+) {
+}
@@ -0,0 +1,15 @@
+package com.arka.store_orders.infrastructure.resources.Response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+public record BatchOrderResult(
+        @Schema(description = "Position of the order in the request", example = "0")
+        int index,
+        @Schema(description = "Whether the order was created")
+        boolean created,
+        @Schema(description = "The created order, null when it failed")
+        OrderResponse order,
+        @Schema(description = "Why the order was not created, null when it succeeded")
+        String error
+) {
+}
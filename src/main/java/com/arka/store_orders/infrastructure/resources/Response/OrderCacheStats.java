@@ -0,0 +1,4 @@
+package com.arka.store_orders.infrastructure.resources.Response;
+
+public record OrderCacheStats(long hits, long misses, long stale, long evictions, long size) {
+}
@@ -0,0 +1,32 @@
+package com.arka.store_orders.infrastructure.resources.Response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+public class OrderItemResponse {
+    @Schema(description = "Internal ID of the order item", example = "101")
+    private Long id;
+
+    @Schema(description = "Product ID from catalog", example = "1")
+    private Long productId;
+
+    @Schema(description = "Quantity ordered", example = "2")
+    private Integer quantity;
+
+    @Schema(description = "Unit price at the time of order", example = "49.99")
+    private BigDecimal price;
+
+    @Schema(description = "Total for this item (quantity × price)", example = "99.98")
+    private BigDecimal amount;
+
+    @Schema(description = "Order this item belongs to")
+    private UUID orderId;
+}
@@ -0,0 +1,13 @@
+package com.arka.store_orders.infrastructure.resources.Response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+public record OrderPageResponse(
+        @Schema(description = "Orders of this page, newest first")
+        List<OrderResponse> orders,
+        @Schema(description = "Opaque cursor for the next page, null when there are no more orders")
+        String nextCursor
+) {
+}
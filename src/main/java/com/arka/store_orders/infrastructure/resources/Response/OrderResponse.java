@@ -1,12 +1,12 @@
 package com.arka.store_orders.infrastructure.resources.Response;
 
-import com.arka.store_orders.domain.models.OrderItem;
 import com.arka.store_orders.domain.models.OrderStatus;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -29,7 +29,7 @@ public class OrderResponse {
     private LocalDateTime createAt;
 
     @Schema(description = "List of items included in the order")
-    private List<OrderItem> items;
+    private List<OrderItemResponse> items;
 
     @Schema(
             description = "Current status of the order",
@@ -41,5 +41,5 @@ public class OrderResponse {
             description = "Total amount of the order (sum of item amounts)",
             example = "149.99"
     )
-    private Double total;
+    private BigDecimal total;
 }
@@ -0,0 +1,4 @@
+package com.arka.store_orders.infrastructure.resources.Response;
+
+public record StockCacheStats(long hits, long misses, long coalesced, long evictions, long size) {
+}
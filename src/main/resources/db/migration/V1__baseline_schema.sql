@@ -0,0 +1,27 @@
+-- Schema of the first release, as Hibernate generated it (ddl-auto: update). Databases created that way
+-- are baselined at this version and skip it; new databases start here and take the same path forward.
+
+CREATE SEQUENCE items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE orders (
+    id        UUID NOT NULL,
+    create_at TIMESTAMP(6),
+    status    VARCHAR(255),
+    total     FLOAT(53),
+    update_at TIMESTAMP(6),
+    user_id   VARCHAR(255),
+    CONSTRAINT pk_orders PRIMARY KEY (id),
+    CONSTRAINT orders_status_check CHECK (status IN
+        ('PENDING', 'WAITINGCONFIRMATION', 'ACCEPTED', 'WAITING_PAYMENT_CONFIRMATION', 'CANCELED'))
+);
+
+CREATE TABLE items (
+    id         BIGINT NOT NULL,
+    product_id BIGINT,
+    quantity   INTEGER,
+    price      FLOAT(53),
+    amount     FLOAT(53),
+    order_id   UUID,
+    CONSTRAINT pk_items PRIMARY KEY (id),
+    CONSTRAINT fk_items_order_id FOREIGN KEY (order_id) REFERENCES orders (id)
+);
@@ -0,0 +1,60 @@
+-- Columns and tables added since the first release. IF NOT EXISTS keeps this safe on databases that
+-- ddl-auto: update already extended. New columns are nullable here; they are backfilled and tightened
+-- by later migrations.
+
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS total_minor BIGINT;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS transaction_id VARCHAR(255);
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS price_minor BIGINT;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS amount_minor BIGINT;
+
+CREATE SEQUENCE IF NOT EXISTS order_events_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS shipping_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS order_events (
+    id          BIGINT NOT NULL,
+    order_id    UUID NOT NULL,
+    revision    BIGINT NOT NULL,
+    type        VARCHAR(255),
+    status      VARCHAR(255),
+    occurred_at TIMESTAMP(6),
+    item_id     BIGINT,
+    product_id  BIGINT,
+    quantity    INTEGER,
+    price_minor BIGINT,
+    user_id     VARCHAR(255),
+    CONSTRAINT pk_order_events PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS order_snapshots (
+    order_id UUID NOT NULL,
+    revision BIGINT NOT NULL,
+    taken_at TIMESTAMP(6),
+    state    TEXT,
+    CONSTRAINT pk_order_snapshots PRIMARY KEY (order_id)
+);
+
+CREATE TABLE IF NOT EXISTS shipping_outbox (
+    id              BIGINT NOT NULL,
+    order_id        UUID,
+    payload         TEXT,
+    status          VARCHAR(255),
+    attempts        INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6),
+    created_at      TIMESTAMP(6),
+    last_error      VARCHAR(500),
+    CONSTRAINT pk_shipping_outbox PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) NOT NULL,
+    fingerprint     VARCHAR(64),
+    response        TEXT,
+    created_at      TIMESTAMP(6),
+    expires_at      TIMESTAMP(6),
+    CONSTRAINT pk_idempotency_keys PRIMARY KEY (idempotency_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_items_product_id_quantity ON items (product_id, quantity);
+CREATE INDEX IF NOT EXISTS idx_order_events_order_revision ON order_events (order_id, revision);
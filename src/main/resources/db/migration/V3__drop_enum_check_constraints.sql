@@ -0,0 +1,8 @@
+-- Hibernate generated CHECK constraints for enum columns, and ddl-auto: update never widened them, so new
+-- statuses (e.g. EXPIRED) are rejected. The enums are validated by the application. The constraints only
+-- exist on databases Hibernate extended; on the rest the statements for the newer tables are no-ops.
+
+ALTER TABLE orders DROP CONSTRAINT IF EXISTS orders_status_check;
+ALTER TABLE order_events DROP CONSTRAINT IF EXISTS order_events_status_check;
+ALTER TABLE order_events DROP CONSTRAINT IF EXISTS order_events_type_check;
+ALTER TABLE shipping_outbox DROP CONSTRAINT IF EXISTS shipping_outbox_status_check;
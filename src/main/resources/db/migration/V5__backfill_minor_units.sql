@@ -0,0 +1,20 @@
+-- Money moved from Double major units (price, amount, total) to long minor units. Rows written before the
+-- change only have the Double columns; convert them, then require the minor-unit columns since the
+-- entities hydrate them into primitive longs. The Double columns are left in place, unmapped.
+
+UPDATE items
+SET price_minor = COALESCE(CAST(ROUND(price * 100) AS BIGINT), 0)
+WHERE price_minor IS NULL;
+
+UPDATE items
+SET amount_minor = COALESCE(CAST(ROUND(amount * 100) AS BIGINT), price_minor * COALESCE(quantity, 0))
+WHERE amount_minor IS NULL;
+
+UPDATE orders
+SET total_minor = COALESCE(CAST(ROUND(total * 100) AS BIGINT),
+                           (SELECT SUM(i.amount_minor) FROM items i WHERE i.order_id = orders.id), 0)
+WHERE total_minor IS NULL;
+
+ALTER TABLE items ALTER COLUMN price_minor SET NOT NULL;
+ALTER TABLE items ALTER COLUMN amount_minor SET NOT NULL;
+ALTER TABLE orders ALTER COLUMN total_minor SET NOT NULL;
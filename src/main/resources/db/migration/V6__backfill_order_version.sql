@@ -0,0 +1,6 @@
+-- Orders written before optimistic versioning have no version. Conditional transitions match on
+-- version = :version, which never holds for NULL, so those orders would answer every change with 409.
+
+UPDATE orders SET version = 0 WHERE version IS NULL;
+
+ALTER TABLE orders ALTER COLUMN version SET NOT NULL;
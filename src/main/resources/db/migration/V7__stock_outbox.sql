@@ -0,0 +1,19 @@
+-- Stock decrements and releases that follow a committed order transition, sent by StockOutboxDispatcher.
+CREATE SEQUENCE stock_outbox_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE stock_outbox (
+    id              BIGINT NOT NULL,
+    order_id        UUID,
+    operation       VARCHAR(255),
+    quantities      TEXT,
+    status          VARCHAR(255),
+    attempts        INTEGER NOT NULL,
+    next_attempt_at TIMESTAMP(6),
+    created_at      TIMESTAMP(6),
+    last_error      VARCHAR(500),
+    CONSTRAINT pk_stock_outbox PRIMARY KEY (id)
+);
+
+-- Due entries are claimed by status and next attempt; DEAD and SENT rows stay out of the scan.
+CREATE INDEX idx_stock_outbox_status_next_attempt ON stock_outbox (status, next_attempt_at);
+CREATE INDEX IF NOT EXISTS idx_shipping_outbox_status_next_attempt ON shipping_outbox (status, next_attempt_at);
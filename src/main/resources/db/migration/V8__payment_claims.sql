@@ -0,0 +1,4 @@
+-- Payment initiation claims: a worker leases an order before charging it, so only one instance
+-- initiates a given payment at a time, and the attempt count caps how often it is retried.
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS payment_attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS payment_lease_until TIMESTAMP(6);
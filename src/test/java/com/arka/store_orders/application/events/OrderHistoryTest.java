@@ -0,0 +1,125 @@
+package com.arka.store_orders.application.events;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderEvent;
+import com.arka.store_orders.domain.models.OrderEventType;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.TimeInState;
+import com.arka.store_orders.domain.ports.out.persistence.OrderEventPort;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.OrderEventPersistenceAdapter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OrderEventRecorder.class, OrderHistory.class, OrderReplayEngine.class, OrderEventPersistenceAdapter.class})
+class OrderHistoryTest {
+
+    @Autowired
+    private OrderEventRecorder recorder;
+    @Autowired
+    private OrderHistory history;
+    @Autowired
+    private OrderEventPort eventLog;
+
+    @Test
+    void replayStartsFromTheSnapshotAndAppliesLaterEvents() {
+        Order order = newOrder();
+        recorder.created(order);
+
+        order.setVersion(2L);
+        order.getItems().get(0).setQuantity(3);
+        order.getItems().get(0).calculateAmount();
+        order.calculateTotal();
+        recorder.itemChanged(order, OrderEventType.ITEM_UPDATED, order.getItems().get(0));
+
+        order.setVersion(4L);
+        order.switchToWaitingPaymentInitiation();
+        recorder.statusChanged(order, OrderEventType.PROCESSED);
+
+        order.setVersion(6L);
+        OrderItem added = new OrderItem(12L, 30L, 1, 700L, 0L, order.getId());
+        added.calculateAmount();
+        order.addItem(added);
+        order.calculateTotal();
+        recorder.itemsAdded(order, Set.of(10L, 11L));
+
+        Order replayed = history.replay(order.getId()).orElseThrow();
+
+        assertThat(history.events(order.getId())).extracting(event -> event.type()).containsExactly(
+                OrderEventType.CREATED, OrderEventType.ITEM_ADDED, OrderEventType.ITEM_ADDED,
+                OrderEventType.ITEM_UPDATED, OrderEventType.PROCESSED, OrderEventType.ITEM_ADDED);
+        assertThat(replayed.getStatus()).isEqualTo(OrderStatus.WAITING_PAYMENT_CONFIRMATION);
+        assertThat(replayed.getVersion()).isEqualTo(6L);
+        assertThat(replayed.getTotal()).isEqualTo(order.getTotal());
+        assertThat(replayed.getItems()).extracting(OrderItem::getQuantity).containsExactly(3, 2, 1);
+    }
+
+    @Test
+    void timeInStateReadsOnlyTheStatusEventsOfTheWindowAcrossPages() {
+        LocalDateTime t0 = LocalDateTime.of(2020, 3, 1, 0, 0);
+        List<OrderEvent> events = new ArrayList<>();
+        for (int i = 0; i < 700; i++) {
+            UUID orderId = UUID.randomUUID();
+            events.add(new OrderEvent(orderId, 0, OrderEventType.CREATED, OrderStatus.PENDING,
+                    t0.plusSeconds(i), null, null, null, 0L, "user-1"));
+            events.add(new OrderEvent(orderId, 0, OrderEventType.ITEM_ADDED, OrderStatus.PENDING,
+                    t0.plusSeconds(i), 1L, 10L, 1, 100L, null));
+            events.add(new OrderEvent(orderId, 2, OrderEventType.PROCESSED, OrderStatus.WAITING_PAYMENT_CONFIRMATION,
+                    t0.plusSeconds(i + 60), null, null, null, 100L, "user-1"));
+        }
+        eventLog.append(events);
+
+        Map<OrderStatus, TimeInState> day = byStatus(history.timeInState(t0, t0.plusDays(1)));
+        Map<OrderStatus, TimeInState> firstMinute = byStatus(history.timeInState(t0, t0.plusMinutes(1)));
+
+        assertThat(day.get(OrderStatus.PENDING).completedStays()).isEqualTo(700);
+        assertThat(day.get(OrderStatus.PENDING).averageSeconds()).isEqualTo(60);
+        assertThat(day.get(OrderStatus.WAITING_PAYMENT_CONFIRMATION).openStays()).isEqualTo(700);
+        assertThat(firstMinute.get(OrderStatus.PENDING).completedStays()).isZero();
+        assertThat(firstMinute.get(OrderStatus.PENDING).openStays()).isEqualTo(60);
+        assertThat(firstMinute.get(OrderStatus.WAITING_PAYMENT_CONFIRMATION).openStays()).isZero();
+    }
+
+    private static Map<OrderStatus, TimeInState> byStatus(List<TimeInState> stats) {
+        Map<OrderStatus, TimeInState> byStatus = new EnumMap<>(OrderStatus.class);
+        stats.forEach(stat -> byStatus.put(stat.status(), stat));
+        return byStatus;
+    }
+
+    private static Order newOrder() {
+        List<OrderItem> items = new ArrayList<>();
+        Order order = new Order(items);
+        order.setUserId("user-1");
+        order.setVersion(0L);
+        for (long i = 0; i < 2; i++) {
+            OrderItem item = new OrderItem(10L + i, 10L * (i + 1), 2, 1000L, 0L, order.getId());
+            item.calculateAmount();
+            items.add(item);
+        }
+        order.calculateTotal();
+        return order;
+    }
+}
@@ -0,0 +1,102 @@
+package com.arka.store_orders.application.events;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderEvent;
+import com.arka.store_orders.domain.models.OrderEventType;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.TimeInState;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class OrderReplayEngineTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 1, 1, 10, 0);
+
+    private final OrderReplayEngine engine = new OrderReplayEngine();
+
+    @Test
+    void replayRebuildsItemsTotalAndStatus() {
+        UUID orderId = UUID.randomUUID();
+        List<OrderEvent> events = List.of(
+                status(orderId, 0, OrderEventType.CREATED, OrderStatus.PENDING, 0),
+                item(orderId, 0, OrderEventType.ITEM_ADDED, 1L, 10L, 2, 500),
+                item(orderId, 0, OrderEventType.ITEM_ADDED, 2L, 20L, 1, 1000),
+                item(orderId, 2, OrderEventType.ITEM_UPDATED, 1L, 10L, 5, 500),
+                item(orderId, 4, OrderEventType.ITEM_REMOVED, 2L, 20L, 1, 1000),
+                status(orderId, 6, OrderEventType.PROCESSED, OrderStatus.WAITING_PAYMENT_CONFIRMATION, 5));
+
+        Order order = engine.replay(null, events);
+
+        assertThat(order.getItems()).extracting(OrderItem::getProductId, OrderItem::getQuantity)
+                .containsExactly(tuple(10L, 5));
+        assertThat(order.getTotal()).isEqualTo(2500);
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.WAITING_PAYMENT_CONFIRMATION);
+        assertThat(order.getVersion()).isEqualTo(6);
+        assertThat(engine.replayAll(events)).containsOnlyKeys(orderId);
+    }
+
+    @Test
+    void timeInStateMeasuresCompletedAndOpenStays() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        List<OrderEvent> events = List.of(
+                status(first, 0, OrderEventType.CREATED, OrderStatus.PENDING, 0),
+                status(first, 2, OrderEventType.PROCESSED, OrderStatus.WAITING_PAYMENT_CONFIRMATION, 10),
+                status(first, 3, OrderEventType.PAYMENT_CONFIRMED, OrderStatus.WAITINGCONFIRMATION, 12),
+                status(first, 5, OrderEventType.ACCEPTED, OrderStatus.ACCEPTED, 42),
+                status(second, 0, OrderEventType.CREATED, OrderStatus.PENDING, 0),
+                status(second, 2, OrderEventType.PROCESSED, OrderStatus.WAITING_PAYMENT_CONFIRMATION, 30),
+                status(second, 3, OrderEventType.PAYMENT_CONFIRMED, OrderStatus.WAITINGCONFIRMATION, 31));
+
+        Map<OrderStatus, TimeInState> byStatus = new EnumMap<>(OrderStatus.class);
+        engine.timeInState(events).forEach(stat -> byStatus.put(stat.status(), stat));
+
+        assertThat(byStatus.get(OrderStatus.PENDING).completedStays()).isEqualTo(2);
+        assertThat(byStatus.get(OrderStatus.PENDING).averageSeconds()).isEqualTo(20 * 60);
+        assertThat(byStatus.get(OrderStatus.PENDING).maxSeconds()).isEqualTo(30 * 60);
+        assertThat(byStatus.get(OrderStatus.WAITINGCONFIRMATION).completedStays()).isEqualTo(1);
+        assertThat(byStatus.get(OrderStatus.WAITINGCONFIRMATION).averageSeconds()).isEqualTo(30 * 60);
+        assertThat(byStatus.get(OrderStatus.WAITINGCONFIRMATION).openStays()).isEqualTo(1);
+        assertThat(byStatus.get(OrderStatus.ACCEPTED).openStays()).isEqualTo(1);
+    }
+
+    @Test
+    void timeInStateFollowsInterleavedOrdersAndSkipsStaysStartedBeforeTheFirstEvent() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        List<OrderEvent> events = List.of(
+                status(first, 0, OrderEventType.CREATED, OrderStatus.PENDING, 0),
+                status(second, 3, OrderEventType.PAYMENT_CONFIRMED, OrderStatus.WAITINGCONFIRMATION, 5),
+                status(first, 2, OrderEventType.PROCESSED, OrderStatus.WAITING_PAYMENT_CONFIRMATION, 10),
+                status(second, 5, OrderEventType.ACCEPTED, OrderStatus.ACCEPTED, 25));
+
+        Map<OrderStatus, TimeInState> byStatus = new EnumMap<>(OrderStatus.class);
+        engine.timeInState(events).forEach(stat -> byStatus.put(stat.status(), stat));
+
+        assertThat(byStatus.get(OrderStatus.PENDING).completedStays()).isEqualTo(1);
+        assertThat(byStatus.get(OrderStatus.PENDING).averageSeconds()).isEqualTo(10 * 60);
+        assertThat(byStatus.get(OrderStatus.WAITINGCONFIRMATION).completedStays()).isEqualTo(1);
+        assertThat(byStatus.get(OrderStatus.WAITINGCONFIRMATION).averageSeconds()).isEqualTo(20 * 60);
+        assertThat(byStatus.get(OrderStatus.WAITING_PAYMENT_CONFIRMATION).completedStays()).isZero();
+        assertThat(byStatus.get(OrderStatus.WAITING_PAYMENT_CONFIRMATION).openStays()).isEqualTo(1);
+        assertThat(byStatus.get(OrderStatus.ACCEPTED).openStays()).isEqualTo(1);
+    }
+
+    private static OrderEvent status(UUID orderId, long revision, OrderEventType type, OrderStatus status, int minute) {
+        return new OrderEvent(orderId, revision, type, status, T0.plusMinutes(minute), null, null, null, 0L, "user-1");
+    }
+
+    private static OrderEvent item(UUID orderId, long revision, OrderEventType type, Long itemId, Long productId,
+                                   int quantity, long price) {
+        return new OrderEvent(orderId, revision, type, OrderStatus.PENDING, T0, itemId, productId, quantity, price, null);
+    }
+}
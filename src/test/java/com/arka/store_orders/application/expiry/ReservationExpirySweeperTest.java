@@ -0,0 +1,140 @@
+package com.arka.store_orders.application.expiry;
+
+import com.arka.store_orders.application.events.OrderEventRecorder;
+import com.arka.store_orders.application.metrics.OrderMetricsAggregator;
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.StockOperation;
+import com.arka.store_orders.domain.ports.out.persistence.StockOutboxPort;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.OrderPersistenceAdapter;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.OrderJpaRepository;
+import com.arka.store_orders.infrastructure.mapper.OrderItemMapper;
+import com.arka.store_orders.infrastructure.mapper.OrderMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {"orders.expiry.ttl=30m", "orders.expiry.batch-size=2",
+        "orders.expiry.initial-delay-ms=3600000"})
+@Import({ReservationExpirySweeper.class, OrderPersistenceAdapter.class, OrderMapper.class, OrderItemMapper.class,
+        SimpleMeterRegistry.class})
+class ReservationExpirySweeperTest {
+
+    @Autowired
+    private ReservationExpirySweeper sweeper;
+    @Autowired
+    private OrderPersistenceAdapter persistence;
+    @Autowired
+    private OrderJpaRepository repository;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @MockBean
+    private StockOutboxPort stockOutbox;
+    @MockBean
+    private OrderMetricsAggregator metrics;
+    @MockBean
+    private OrderEventRecorder events;
+
+    @Test
+    void expiresOnlyAbandonedReservationsInBoundedBatches() {
+        repository.deleteAll();
+        UUID oldPending = insert(OrderStatus.PENDING, 60, 3);
+        UUID oldWaiting = insert(OrderStatus.WAITINGCONFIRMATION, 90, 2);
+        UUID oldestPending = insert(OrderStatus.PENDING, 120, 1);
+        UUID oldAccepted = insert(OrderStatus.ACCEPTED, 120, 5);
+        UUID freshPending = insert(OrderStatus.PENDING, 1, 4);
+
+        sweeper.sweep();
+
+        assertThat(statusOf(oldPending)).isEqualTo(OrderStatus.EXPIRED);
+        assertThat(statusOf(oldWaiting)).isEqualTo(OrderStatus.EXPIRED);
+        assertThat(statusOf(oldestPending)).isEqualTo(OrderStatus.EXPIRED);
+        assertThat(statusOf(oldAccepted)).isEqualTo(OrderStatus.ACCEPTED);
+        assertThat(statusOf(freshPending)).isEqualTo(OrderStatus.PENDING);
+        verify(stockOutbox).enqueue(oldPending, StockOperation.RELEASE, Map.of(1L, 3));
+        verify(stockOutbox).enqueue(oldWaiting, StockOperation.RELEASE, Map.of(1L, 2));
+        verify(stockOutbox).enqueue(oldestPending, StockOperation.RELEASE, Map.of(1L, 1));
+        assertThat(registry.get("orders.expiry.reclaimed.units").counter().count()).isEqualTo(6);
+        assertThat(registry.get("orders.expiry.orders").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void failedOutboxWriteLeavesTheBatchPending() {
+        repository.deleteAll();
+        UUID abandoned = insert(OrderStatus.PENDING, 60, 3);
+        doThrow(new IllegalStateException("outbox unavailable")).when(stockOutbox).enqueue(any(), any(), anyMap());
+
+        sweeper.sweep();
+
+        assertThat(statusOf(abandoned)).isEqualTo(OrderStatus.PENDING);
+    }
+
+    @Test
+    void unpaidPaymentsExpireButChargedAndLeasedOrdersStay() {
+        repository.deleteAll();
+        UUID neverInitiated = insert(OrderStatus.WAITING_PAYMENT_CONFIRMATION, 60, 2);
+        UUID beingCharged = insert(OrderStatus.WAITING_PAYMENT_CONFIRMATION, 60, 2);
+        UUID charged = insert(OrderStatus.WAITING_PAYMENT_CONFIRMATION, 60, 2);
+        UUID confirmed = insert(OrderStatus.WAITINGCONFIRMATION, 60, 2);
+        jdbc.update("UPDATE orders SET payment_lease_until = ? WHERE id = ?", LocalDateTime.now().plusMinutes(1), beingCharged);
+        jdbc.update("UPDATE orders SET transaction_id = 'tx-1' WHERE id IN (?, ?)", charged, confirmed);
+
+        sweeper.sweep();
+
+        assertThat(statusOf(neverInitiated)).isEqualTo(OrderStatus.EXPIRED);
+        assertThat(statusOf(beingCharged)).isEqualTo(OrderStatus.WAITING_PAYMENT_CONFIRMATION);
+        assertThat(statusOf(charged)).isEqualTo(OrderStatus.WAITING_PAYMENT_CONFIRMATION);
+        assertThat(statusOf(confirmed)).isEqualTo(OrderStatus.WAITINGCONFIRMATION);
+        verify(stockOutbox).enqueue(eq(neverInitiated), eq(StockOperation.RELEASE), anyMap());
+        verify(stockOutbox, never()).enqueue(eq(charged), any(), anyMap());
+        assertThat(registry.get("orders.expiry.paid.stale").gauge().value()).isEqualTo(2);
+    }
+
+    private OrderStatus statusOf(UUID id) {
+        return repository.findById(id).orElseThrow().getStatus();
+    }
+
+    private UUID insert(OrderStatus status, int minutesAgo, int quantity) {
+        List<OrderItem> items = new ArrayList<>();
+        Order order = new Order(items);
+        order.setCreateAt(LocalDateTime.now().minusMinutes(minutesAgo));
+        order.setStatus(status);
+        OrderItem item = new OrderItem(null, 1L, quantity, 1000L, 0L, order.getId());
+        item.calculateAmount();
+        items.add(item);
+        order.calculateTotal();
+        return persistence.save(order).getId();
+    }
+}
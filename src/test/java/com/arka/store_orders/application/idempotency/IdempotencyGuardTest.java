@@ -0,0 +1,247 @@
+package com.arka.store_orders.application.idempotency;
+
+import com.arka.store_orders.domain.models.IdempotencyRecord;
+import com.arka.store_orders.domain.ports.out.persistence.IdempotencyPort;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.IdempotencyPersistenceAdapter;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.IdempotencyKeyReusedException;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.OrderConflictException;
+import com.arka.store_orders.infrastructure.resources.Response.OrderResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({IdempotencyGuard.class, IdempotencyPersistenceAdapter.class})
+class IdempotencyGuardTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private IdempotencyGuard guard;
+    @Autowired
+    private IdempotencyPort store;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void concurrentRequestsWithSameKeyRunOnce() throws Exception {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<OrderResponse> responses = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<OrderResponse>> results = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return guard.execute(key, "POST /orders", Map.of("userId", "user-1"), OrderResponse.class,
+                            () -> createOrder(executions));
+                }));
+            }
+            start.countDown();
+            for (Future<OrderResponse> result : results) {
+                responses.add(result.get(30, TimeUnit.SECONDS));
+            }
+        }
+
+        assertThat(executions).hasValue(1);
+        assertThat(responses).extracting(OrderResponse::getId).containsOnly(responses.get(0).getId());
+    }
+
+    @Test
+    void completedResponseIsReplayedFromStore() {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+        OrderResponse first = guard.execute(key, "POST /orders/process/1", null, OrderResponse.class,
+                () -> createOrder(executions));
+
+        IdempotencyGuard restarted = new IdempotencyGuard(store, objectMapper, Duration.ofHours(1), 100, Duration.ofMinutes(1));
+        OrderResponse replayed = restarted.execute(key, "POST /orders/process/1", null, OrderResponse.class,
+                () -> createOrder(executions));
+
+        assertThat(executions).hasValue(1);
+        assertThat(replayed.getId()).isEqualTo(first.getId());
+    }
+
+    @Test
+    void keyReusedForDifferentRequestIsRejected() {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+        guard.execute(key, "POST /orders", Map.of("userId", "user-1"), OrderResponse.class, () -> createOrder(executions));
+
+        assertThatThrownBy(() -> guard.execute(key, "POST /orders", Map.of("userId", "user-2"), OrderResponse.class,
+                () -> createOrder(executions)))
+                .isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void failedRequestReleasesKey() {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+
+        assertThatThrownBy(() -> guard.execute(key, "POST /orders/accept/1/user-1", null, OrderResponse.class, () -> {
+            throw new IllegalStateException("downstream failed");
+        })).isInstanceOf(IllegalStateException.class);
+        guard.execute(key, "POST /orders/accept/1/user-1", null, OrderResponse.class, () -> createOrder(executions));
+
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void expiredKeyThatWasNotPurgedIsTakenOver() {
+        String key = UUID.randomUUID().toString();
+        AtomicInteger executions = new AtomicInteger();
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+        assertThat(store.tryStart(key, "stale", yesterday, yesterday.plusHours(1))).isTrue();
+
+        OrderResponse response = guard.execute(key, "POST /orders/process/1", null, OrderResponse.class,
+                () -> createOrder(executions));
+
+        assertThat(executions).hasValue(1);
+        assertThat(store.find(key, LocalDateTime.now()))
+                .hasValueSatisfying(stored -> assertThat(stored.response()).contains(response.getId().toString()));
+    }
+
+    @Test
+    void responseIsStoredAgainWhenCompletionFails() {
+        IdempotencyPort failing = mock(IdempotencyPort.class);
+        when(failing.tryStart(anyString(), anyString(), any(), any())).thenReturn(true);
+        when(failing.complete(any(), any())).thenThrow(new IllegalStateException("connection reset"));
+        IdempotencyGuard flaky = new IdempotencyGuard(failing, objectMapper, Duration.ofHours(1), 100, Duration.ofMinutes(1));
+        AtomicInteger executions = new AtomicInteger();
+
+        OrderResponse first = flaky.execute("key-1", "POST /orders", null, OrderResponse.class, () -> createOrder(executions));
+        OrderResponse retried = flaky.execute("key-1", "POST /orders", null, OrderResponse.class, () -> createOrder(executions));
+
+        assertThat(executions).hasValue(1);
+        assertThat(retried.getId()).isEqualTo(first.getId());
+        verify(failing, times(3)).complete(any(), any());
+
+        flaky.purgeExpired();
+        verify(failing).touch(eq(Set.of("key-1")), any());
+
+        reset(failing);
+        when(failing.complete(any(), any())).thenReturn(true);
+        flaky.purgeExpired();
+        flaky.purgeExpired();
+        verify(failing, times(1)).complete(any(), any());
+        verify(failing, times(2)).touch(eq(Set.of()), any());
+    }
+
+    @Test
+    void completingAPurgedKeyInsertsTheResponseAgain() {
+        String key = UUID.randomUUID().toString();
+        LocalDateTime now = LocalDateTime.now();
+
+        assertThat(store.complete(new IdempotencyRecord(key, "fingerprint", "{}", now.plusHours(1)), now)).isTrue();
+
+        assertThat(store.find(key, now)).hasValueSatisfying(stored -> assertThat(stored.isCompleted()).isTrue());
+    }
+
+    @Test
+    void keyStillRunningOnThisInstanceSurvivesThePurge() {
+        String key = UUID.randomUUID().toString();
+        IdempotencyGuard slow = new IdempotencyGuard(store, objectMapper, Duration.ofHours(1), 100, Duration.ofMillis(200));
+        AtomicInteger executions = new AtomicInteger();
+
+        slow.execute(key, "POST /orders/process/1", null, OrderResponse.class, () -> {
+            sleep(300);
+            slow.purgeExpired();
+            return createOrder(executions);
+        });
+
+        assertThat(store.find(key, LocalDateTime.now()))
+                .hasValueSatisfying(stored -> assertThat(stored.isCompleted()).isTrue());
+    }
+
+    @Test
+    void waitingForTheSameKeyGivesUpAfterTheInProgressTimeout() throws Exception {
+        String key = UUID.randomUUID().toString();
+        IdempotencyGuard impatient = new IdempotencyGuard(store, objectMapper, Duration.ofHours(1), 100, Duration.ofMillis(100));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        try (ExecutorService executor = Executors.newSingleThreadExecutor()) {
+            Future<OrderResponse> first = executor.submit(() -> impatient.execute(key, "POST /orders", null,
+                    OrderResponse.class, () -> {
+                        running.countDown();
+                        await(release);
+                        return createOrder(executions);
+                    }));
+            assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> impatient.execute(key, "POST /orders", null, OrderResponse.class,
+                    () -> createOrder(executions)))
+                    .isInstanceOf(OrderConflictException.class);
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(executions).hasValue(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static OrderResponse createOrder(AtomicInteger executions) {
+        executions.incrementAndGet();
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        OrderResponse response = new OrderResponse();
+        response.setId(UUID.randomUUID());
+        return response;
+    }
+}
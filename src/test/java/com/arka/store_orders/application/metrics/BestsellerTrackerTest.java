@@ -0,0 +1,80 @@
+package com.arka.store_orders.application.metrics;
+
+import com.arka.store_orders.domain.models.ProductSales;
+import com.arka.store_orders.domain.models.ProductSalesRanking;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BestsellerTrackerTest {
+
+    @Test
+    void exactRankingMatchesSortingEveryProduct() {
+        BestsellerTracker tracker = new BestsellerTracker(false, 0.001, 0.99, 1000);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(7);
+        for (int i = 0; i < 200_000; i++) {
+            long productId = random.nextInt(20_000);
+            long delta = random.nextInt(10) < 8 ? 1 + random.nextInt(5) : -expected.getOrDefault(productId, 0L);
+            tracker.add(productId, delta);
+            expected.merge(productId, delta, Long::sum);
+        }
+
+        Comparator<ProductSales> byUnits = Comparator.comparingLong(ProductSales::unitsSold);
+        List<ProductSales> sales = expected.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .map(entry -> new ProductSales(entry.getKey(), entry.getValue()))
+                .toList();
+        assertThat(tracker.top(25).products()).isEqualTo(sales.stream()
+                .sorted(byUnits.reversed().thenComparing(ProductSales::productId)).limit(25).toList());
+        assertThat(tracker.bottom(25).products()).isEqualTo(sales.stream()
+                .sorted(byUnits.thenComparing(ProductSales::productId)).limit(25).toList());
+    }
+
+    @Test
+    void approximateRankingFindsHeavyHittersWithinTheErrorBound() {
+        BestsellerTracker tracker = new BestsellerTracker(true, 0.001, 0.99, 200);
+        Map<Long, Long> exact = new HashMap<>();
+        Random random = new Random(11);
+        for (int i = 0; i < 500_000; i++) {
+            long productId = (long) Math.floor(Math.pow(1_000_000, random.nextDouble()));
+            tracker.add(productId, 1);
+            exact.merge(productId, 1L, Long::sum);
+        }
+
+        ProductSalesRanking ranking = tracker.approximateTop(10);
+
+        assertThat(ranking.approximate()).isTrue();
+        assertThat(ranking.errorBound()).isEqualTo(500);
+        List<Long> exactTop = exact.entrySet().stream()
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .limit(10)
+                .toList();
+        assertThat(ranking.products()).extracting(ProductSales::productId).containsAll(exactTop.subList(0, 5));
+        for (ProductSales sales : ranking.products()) {
+            assertThat(sales.unitsSold()).isBetween(exact.get(sales.productId()),
+                    exact.get(sales.productId()) + ranking.errorBound());
+        }
+        assertThat(tracker.isExactEnabled()).isFalse();
+        assertThat(tracker.bestSellers().getMostSoldProductId()).isEqualTo(ranking.products().get(0).productId());
+    }
+
+    @Test
+    void rankingsReadACopyThatFollowsLaterUpdates() {
+        BestsellerTracker tracker = new BestsellerTracker(false, 0.001, 0.99, 1000);
+        tracker.add(1L, 5);
+        List<ProductSales> before = tracker.top(5).products();
+
+        tracker.add(2L, 9);
+
+        assertThat(before).containsExactly(new ProductSales(1L, 5));
+        assertThat(tracker.top(5).products()).containsExactly(new ProductSales(2L, 9), new ProductSales(1L, 5));
+    }
+}
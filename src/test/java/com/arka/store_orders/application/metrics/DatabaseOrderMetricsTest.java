@@ -0,0 +1,108 @@
+package com.arka.store_orders.application.metrics;
+
+import com.arka.store_orders.domain.models.ComprehensiveOrderMetrics;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.OrderPersistenceAdapter;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.OrderItemJpaRepository;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.OrderJpaRepository;
+import com.arka.store_orders.infrastructure.mapper.OrderItemMapper;
+import com.arka.store_orders.infrastructure.mapper.OrderMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({DatabaseOrderMetrics.class, OrderMetricsAggregator.class, SalesTimeSeries.class, BestsellerTracker.class,
+        OrderPersistenceAdapter.class, OrderMapper.class, OrderItemMapper.class, SimpleMeterRegistry.class})
+class DatabaseOrderMetricsTest {
+    private static final int ORDERS = 20_000;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    @Autowired
+    private DatabaseOrderMetrics databaseMetrics;
+    @Autowired
+    private OrderMetricsAggregator aggregator;
+    @Autowired
+    private BestsellerTracker bestsellers;
+    @Autowired
+    private OrderPersistenceAdapter persistence;
+    @Autowired
+    private OrderJpaRepository repository;
+    @Autowired
+    private OrderItemJpaRepository itemRepository;
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    @AfterEach
+    void deleteOrders() {
+        itemRepository.deleteAllInBatch();
+        repository.deleteAllInBatch();
+    }
+
+    @Test
+    void aggregateQueriesMatchTheInMemoryMetrics() {
+        insertOrders(new Random(3));
+
+        aggregator.rebuild();
+        ComprehensiveOrderMetrics inMemory = aggregator.snapshot();
+        ComprehensiveOrderMetrics database = databaseMetrics.compute();
+
+        assertThat(database.getTotalOrders()).isEqualTo(ORDERS).isEqualTo(inMemory.getTotalOrders());
+        assertThat(database.getAcceptedOrders()).isEqualTo(inMemory.getAcceptedOrders());
+        assertThat(database.getPendingOrders()).isEqualTo(inMemory.getPendingOrders());
+        assertThat(database.getTotalSalesAmount()).isEqualByComparingTo(inMemory.getTotalSalesAmount());
+        assertThat(database.getAverageOrderValue()).isEqualByComparingTo(inMemory.getAverageOrderValue());
+        assertThat(database.getBestsellers()).usingRecursiveComparison().isEqualTo(inMemory.getBestsellers());
+        assertThat(persistence.rankProductsByQuantity(false, 50)).isEqualTo(bestsellers.top(50).products());
+        assertThat(persistence.rankProductsByQuantity(true, 50)).isEqualTo(bestsellers.bottom(50).products());
+    }
+
+    /** Loads the fixture with plain JDBC batches; going through JPA would dominate the test time. */
+    private void insertOrders(Random random) {
+        LocalDateTime start = LocalDateTime.now().minusDays(30);
+        List<Object[]> orders = new ArrayList<>(ORDERS);
+        List<Object[]> items = new ArrayList<>(ORDERS * 3);
+        for (int i = 0; i < ORDERS; i++) {
+            UUID orderId = UUID.randomUUID();
+            long total = 0;
+            int lines = 1 + random.nextInt(5);
+            for (int line = 0; line < lines; line++) {
+                long productId = 1 + (long) Math.floor(Math.pow(3000, random.nextDouble()));
+                int quantity = 1 + random.nextInt(10);
+                long price = 100L + random.nextInt(10_000);
+                items.add(new Object[]{productId, quantity, price, price * quantity, orderId});
+                total += price * quantity;
+            }
+            LocalDateTime createAt = start.plusMinutes(i);
+            orders.add(new Object[]{orderId, createAt, STATUSES[random.nextInt(STATUSES.length)].name(), total,
+                    createAt, "user-" + random.nextInt(500)});
+        }
+        jdbc.batchUpdate("""
+                INSERT INTO orders (id, create_at, status, total_minor, update_at, user_id, version)
+                VALUES (?, ?, ?, ?, ?, ?, 0)""", orders);
+        jdbc.batchUpdate("""
+                INSERT INTO items (id, product_id, quantity, price_minor, amount_minor, order_id)
+                VALUES (nextval('items_seq'), ?, ?, ?, ?, ?)""", items);
+    }
+}
@@ -0,0 +1,134 @@
+package com.arka.store_orders.application.metrics;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.SalesPoint;
+import com.arka.store_orders.domain.models.TimeGranularity;
+import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderMetricsAggregatorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderPersistencePort persistence = mock(OrderPersistencePort.class);
+    private final BestsellerTracker bestsellers = new BestsellerTracker(false, 0.001, 0.99, 1000);
+    private final SalesTimeSeries timeSeries = new SalesTimeSeries(Duration.ofDays(35), Duration.ofDays(400), Duration.ofDays(2));
+    private final OrderMetricsAggregator aggregator = new OrderMetricsAggregator(persistence, registry,
+            timeSeries, bestsellers);
+
+    @Test
+    void statusChangesAreCounted() {
+        OrderContribution pending = contribution(OrderStatus.PENDING);
+        OrderContribution waiting = contribution(OrderStatus.WAITINGCONFIRMATION);
+
+        aggregator.record(null, pending);
+        aggregator.record(null, pending);
+        aggregator.record(pending, waiting);
+        aggregator.record(waiting, waiting);
+
+        assertThat(registry.get("orders.status.transitions").tags("from", "NEW", "to", "PENDING").counter().count())
+                .isEqualTo(2);
+        assertThat(registry.get("orders.status.transitions").tags("from", "PENDING", "to", "WAITINGCONFIRMATION")
+                .counter().count()).isEqualTo(1);
+        assertThat(aggregator.countByStatus(OrderStatus.PENDING)).isEqualTo(1);
+        assertThat(aggregator.countByStatus(OrderStatus.WAITINGCONFIRMATION)).isEqualTo(1);
+    }
+
+    @Test
+    void itemChangesAreAppliedOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            aggregator.recordItemChange(7L, 3);
+
+            assertThat(bestsellers.top(1).products()).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(bestsellers.top(1).products()).singleElement()
+                .satisfies(product -> assertThat(product.unitsSold()).isEqualTo(3));
+    }
+
+    @Test
+    void resyncReplacesDriftedCountsWithTheDatabaseAggregates() {
+        aggregator.record(null, contribution(OrderStatus.PENDING));
+        aggregator.record(null, contribution(OrderStatus.PENDING));
+        when(persistence.countByStatus()).thenReturn(Map.of(OrderStatus.PENDING, 5L, OrderStatus.ACCEPTED, 2L));
+        when(persistence.sumTotal(OrderStatus.ACCEPTED)).thenReturn(3000L);
+
+        aggregator.resync();
+
+        assertThat(aggregator.countByStatus(OrderStatus.PENDING)).isEqualTo(5);
+        assertThat(aggregator.snapshot().getAcceptedOrders()).isEqualTo(2);
+        assertThat(aggregator.snapshot().getTotalSalesAmount()).isEqualByComparingTo("30.00");
+    }
+
+    @Test
+    void deltaArrivingDuringResyncIsAppliedOnTopOfTheAggregates() throws Exception {
+        Thread[] writer = new Thread[1];
+        when(persistence.countByStatus()).thenAnswer(invocation -> {
+            writer[0] = new Thread(() -> aggregator.record(null, contribution(OrderStatus.PENDING)));
+            writer[0].start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (writer[0].getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertThat(writer[0].getState()).isEqualTo(Thread.State.WAITING);
+            return Map.of(OrderStatus.PENDING, 5L);
+        });
+
+        aggregator.resync();
+        writer[0].join(5000);
+
+        assertThat(aggregator.countByStatus(OrderStatus.PENDING)).isEqualTo(6);
+    }
+
+    @Test
+    void timeSeriesResyncRereadsTheRecentDaysFromTheDatabase() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime old = now.minusDays(10);
+        aggregator.record(null, new OrderContribution(OrderStatus.PENDING, 0, new long[0], new long[0], new long[0], old, null));
+        aggregator.record(null, new OrderContribution(OrderStatus.PENDING, 0, new long[0], new long[0], new long[0], now, null));
+        Order acceptedElsewhere = new Order(new ArrayList<>());
+        acceptedElsewhere.setStatus(OrderStatus.ACCEPTED);
+        acceptedElsewhere.setCreateAt(now);
+        acceptedElsewhere.setTotal(2500);
+        doAnswer(invocation -> {
+            invocation.<Consumer<Order>>getArgument(1).accept(acceptedElsewhere);
+            return null;
+        }).when(persistence).forEachOrderCreatedSince(eq(timeSeries.resyncStart()), any());
+
+        aggregator.resyncTimeSeries();
+
+        SalesPoint today = timeSeries.series(now.toLocalDate().atStartOfDay(), now.toLocalDate().plusDays(1).atStartOfDay(),
+                TimeGranularity.DAY, null, null).get(0);
+        SalesPoint oldDay = timeSeries.series(old.toLocalDate().atStartOfDay(), old.toLocalDate().plusDays(1).atStartOfDay(),
+                TimeGranularity.DAY, null, null).get(0);
+        assertThat(today.ordersByStatus()).containsEntry(OrderStatus.PENDING, 0L).containsEntry(OrderStatus.ACCEPTED, 1L);
+        assertThat(today.sales()).isEqualByComparingTo("25.00");
+        assertThat(oldDay.ordersByStatus()).containsEntry(OrderStatus.PENDING, 1L);
+    }
+
+    private static OrderContribution contribution(OrderStatus status) {
+        return new OrderContribution(status, 0, new long[0], new long[0], new long[0], null, null);
+    }
+}
@@ -0,0 +1,36 @@
+package com.arka.store_orders.application.metrics;
+
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderStatusGaugesTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderPersistencePort persistence = mock(OrderPersistencePort.class);
+    private final OrderStatusGauges gauges = new OrderStatusGauges(persistence, registry);
+
+    @Test
+    void gaugesFollowTheDatabaseCountsAndKeepThemWhenTheQueryFails() {
+        when(persistence.countByStatus()).thenReturn(Map.of(OrderStatus.PENDING, 4L, OrderStatus.ACCEPTED, 9L));
+        gauges.refresh();
+
+        when(persistence.countByStatus()).thenThrow(new IllegalStateException("database down"));
+        gauges.refresh();
+
+        assertThat(gauge(OrderStatus.PENDING)).isEqualTo(4);
+        assertThat(gauge(OrderStatus.ACCEPTED)).isEqualTo(9);
+        assertThat(gauge(OrderStatus.CANCELED)).isZero();
+    }
+
+    private double gauge(OrderStatus status) {
+        return registry.get("orders.status.current").tag("status", status.name()).gauge().value();
+    }
+}
@@ -0,0 +1,89 @@
+package com.arka.store_orders.application.metrics;
+
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.ProductSales;
+import com.arka.store_orders.domain.models.SalesPoint;
+import com.arka.store_orders.domain.models.TimeGranularity;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.InvalidMetricsQueryException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SalesTimeSeriesTest {
+
+    private final SalesTimeSeries series = new SalesTimeSeries(Duration.ofDays(35), Duration.ofDays(400), Duration.ofDays(2));
+    private final LocalDateTime dayStart = LocalDateTime.now().truncatedTo(ChronoUnit.DAYS).minusDays(5);
+
+    @Test
+    void bucketsFollowStatusChangesOfTheOrder() {
+        OrderContribution pending = order(OrderStatus.PENDING, dayStart.plusHours(10).plusMinutes(5), "u1",
+                new long[]{1, 2}, new long[]{3, 1});
+        series.add(pending, 1);
+        series.add(order(OrderStatus.ACCEPTED, dayStart.plusHours(11), "u2", new long[]{2}, new long[]{4}), 1);
+
+        series.add(pending, -1);
+        series.add(order(OrderStatus.ACCEPTED, pending.createAt(), "u1", new long[]{1, 2}, new long[]{3, 1}), 1);
+
+        List<SalesPoint> hourly = series.series(dayStart.plusHours(10), dayStart.plusHours(12),
+                TimeGranularity.HOUR, null, null);
+        assertThat(hourly).hasSize(2);
+        assertThat(hourly.get(0).start()).isEqualTo(dayStart.plusHours(10));
+        assertThat(hourly.get(0).ordersByStatus().get(OrderStatus.PENDING)).isZero();
+        assertThat(hourly.get(0).ordersByStatus().get(OrderStatus.ACCEPTED)).isEqualTo(1);
+        assertThat(hourly.get(0).unitsSold()).isEqualTo(4);
+        assertThat(hourly.get(0).sales()).isEqualByComparingTo(new BigDecimal("4.00"));
+
+        SalesPoint daily = series.series(dayStart, dayStart.plusDays(1), TimeGranularity.DAY, "u2", null).get(0);
+        assertThat(daily.orders()).isEqualTo(1);
+        assertThat(daily.unitsSold()).isEqualTo(4);
+        SalesPoint product = series.series(dayStart, dayStart.plusDays(1), TimeGranularity.DAY, null, 2L).get(0);
+        assertThat(product.orders()).isEqualTo(2);
+        assertThat(product.unitsSold()).isEqualTo(5);
+    }
+
+    @Test
+    void topProductsCombineDaysWithPartialHoursAtTheEdges() {
+        series.add(order(OrderStatus.ACCEPTED, dayStart.minusHours(1), "u1", new long[]{1}, new long[]{9}), 1);
+        series.add(order(OrderStatus.ACCEPTED, dayStart.plusHours(12), "u1", new long[]{2, 3}, new long[]{5, 1}), 1);
+        series.add(order(OrderStatus.ACCEPTED, dayStart.plusDays(1).plusHours(2), "u2", new long[]{3}, new long[]{6}), 1);
+        series.add(order(OrderStatus.ACCEPTED, dayStart.plusDays(1).plusHours(5), "u2", new long[]{1}, new long[]{50}), 1);
+        series.add(order(OrderStatus.CANCELED, dayStart.plusHours(13), "u3", new long[]{4}, new long[]{70}), 1);
+
+        List<ProductSales> top = series.topProducts(2, dayStart.minusHours(1), dayStart.plusDays(1).plusHours(3));
+
+        assertThat(top).containsExactly(new ProductSales(1L, 9), new ProductSales(3L, 7));
+    }
+
+    @Test
+    void rangesOlderThanTheirRetentionAreRejected() {
+        SalesTimeSeries shortDetail = new SalesTimeSeries(Duration.ofDays(2), Duration.ofDays(3), Duration.ofDays(2));
+        shortDetail.add(order(OrderStatus.ACCEPTED, dayStart.plusHours(3), "u1", new long[]{1}, new long[]{2}), 1);
+
+        assertThat(shortDetail.series(dayStart, dayStart.plusDays(1), TimeGranularity.DAY, null, null).get(0).unitsSold())
+                .isEqualTo(2);
+        assertThatThrownBy(() -> shortDetail.series(dayStart, dayStart.plusDays(1), TimeGranularity.HOUR, null, null))
+                .isInstanceOf(InvalidMetricsQueryException.class);
+        assertThatThrownBy(() -> shortDetail.series(dayStart, dayStart.plusDays(1), TimeGranularity.DAY, "u1", null))
+                .isInstanceOf(InvalidMetricsQueryException.class);
+        assertThatThrownBy(() -> shortDetail.topProducts(1, dayStart, dayStart.plusDays(1)))
+                .isInstanceOf(InvalidMetricsQueryException.class);
+    }
+
+    private static OrderContribution order(OrderStatus status, LocalDateTime createAt, String userId,
+                                           long[] productIds, long[] quantities) {
+        long[] amounts = new long[quantities.length];
+        long total = 0;
+        for (int i = 0; i < quantities.length; i++) {
+            amounts[i] = quantities[i] * 100;
+            total += amounts[i];
+        }
+        return new OrderContribution(status, total, productIds, quantities, amounts, createAt, userId);
+    }
+}
@@ -0,0 +1,116 @@
+package com.arka.store_orders.application.payment;
+
+import com.arka.store_orders.application.events.OrderEventRecorder;
+import com.arka.store_orders.application.metrics.OrderMetricsAggregator;
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderEventType;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.PaymentAttempt;
+import com.arka.store_orders.domain.models.StockOperation;
+import com.arka.store_orders.domain.ports.out.feignclient.PaymentPort;
+import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import com.arka.store_orders.domain.ports.out.persistence.PaymentClaimPort;
+import com.arka.store_orders.domain.ports.out.persistence.StockOutboxPort;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.DownstreamUnavailableException;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.PaymentFailedException;
+import com.arka.store_orders.infrastructure.resources.Request.PaymentRequest;
+import io.github.resilience4j.retry.RetryConfig;
+import io.github.resilience4j.retry.RetryRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentInitiationWorkerTest {
+
+    private final PaymentClaimPort claims = mock(PaymentClaimPort.class);
+    private final OrderPersistencePort persistence = mock(OrderPersistencePort.class);
+    private final PaymentPort paymentPort = mock(PaymentPort.class);
+    private final StockOutboxPort stockOutbox = mock(StockOutboxPort.class);
+    private final OrderEventRecorder events = mock(OrderEventRecorder.class);
+    private final PaymentInitiationWorker worker = new PaymentInitiationWorker(claims, persistence, paymentPort,
+            stockOutbox, mock(OrderMetricsAggregator.class), events, mock(PlatformTransactionManager.class),
+            RetryRegistry.of(RetryConfig.custom().maxAttempts(1).build()), 1, 200, Duration.ofSeconds(60), 3);
+
+    @AfterEach
+    void tearDown() {
+        worker.shutdown();
+    }
+
+    @Test
+    void initiatedPaymentStoresTheTransactionId() {
+        Order order = waitingOrder();
+        when(paymentPort.processPayment(any())).thenReturn("tx-1");
+        when(claims.recordTransaction(order.getId(), "tx-1")).thenReturn(true);
+
+        worker.initiate(new PaymentAttempt(order.getId(), 4999, 1));
+
+        verify(paymentPort).processPayment(new PaymentRequest(order.getId(), new BigDecimal("49.99")));
+        verify(claims).recordTransaction(order.getId(), "tx-1");
+        verify(persistence, never()).transitionStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    void declinedPaymentFailsTheOrderAndReleasesItsStock() {
+        Order order = waitingOrder();
+        when(paymentPort.processPayment(any())).thenThrow(new PaymentFailedException("card declined"));
+        when(persistence.findByIdWithItems(order.getId())).thenReturn(Optional.of(order));
+        when(persistence.transitionStatus(order.getId(), 3L, OrderStatus.WAITING_PAYMENT_CONFIRMATION,
+                OrderStatus.PAYMENT_FAILED)).thenReturn(true);
+
+        worker.initiate(new PaymentAttempt(order.getId(), 4999, 1));
+
+        verify(stockOutbox).enqueue(order.getId(), StockOperation.RELEASE, Map.of(7L, 2));
+        verify(events).statusChanged(order, OrderEventType.PAYMENT_FAILED);
+        verify(claims, never()).recordTransaction(any(), anyString());
+    }
+
+    @Test
+    void orderPastTheAttemptCapFailsWithoutAnotherCharge() {
+        Order order = waitingOrder();
+        when(persistence.findByIdWithItems(order.getId())).thenReturn(Optional.of(order));
+        when(persistence.transitionStatus(order.getId(), 3L, OrderStatus.WAITING_PAYMENT_CONFIRMATION,
+                OrderStatus.PAYMENT_FAILED)).thenReturn(true);
+
+        worker.initiate(new PaymentAttempt(order.getId(), 4999, 4));
+
+        verify(paymentPort, never()).processPayment(any());
+        verify(stockOutbox).enqueue(order.getId(), StockOperation.RELEASE, Map.of(7L, 2));
+    }
+
+    @Test
+    void unavailablePaymentServiceLeavesTheOrderForTheNextClaim() {
+        Order order = waitingOrder();
+        when(paymentPort.processPayment(any())).thenThrow(new DownstreamUnavailableException("payments is unavailable", new TimeoutException()));
+
+        worker.initiate(new PaymentAttempt(order.getId(), 4999, 2));
+
+        verify(persistence, never()).transitionStatus(any(), any(), any(), any());
+        verify(stockOutbox, never()).enqueue(any(), any(), anyMap());
+        verify(claims, never()).recordTransaction(any(), anyString());
+    }
+
+    private static Order waitingOrder() {
+        OrderItem item = OrderItem.builder().id(1L).productId(7L).quantity(2).price(4999).build();
+        Order order = new Order(new ArrayList<>(List.of(item)));
+        order.setStatus(OrderStatus.WAITING_PAYMENT_CONFIRMATION);
+        order.setVersion(3L);
+        return order;
+    }
+}
@@ -0,0 +1,99 @@
+package com.arka.store_orders.application.payment;
+
+import com.arka.store_orders.application.events.OrderEventRecorder;
+import com.arka.store_orders.application.metrics.OrderMetricsAggregator;
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderCursor;
+import com.arka.store_orders.domain.models.OrderEventType;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.ports.out.feignclient.PaymentPort;
+import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.OrderConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentReconciliationJobTest {
+
+    private final OrderPersistencePort persistence = mock(OrderPersistencePort.class);
+    private final PaymentPort paymentPort = mock(PaymentPort.class);
+    private final OrderEventRecorder events = mock(OrderEventRecorder.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final PaymentReconciliationJob job = new PaymentReconciliationJob(persistence, paymentPort,
+            mock(OrderMetricsAggregator.class), events, transactionManager, 2, 4);
+
+    @Test
+    void pagesFollowTheKeysetAndWrapAround() {
+        Order first = initiatedOrder("tx-1");
+        Order second = initiatedOrder("tx-2");
+        Order third = initiatedOrder("tx-3");
+        OrderCursor afterSecond = OrderCursor.of(second);
+        when(persistence.findWithTransaction(eq(OrderStatus.WAITING_PAYMENT_CONFIRMATION), isNull(), eq(2)))
+                .thenReturn(List.of(first, second));
+        when(persistence.findWithTransaction(OrderStatus.WAITING_PAYMENT_CONFIRMATION, afterSecond, 2))
+                .thenReturn(List.of(third));
+
+        job.reconcile();
+        job.reconcile();
+        job.reconcile();
+
+        var calls = inOrder(persistence);
+        calls.verify(persistence).findWithTransaction(eq(OrderStatus.WAITING_PAYMENT_CONFIRMATION), isNull(), eq(2));
+        calls.verify(persistence).findWithTransaction(OrderStatus.WAITING_PAYMENT_CONFIRMATION, afterSecond, 2);
+        calls.verify(persistence).findWithTransaction(eq(OrderStatus.WAITING_PAYMENT_CONFIRMATION), isNull(), eq(2));
+    }
+
+    @Test
+    void aFailingOrderDoesNotStopTheRestOfThePage() {
+        Order conflicting = initiatedOrder("tx-1");
+        Order confirmed = initiatedOrder("tx-2");
+        when(persistence.findWithTransaction(any(), any(), eq(2))).thenReturn(List.of(conflicting, confirmed));
+        when(paymentPort.isPaymentValid(anyString())).thenReturn(true);
+        when(persistence.transitionStatus(eq(conflicting.getId()), any(), any(), any()))
+                .thenThrow(new OrderConflictException("modified concurrently"));
+        when(persistence.transitionStatus(confirmed.getId(), 1L, OrderStatus.WAITING_PAYMENT_CONFIRMATION,
+                OrderStatus.WAITINGCONFIRMATION)).thenReturn(true);
+
+        job.reconcile();
+
+        verify(events).statusChanged(confirmed, OrderEventType.PAYMENT_CONFIRMED);
+        verify(events, never()).statusChanged(conflicting, OrderEventType.PAYMENT_CONFIRMED);
+    }
+
+    @Test
+    void confirmationRollsBackWhenItsEventCannotBeWritten() {
+        Order order = initiatedOrder("tx-1");
+        when(persistence.findWithTransaction(any(), any(), eq(2))).thenReturn(List.of(order));
+        when(paymentPort.isPaymentValid(anyString())).thenReturn(true);
+        when(persistence.transitionStatus(order.getId(), 1L, OrderStatus.WAITING_PAYMENT_CONFIRMATION,
+                OrderStatus.WAITINGCONFIRMATION)).thenReturn(true);
+        doThrow(new IllegalStateException("event log unavailable"))
+                .when(events).statusChanged(order, OrderEventType.PAYMENT_CONFIRMED);
+
+        job.reconcile();
+
+        verify(transactionManager).rollback(any());
+        verify(transactionManager, never()).commit(any());
+    }
+
+    private static Order initiatedOrder(String transactionId) {
+        Order order = new Order(new ArrayList<>());
+        order.setStatus(OrderStatus.WAITING_PAYMENT_CONFIRMATION);
+        order.setTransactionId(transactionId);
+        order.setVersion(1L);
+        return order;
+    }
+}
@@ -0,0 +1,62 @@
+package com.arka.store_orders.application.reservation;
+
+import com.arka.store_orders.domain.models.StockMovement;
+import com.arka.store_orders.domain.models.StockOperation;
+import com.arka.store_orders.domain.ports.out.feignclient.ProductPort;
+import com.arka.store_orders.domain.ports.out.persistence.StockOutboxPort;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockOutboxDispatcherTest {
+
+    private final StockOutboxPort outbox = mock(StockOutboxPort.class);
+    private final ProductPort productPort = mock(ProductPort.class);
+    private final StockOutboxDispatcher dispatcher = new StockOutboxDispatcher(outbox, productPort, 50, 4,
+            Duration.ofSeconds(30), Duration.ofSeconds(1), Duration.ofMinutes(5), 3);
+
+    @Test
+    void appliesEachOperationAndMarksItSent() {
+        UUID orderId = UUID.randomUUID();
+        when(outbox.claimDue(eq(50), any())).thenReturn(List.of(
+                new StockMovement(1L, orderId, StockOperation.DECREMENT, Map.of(1L, 2), 0),
+                new StockMovement(2L, orderId, StockOperation.RELEASE, Map.of(3L, 4), 0)));
+
+        dispatcher.dispatch();
+
+        verify(productPort).decrementStockBatch(Map.of(1L, 2));
+        verify(productPort).recoveryStockBatch(Map.of(3L, 4));
+        verify(outbox).markSent(1L);
+        verify(outbox).markSent(2L);
+    }
+
+    @Test
+    void failedMovementIsRescheduledUntilTheLastAttempt() {
+        UUID orderId = UUID.randomUUID();
+        when(outbox.claimDue(eq(50), any())).thenReturn(List.of(
+                new StockMovement(1L, orderId, StockOperation.RELEASE, Map.of(1L, 2), 0),
+                new StockMovement(2L, orderId, StockOperation.RELEASE, Map.of(1L, 2), 2)));
+        doThrow(new IllegalStateException("products-service unavailable"))
+                .when(productPort).recoveryStockBatch(anyMap());
+
+        dispatcher.dispatch();
+
+        verify(outbox).markFailed(eq(1L), eq(1), any(), eq("products-service unavailable"));
+        verify(outbox).markDead(2L, 3, "products-service unavailable");
+        verify(outbox, never()).markSent(any());
+        verify(outbox, never()).markFailed(eq(2L), anyInt(), any(), any());
+    }
+}
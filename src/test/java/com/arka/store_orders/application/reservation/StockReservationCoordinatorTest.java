@@ -0,0 +1,69 @@
+package com.arka.store_orders.application.reservation;
+
+import com.arka.store_orders.domain.ports.out.feignclient.ProductPort;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.InsufficientStockException;
+import com.arka.store_orders.infrastructure.resources.Response.AvailableStockResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StockReservationCoordinatorTest {
+
+    private final ProductPort productPort = mock(ProductPort.class);
+
+    @Test
+    void mergesDemandsAndRejectsOnlyOrdersThatDoNotFit() {
+        StockReservationCoordinator coordinator = new StockReservationCoordinator(productPort, 4, 100);
+        when(productPort.getAvailableStockBatch(anyCollection())).thenAnswer(invocation -> stock(
+                invocation.getArgument(0), Map.of(1L, 5, 2L, 10)));
+
+        BatchReservation reservation = coordinator.reserveAll(List.of(
+                Map.of(1L, 2, 2L, 3),
+                Map.of(1L, 4),
+                Map.of(1L, 3, 2L, 7)));
+
+        assertThat(reservation.isReserved(0)).isTrue();
+        assertThat(reservation.failure(1)).isInstanceOf(InsufficientStockException.class);
+        assertThat(reservation.isReserved(2)).isTrue();
+        verify(productPort, times(1)).getAvailableStockBatch(anyCollection());
+        verify(productPort, times(1)).reserveStockBatch(Map.of(1L, 5, 2L, 10));
+        verify(productPort, never()).recoveryStockBatch(anyMap());
+    }
+
+    @Test
+    void failedChunkReleasesOnlyTheAffectedOrders() {
+        StockReservationCoordinator coordinator = new StockReservationCoordinator(productPort, 4, 1);
+        when(productPort.getAvailableStockBatch(anyCollection())).thenAnswer(invocation -> stock(
+                invocation.getArgument(0), Map.of(1L, 100, 2L, 100, 3L, 100)));
+        doThrow(new IllegalStateException("products-service unavailable"))
+                .when(productPort).reserveStockBatch(argThat(chunk -> chunk.containsKey(2L)));
+
+        BatchReservation reservation = coordinator.reserveAll(List.of(
+                Map.of(1L, 1, 2L, 1),
+                Map.of(1L, 2, 3L, 2),
+                Map.of(3L, 4)));
+
+        assertThat(reservation.failure(0)).hasMessageContaining("unavailable");
+        assertThat(reservation.isReserved(1)).isTrue();
+        assertThat(reservation.isReserved(2)).isTrue();
+        verify(productPort).recoveryStockBatch(Map.of(1L, 1));
+    }
+
+    private static Map<Long, AvailableStockResponse> stock(Collection<Long> productIds, Map<Long, Integer> available) {
+        return productIds.stream().collect(Collectors.toMap(id -> id, id -> new AvailableStockResponse(id, available.get(id))));
+    }
+}
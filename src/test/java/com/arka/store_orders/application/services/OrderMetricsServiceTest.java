@@ -0,0 +1,67 @@
+package com.arka.store_orders.application.services;
+
+import com.arka.store_orders.application.metrics.BestsellerTracker;
+import com.arka.store_orders.application.metrics.DatabaseOrderMetrics;
+import com.arka.store_orders.application.metrics.OrderMetricsAggregator;
+import com.arka.store_orders.application.metrics.SalesTimeSeries;
+import com.arka.store_orders.domain.models.TimeGranularity;
+import com.arka.store_orders.domain.ports.out.feignclient.StockCachePort;
+import com.arka.store_orders.domain.ports.out.persistence.OrderCachePort;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.InvalidMetricsQueryException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OrderMetricsServiceTest {
+
+    private final SalesTimeSeries salesTimeSeries = mock(SalesTimeSeries.class);
+    private final BestsellerTracker bestsellers = mock(BestsellerTracker.class);
+    private final OrderMetricsService service = new OrderMetricsService(mock(OrderMetricsAggregator.class),
+            salesTimeSeries, bestsellers, mock(DatabaseOrderMetrics.class), mock(StockCachePort.class),
+            mock(OrderCachePort.class));
+
+    @Test
+    void timeSeriesDefaultsToTheLastDayByHourAndRejectsBadQueries() {
+        LocalDateTime to = LocalDateTime.of(2026, 3, 2, 12, 0);
+
+        service.getSalesTimeSeries(null, to, null, null, null);
+
+        verify(salesTimeSeries).series(to.minusHours(24), to, TimeGranularity.HOUR, null, null);
+        assertThatThrownBy(() -> service.getSalesTimeSeries(to, to, TimeGranularity.DAY, null, null))
+                .isInstanceOf(InvalidMetricsQueryException.class);
+        assertThatThrownBy(() -> service.getSalesTimeSeries(null, to, null, "u1", 1L))
+                .isInstanceOf(InvalidMetricsQueryException.class);
+        assertThatThrownBy(() -> service.getTopProducts(0, null, to))
+                .isInstanceOf(InvalidMetricsQueryException.class);
+    }
+
+    @Test
+    void approximateBestsellersRequireTheSketch() {
+        when(bestsellers.isApproximateEnabled()).thenReturn(false);
+        when(bestsellers.isExactEnabled()).thenReturn(true);
+
+        assertThatThrownBy(() -> service.getBestsellers(10, false, true))
+                .isInstanceOf(InvalidMetricsQueryException.class);
+        assertThatThrownBy(() -> service.getBestsellers(10, true, true))
+                .isInstanceOf(InvalidMetricsQueryException.class);
+        assertThatThrownBy(() -> service.getBestsellers(1001, false, false))
+                .isInstanceOf(InvalidMetricsQueryException.class);
+        verify(bestsellers, never()).approximateTop(anyInt());
+        service.getBestsellers(10, true, false);
+        verify(bestsellers).bottom(eq(10));
+        verify(salesTimeSeries, never()).topProducts(anyInt(), any(), any());
+
+        when(bestsellers.isExactEnabled()).thenReturn(false);
+        assertThatThrownBy(() -> service.getBestsellers(10, false, false))
+                .isInstanceOf(InvalidMetricsQueryException.class);
+    }
+}
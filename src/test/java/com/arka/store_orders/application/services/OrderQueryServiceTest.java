@@ -0,0 +1,28 @@
+package com.arka.store_orders.application.services;
+
+import com.arka.store_orders.application.events.OrderHistory;
+import com.arka.store_orders.domain.models.OrderFilter;
+import com.arka.store_orders.domain.ports.out.persistence.OrderPersistencePort;
+import com.arka.store_orders.domain.ports.out.persistence.OrderViewPort;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class OrderQueryServiceTest {
+
+    private final OrderPersistencePort persistence = mock(OrderPersistencePort.class);
+    private final OrderQueryService service = new OrderQueryService(persistence, mock(OrderViewPort.class),
+            mock(OrderHistory.class));
+
+    @Test
+    void pageSizeIsClampedToTheAllowedRange() {
+        OrderFilter filter = new OrderFilter(null, "u1");
+
+        service.getOrders(filter, null, 0);
+        service.getOrders(filter, null, 10_000);
+
+        verify(persistence).findPage(filter, null, 1);
+        verify(persistence).findPage(filter, null, 200);
+    }
+}
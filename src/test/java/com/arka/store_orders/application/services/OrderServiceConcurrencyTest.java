@@ -0,0 +1,236 @@
+package com.arka.store_orders.application.services;
+
+import com.arka.store_orders.application.events.OrderEventRecorder;
+import com.arka.store_orders.application.factory.OrderFactory;
+import com.arka.store_orders.application.metrics.OrderMetricsAggregator;
+import com.arka.store_orders.application.payment.PaymentInitiationWorker;
+import com.arka.store_orders.application.reservation.ReservationOutcome;
+import com.arka.store_orders.application.reservation.StockReservationCoordinator;
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.StockOperation;
+import com.arka.store_orders.domain.ports.out.feignclient.ProductPort;
+import com.arka.store_orders.domain.ports.out.persistence.ShippingOutboxPort;
+import com.arka.store_orders.domain.ports.out.persistence.StockOutboxPort;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.OrderPersistenceAdapter;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderItemEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.OrderJpaRepository;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.InvalidOrderStateException;
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.OrderConflictException;
+import com.arka.store_orders.infrastructure.mapper.OrderItemMapper;
+import com.arka.store_orders.infrastructure.mapper.OrderMapper;
+import com.arka.store_orders.infrastructure.resources.Request.ItemQuantityUpdate;
+import com.arka.store_orders.infrastructure.resources.Request.OrderRequest;
+import com.arka.store_orders.infrastructure.resources.Response.AvailableStockResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrderService.class, OrderPersistenceAdapter.class, OrderMapper.class, OrderItemMapper.class})
+class OrderServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private OrderJpaRepository repository;
+
+    @MockBean
+    private ProductPort productPort;
+    @MockBean
+    private ShippingOutboxPort shippingOutbox;
+    @MockBean
+    private StockOutboxPort stockOutbox;
+    @MockBean
+    private PaymentInitiationWorker paymentWorker;
+    @MockBean
+    private OrderMetricsAggregator metrics;
+    @MockBean
+    private StockReservationCoordinator reservationCoordinator;
+    @MockBean
+    private OrderFactory orderFactory;
+    @MockBean
+    private OrderEventRecorder events;
+
+    @Test
+    void concurrentAcceptsDecrementStockExactlyOnce() throws Exception {
+        UUID orderId = insertOrder(OrderStatus.WAITINGCONFIRMATION);
+        doAnswer(invocation -> slowDownstream()).when(stockOutbox).enqueue(any(), any(), anyMap());
+
+        int successes = hammer(() -> orderService.acceptOrder(orderId, "user-1"));
+
+        assertThat(successes).isEqualTo(1);
+        verify(stockOutbox, times(1)).enqueue(eq(orderId), eq(StockOperation.DECREMENT), anyMap());
+        verify(shippingOutbox, times(1)).enqueue(any());
+        verifyNoInteractions(productPort);
+        assertThat(repository.findById(orderId)).get()
+                .extracting(OrderEntity::getStatus).isEqualTo(OrderStatus.ACCEPTED);
+    }
+
+    @Test
+    void concurrentCancelsRecoverStockExactlyOnce() throws Exception {
+        UUID orderId = insertOrder(OrderStatus.PENDING);
+        doAnswer(invocation -> slowDownstream()).when(stockOutbox).enqueue(any(), any(), anyMap());
+
+        int successes = hammer(() -> orderService.cancelOrder(orderId));
+
+        assertThat(successes).isEqualTo(1);
+        verify(stockOutbox, times(1)).enqueue(eq(orderId), eq(StockOperation.RELEASE), anyMap());
+        verifyNoInteractions(productPort);
+        assertThat(repository.findById(orderId)).get()
+                .extracting(OrderEntity::getStatus).isEqualTo(OrderStatus.CANCELED);
+    }
+
+    @Test
+    void concurrentUpdatesReserveTheIncreaseExactlyOnce() throws Exception {
+        OrderEntity order = insertOrderEntity(OrderStatus.PENDING);
+        OrderItemEntity item = order.getItems().get(0);
+        when(productPort.getAvailableStock(item.getProductId()))
+                .thenReturn(new AvailableStockResponse(item.getProductId(), 100));
+        doAnswer(invocation -> slowDownstream()).when(productPort).reserveStock(any(), any());
+
+        int successes = hammer(() -> orderService.updateOrder(order.getId(), item.getId(), new ItemQuantityUpdate(5)));
+
+        // A request that reads after the winner commits sees quantity 5 already and reserves nothing.
+        assertThat(successes).isPositive();
+        verify(productPort, times(1)).reserveStock(item.getProductId(), 3);
+        verify(reservationCoordinator, never()).release(anyMap());
+    }
+
+    @Test
+    void concurrentAddItemsReserveOncePerAddedItem() throws Exception {
+        UUID orderId = insertOrder(OrderStatus.PENDING);
+        when(productPort.getAvailableStock(9L)).thenReturn(new AvailableStockResponse(9L, 100));
+        doAnswer(invocation -> slowDownstream()).when(productPort).reserveStock(any(), any());
+
+        int successes = hammer(() -> orderService.addItem(orderId, new OrderItem(null, 9L, 1, 500, 0, null)));
+
+        assertThat(successes).isPositive();
+        verify(productPort, times(successes)).reserveStock(9L, 1);
+        verify(reservationCoordinator, never()).release(anyMap());
+    }
+
+    @Test
+    void reservationIsReleasedWhenTheUpdateRollsBack() {
+        OrderEntity order = insertOrderEntity(OrderStatus.PENDING);
+        OrderItemEntity item = order.getItems().get(0);
+        when(productPort.getAvailableStock(item.getProductId()))
+                .thenReturn(new AvailableStockResponse(item.getProductId(), 100));
+        doThrow(new IllegalStateException("event log unavailable")).when(events).itemChanged(any(), any(), any());
+
+        assertThatThrownBy(() -> orderService.updateOrder(order.getId(), item.getId(), new ItemQuantityUpdate(5)))
+                .isInstanceOf(IllegalStateException.class);
+
+        verify(productPort).reserveStock(item.getProductId(), 3);
+        verify(reservationCoordinator).release(Map.of(item.getProductId(), 3));
+        assertThat(repository.findById(order.getId())).get()
+                .extracting(OrderEntity::getTotal).isEqualTo(6000L);
+    }
+
+    @Test
+    void orderIsNotCreatedWhenItsEventsCannotBeWritten() {
+        Order order = new Order(new ArrayList<>(List.of(new OrderItem(null, 4L, 2, 500, 0, null))));
+        when(orderFactory.createOrder(any())).thenReturn(order);
+        when(reservationCoordinator.reserve(anyMap())).thenReturn(new ReservationOutcome(Map.of(4L, 2), List.of()));
+        doThrow(new IllegalStateException("event log unavailable")).when(events).created(anyList());
+
+        assertThatThrownBy(() -> orderService.createOrder(new OrderRequest(List.of())))
+                .isInstanceOf(IllegalStateException.class);
+
+        assertThat(repository.findById(order.getId())).isEmpty();
+        verify(reservationCoordinator).release(Map.of(4L, 2));
+    }
+
+    private int hammer(Runnable action) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        int successes = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            List<Future<Boolean>> results = new ArrayList<>(THREADS);
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        action.run();
+                        return true;
+                    } catch (OrderConflictException | InvalidOrderStateException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    successes++;
+                }
+            }
+        }
+        return successes;
+    }
+
+    private static Object slowDownstream() throws InterruptedException {
+        Thread.sleep(50);
+        return null;
+    }
+
+    private UUID insertOrder(OrderStatus status) {
+        return insertOrderEntity(status).getId();
+    }
+
+    private OrderEntity insertOrderEntity(OrderStatus status) {
+        UUID orderId = UUID.randomUUID();
+        OrderEntity order = new OrderEntity();
+        order.setId(orderId);
+        order.setCreateAt(LocalDateTime.now());
+        order.setStatus(status);
+        order.setUserId("user-1");
+        for (long productId = 1; productId <= 3; productId++) {
+            OrderItemEntity item = new OrderItemEntity();
+            item.setProductId(productId);
+            item.setQuantity(2);
+            item.setPrice(1000);
+            item.setAmount(2000);
+            item.setOrderId(orderId);
+            order.getItems().add(item);
+        }
+        order.setTotal(6000);
+        return repository.save(order);
+    }
+}
@@ -0,0 +1,67 @@
+package com.arka.store_orders.application.shipping;
+
+import com.arka.store_orders.domain.models.ShippingDispatch;
+import com.arka.store_orders.domain.ports.out.feignclient.ShippingPort;
+import com.arka.store_orders.domain.ports.out.persistence.ShippingOutboxPort;
+import com.arka.store_orders.infrastructure.resources.Request.ShippingRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ShippingOutboxDispatcherTest {
+
+    private final ShippingOutboxPort outbox = mock(ShippingOutboxPort.class);
+    private final ShippingPort shippingPort = mock(ShippingPort.class);
+    private final ShippingOutboxDispatcher dispatcher = new ShippingOutboxDispatcher(outbox, shippingPort, 50, 4,
+            Duration.ofSeconds(30), Duration.ofSeconds(1), Duration.ofMinutes(5), 3);
+
+    @Test
+    void sentEntriesAreMarkedSent() {
+        ShippingRequest request = new ShippingRequest("order-1", "user-1", List.of());
+        when(outbox.claimDue(eq(50), any())).thenReturn(List.of(new ShippingDispatch(1L, request, 0)));
+
+        dispatcher.dispatch();
+
+        verify(shippingPort).sendOrder(request);
+        verify(outbox).markSent(1L);
+    }
+
+    @Test
+    void failedEntriesAreRescheduledWithBackoff() {
+        ShippingRequest request = new ShippingRequest("order-1", "user-1", List.of());
+        when(outbox.claimDue(eq(50), any())).thenReturn(List.of(new ShippingDispatch(1L, request, 1)));
+        doThrow(new IllegalStateException("shipping-service unavailable")).when(shippingPort).sendOrder(request);
+        LocalDateTime before = LocalDateTime.now();
+
+        dispatcher.dispatch();
+
+        verify(outbox).markFailed(eq(1L), eq(2),
+                argThat(next -> !next.isBefore(before.plusSeconds(2))), eq("shipping-service unavailable"));
+        verify(outbox, never()).markDead(any(), anyInt(), anyString());
+    }
+
+    @Test
+    void entriesAreParkedAfterTheLastAttempt() {
+        ShippingRequest request = new ShippingRequest("order-1", "user-1", List.of());
+        when(outbox.claimDue(eq(50), any())).thenReturn(List.of(new ShippingDispatch(1L, request, 2)));
+        doThrow(new IllegalStateException("bad request")).when(shippingPort).sendOrder(request);
+
+        dispatcher.dispatch();
+
+        verify(outbox).markDead(1L, 3, "bad request");
+        verify(outbox, never()).markFailed(any(), anyInt(), any(), any());
+    }
+}
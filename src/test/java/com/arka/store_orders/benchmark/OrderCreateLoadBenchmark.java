@@ -0,0 +1,247 @@
+package com.arka.store_orders.benchmark;
+
+import com.arka.store_orders.StoreOrdersApplication;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load benchmark for {@code POST /orders} comparing the default platform-thread mode with the
+ * {@code virtual} profile. PRODUCTS-SERVICE is replaced by a local stub that answers after a fixed
+ * latency, and the service runs on an in-memory H2 database, so the numbers isolate how each mode
+ * copes with blocking downstream I/O.
+ * <p>
+ * The driver, the stub and the service share the machine, so each mode is measured at every level of
+ * {@code bench.concurrency} after one warmup. Closed-loop users above what the CPU can serve only queue
+ * (latency grows as concurrency / throughput), so a level whose p50 is more than twice the p50 of the
+ * lowest level is flagged as saturated and should not be compared.
+ *
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.arka.store_orders.benchmark.OrderCreateLoadBenchmark \
+ *     -Dbench.concurrency=1,4,16,64 -Dbench.downstreamLatencyMs=50
+ * </pre>
+ *
+ * Add {@code -Djdk.tracePinnedThreads=short} to the JVM options to report virtual threads pinned
+ * while blocking.
+ */
+public class OrderCreateLoadBenchmark {
+
+    private static final int[] CONCURRENCY = Arrays.stream(System.getProperty("bench.concurrency", "1,4,16,64").split(","))
+            .mapToInt(level -> Integer.parseInt(level.trim()))
+            .sorted()
+            .toArray();
+    private static final int WARMUP_SECONDS = Integer.getInteger("bench.warmupSeconds", 20);
+    private static final int MEASURE_SECONDS = Integer.getInteger("bench.measureSeconds", 10);
+    private static final int DOWNSTREAM_LATENCY_MS = Integer.getInteger("bench.downstreamLatencyMs", 50);
+    private static final int TOMCAT_MAX_THREADS = Integer.getInteger("bench.tomcatMaxThreads", 200);
+
+    public static void main(String[] args) throws Exception {
+        // The stub writes headers and body separately; without TCP_NODELAY the body waits on a delayed ACK.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        HttpServer productsStub = startProductsStub();
+        try {
+            String stubUrl = "http://localhost:" + productsStub.getAddress().getPort();
+            List<Result> results = new ArrayList<>();
+            results.addAll(run("platform", stubUrl));
+            results.addAll(run("virtual", stubUrl));
+            System.out.printf("%nPOST /orders, downstream latency=%dms, tomcat max threads=%d, cpus=%d%n",
+                    DOWNSTREAM_LATENCY_MS, TOMCAT_MAX_THREADS, Runtime.getRuntime().availableProcessors());
+            System.out.printf("%-10s %6s %10s %8s %10s %10s %10s%n", "mode", "users", "requests", "errors", "req/s",
+                    "p50 ms", "p99 ms");
+            double baseline = 0;
+            for (Result result : results) {
+                if (result.concurrency() == CONCURRENCY[0]) {
+                    baseline = result.p50Millis();
+                }
+                System.out.printf("%-10s %6d %10d %8d %10.1f %10.1f %10.1f%s%n", result.mode(), result.concurrency(),
+                        result.requests(), result.errors(), result.throughput(), result.p50Millis(), result.p99Millis(),
+                        result.p50Millis() > 2 * baseline ? "  saturated" : "");
+            }
+        } finally {
+            productsStub.stop(0);
+        }
+    }
+
+    private static List<Result> run(String mode, String stubUrl) throws Exception {
+        Map<String, String> properties = Map.ofEntries(
+                Map.entry("server.port", "0"),
+                Map.entry("server.tomcat.threads.max", String.valueOf(TOMCAT_MAX_THREADS)),
+                Map.entry("spring.datasource.url", "jdbc:h2:mem:bench-" + mode + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1"),
+                Map.entry("spring.datasource.driver-class-name", "org.h2.Driver"),
+                Map.entry("spring.datasource.username", "sa"),
+                Map.entry("spring.datasource.password", ""),
+                Map.entry("spring.jpa.database", "h2"),
+                Map.entry("spring.jpa.show-sql", "false"),
+                Map.entry("spring.jpa.hibernate.ddl-auto", "validate"),
+                Map.entry("eureka.client.enabled", "false"),
+                Map.entry("spring.cloud.openfeign.client.config.PRODUCTS-SERVICE.url", stubUrl),
+                Map.entry("orders.shipping-outbox.poll-interval-ms", "3600000"),
+                Map.entry("logging.level.root", "WARN")
+        );
+        String[] args = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(StoreOrdersApplication.class);
+        if (mode.equals("virtual")) {
+            builder.profiles("virtual");
+        }
+        try (ConfigurableApplicationContext context = builder.run(args)) {
+            String port = context.getEnvironment().getProperty("local.server.port");
+            URI ordersUri = URI.create("http://localhost:" + port + "/orders");
+            drive(mode, ordersUri, CONCURRENCY[CONCURRENCY.length - 1], WARMUP_SECONDS);
+            List<Result> results = new ArrayList<>(CONCURRENCY.length);
+            for (int concurrency : CONCURRENCY) {
+                results.add(drive(mode, ordersUri, concurrency, MEASURE_SECONDS));
+            }
+            return results;
+        }
+    }
+
+    private static Result drive(String mode, URI ordersUri, int concurrency, int seconds) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        AtomicBoolean running = new AtomicBoolean(true);
+        LongAdder errors = new LongAdder();
+        List<long[]> latencies = new ArrayList<>(concurrency);
+        int[] counts = new int[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            latencies.add(new long[1 << 14]);
+        }
+        long start = System.nanoTime();
+        try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                int user = i;
+                users.submit(() -> {
+                    while (running.get()) {
+                        HttpRequest request = HttpRequest.newBuilder(ordersUri)
+                                .header("Content-Type", "application/json")
+                                .timeout(Duration.ofSeconds(30))
+                                .POST(HttpRequest.BodyPublishers.ofString(randomOrder()))
+                                .build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.increment();
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            errors.increment();
+                            continue;
+                        }
+                        long[] samples = latencies.get(user);
+                        if (counts[user] == samples.length) {
+                            samples = Arrays.copyOf(samples, samples.length * 2);
+                            latencies.set(user, samples);
+                        }
+                        samples[counts[user]++] = System.nanoTime() - sent;
+                    }
+                    return null;
+                });
+            }
+            Thread.sleep(seconds * 1000L);
+            running.set(false);
+        }
+        long elapsed = System.nanoTime() - start;
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int i = 0; i < concurrency; i++) {
+            System.arraycopy(latencies.get(i), 0, all, offset, counts[i]);
+            offset += counts[i];
+        }
+        Arrays.sort(all);
+        return new Result(mode, concurrency, total, errors.sum(), total / (elapsed / 1e9),
+                percentile(all, 0.50), percentile(all, 0.99));
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static String randomOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int lines = 1 + random.nextInt(5);
+        StringBuilder body = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < lines; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"productId\":").append(1 + random.nextInt(500))
+                    .append(",\"quantity\":").append(1 + random.nextInt(3))
+                    .append(",\"price\":").append(5 + random.nextInt(95)).append(".99}");
+        }
+        return body.append("]}").toString();
+    }
+
+    private static HttpServer startProductsStub() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/products/available", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            StringBuilder body = new StringBuilder("[");
+            if (query != null) {
+                for (String parameter : query.split("&")) {
+                    String value = parameter.substring(parameter.indexOf('=') + 1);
+                    for (String id : value.split("%2C|,")) {
+                        if (body.length() > 1) {
+                            body.append(',');
+                        }
+                        body.append("{\"productId\":").append(id).append(",\"availableStock\":1000000000}");
+                    }
+                }
+            }
+            respond(exchange, body.append(']').toString());
+        });
+        server.createContext("/products/reserve/batch", exchange -> respond(exchange, "[]"));
+        server.createContext("/products/recover/batch", exchange -> respond(exchange, "[]"));
+        server.start();
+        return server;
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        exchange.getRequestBody().readAllBytes();
+        try {
+            Thread.sleep(DOWNSTREAM_LATENCY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private record Result(String mode, int concurrency, long requests, long errors, double throughput, double p50Millis, double p99Millis) {
+    }
+}
@@ -0,0 +1,23 @@
+package com.arka.store_orders.domain.models;
+
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.InvalidMoneyAmountException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void convertsExactAmountsAndRejectsSubCentPrecision() {
+        assertThat(Money.toMinorUnits(new BigDecimal("49.99"))).isEqualTo(4999);
+        assertThat(Money.toMinorUnits(new BigDecimal("12.5000"))).isEqualTo(1250);
+
+        assertThatThrownBy(() -> Money.toMinorUnits(new BigDecimal("49.995")))
+                .isInstanceOf(InvalidMoneyAmountException.class);
+        assertThatThrownBy(() -> Money.toMinorUnits(new BigDecimal("1E+30")))
+                .isInstanceOf(InvalidMoneyAmountException.class);
+    }
+}
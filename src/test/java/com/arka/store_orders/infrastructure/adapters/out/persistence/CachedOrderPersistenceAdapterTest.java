@@ -0,0 +1,85 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.infrastructure.mapper.OrderItemMapper;
+import com.arka.store_orders.infrastructure.mapper.OrderMapper;
+import com.arka.store_orders.infrastructure.resources.Response.OrderCacheStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CachedOrderPersistenceAdapter.class, OrderPersistenceAdapter.class, OrderItemPersistenceAdapter.class,
+        OrderMapper.class, OrderItemMapper.class})
+class CachedOrderPersistenceAdapterTest {
+
+    @Autowired
+    private CachedOrderPersistenceAdapter cache;
+    @Autowired
+    private OrderItemPersistenceAdapter itemPersistence;
+    @Autowired
+    private OrderPersistenceAdapter persistence;
+
+    @Test
+    void savedOrderIsServedFromCacheAsIndependentCopies() {
+        Order saved = cache.save(newOrder());
+
+        Order first = cache.findByIdWithItems(saved.getId()).orElseThrow();
+        first.getItems().clear();
+        first.setStatus(OrderStatus.CANCELED);
+        Order second = cache.findByIdWithItems(saved.getId()).orElseThrow();
+
+        assertThat(second.getItems()).hasSize(2);
+        assertThat(second.getStatus()).isEqualTo(OrderStatus.PENDING);
+        OrderCacheStats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(2);
+        assertThat(stats.misses()).isZero();
+    }
+
+    @Test
+    void changesMadeBehindTheCacheAreDetectedByVersion() {
+        Order saved = cache.save(newOrder());
+        cache.findByIdWithItems(saved.getId());
+
+        persistence.transitionStatus(saved.getId(), saved.getVersion(), OrderStatus.PENDING, OrderStatus.CANCELED);
+        Order afterTransition = cache.findByIdWithItems(saved.getId()).orElseThrow();
+
+        OrderItem item = afterTransition.getItems().get(0);
+        item.setQuantity(7);
+        itemPersistence.save(item);
+        Order afterItemChange = cache.findByIdWithItems(saved.getId()).orElseThrow();
+
+        assertThat(afterTransition.getStatus()).isEqualTo(OrderStatus.CANCELED);
+        assertThat(afterItemChange.getItems()).extracting(OrderItem::getQuantity).contains(7);
+        assertThat(cache.stats().stale()).isEqualTo(2);
+    }
+
+    private static Order newOrder() {
+        List<OrderItem> items = new ArrayList<>();
+        Order order = new Order(items);
+        order.setUserId("user-1");
+        for (long productId = 1; productId <= 2; productId++) {
+            OrderItem item = new OrderItem(null, productId, 2, 1000L, 0L, order.getId());
+            item.calculateAmount();
+            items.add(item);
+        }
+        order.calculateTotal();
+        return order;
+    }
+}
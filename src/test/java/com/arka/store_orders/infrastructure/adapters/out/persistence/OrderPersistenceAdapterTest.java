@@ -0,0 +1,262 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence;
+
+import com.arka.store_orders.domain.models.Order;
+import com.arka.store_orders.domain.models.OrderCursor;
+import com.arka.store_orders.domain.models.OrderFilter;
+import com.arka.store_orders.domain.models.OrderItem;
+import com.arka.store_orders.domain.models.OrderPage;
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderItemEntity;
+import com.arka.store_orders.infrastructure.mapper.OrderItemMapper;
+import com.arka.store_orders.infrastructure.mapper.OrderMapper;
+import com.arka.store_orders.infrastructure.resources.Response.OrderResponse;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({OrderPersistenceAdapter.class, OrderViewPersistenceAdapter.class, OrderMapper.class, OrderItemMapper.class})
+class OrderPersistenceAdapterTest {
+
+    @Autowired
+    private OrderPersistenceAdapter adapter;
+    @Autowired
+    private OrderViewPersistenceAdapter viewAdapter;
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void findPageLoadsItemsWithConstantStatementCount() {
+        insertOrders("small", 5);
+        insertOrders("large", 40);
+
+        long smallPage = statementsFor(() -> assertPage(adapter.findPage(new OrderFilter(null, "small"), null, 5), 5));
+        long largePage = statementsFor(() -> assertPage(adapter.findPage(new OrderFilter(null, "large"), null, 40), 40));
+
+        assertThat(smallPage).isEqualTo(2);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    void forEachOrderLoadsItemsWithConstantStatementCount() {
+        insertOrders("small", 5);
+        insertOrders("large", 40);
+
+        long smallExport = statementsFor(() -> assertExport(new OrderFilter(null, "small"), 5));
+        long largeExport = statementsFor(() -> assertExport(new OrderFilter(null, "large"), 40));
+
+        assertThat(smallExport).isEqualTo(2);
+        assertThat(largeExport).isEqualTo(smallExport);
+    }
+
+    @Test
+    void everyFilterCombinationPagesAndExportsNewestFirst() {
+        List<UUID> paged = insertOrders("paged", 5);
+        insertOrders("other", 2);
+        entityManager.find(OrderEntity.class, paged.get(1)).setStatus(OrderStatus.ACCEPTED);
+        entityManager.find(OrderEntity.class, paged.get(3)).setStatus(OrderStatus.ACCEPTED);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(walk(OrderFilter.ALL)).doesNotHaveDuplicates().containsAll(paged);
+        assertThat(walk(new OrderFilter(OrderStatus.ACCEPTED, null))).containsExactly(paged.get(1), paged.get(3));
+        assertThat(walk(new OrderFilter(null, "paged"))).containsExactlyElementsOf(paged);
+        assertThat(walk(new OrderFilter(OrderStatus.PENDING, "paged")))
+                .containsExactly(paged.get(0), paged.get(2), paged.get(4));
+        List<UUID> exported = new ArrayList<>();
+        adapter.forEachOrder(new OrderFilter(OrderStatus.PENDING, "paged"), order -> exported.add(order.getId()));
+        assertThat(exported).containsExactly(paged.get(0), paged.get(2), paged.get(4));
+    }
+
+    @Test
+    void forEachOrderCreatedSinceStreamsOnlyTheRecentOrdersNewestFirst() {
+        List<UUID> recent = insertOrders("recent", 5);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Order> exported = new ArrayList<>();
+        adapter.forEachOrderCreatedSince(LocalDateTime.now().minusMinutes(2).minusSeconds(30), order -> {
+            if ("recent".equals(order.getUserId())) {
+                exported.add(order);
+            }
+        });
+
+        assertThat(exported).extracting(Order::getId).containsExactly(recent.get(0), recent.get(1), recent.get(2));
+        assertThat(exported).allSatisfy(order -> assertThat(order.getItems()).hasSize(3));
+    }
+
+    @Test
+    void switchToAcceptedUpdatesOnlyTheOrderRow() {
+        UUID orderId = insertOrders("accept", 1).get(0);
+
+        long statements = statementsFor(() -> {
+            Order order = adapter.findByIdWithItems(orderId).orElseThrow();
+            order.switchToAccepted();
+            adapter.save(order);
+            entityManager.flush();
+        });
+
+        Statistics statistics = statistics();
+        assertThat(statements).isEqualTo(2);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        entityManager.clear();
+        Order reloaded = adapter.findByIdWithItems(orderId).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(OrderStatus.ACCEPTED);
+        assertThat(reloaded.getItems()).hasSize(3).allSatisfy(item -> assertThat(item.getId()).isNotNull());
+    }
+
+    @Test
+    void singleItemChangeUpdatesOnlyThatItemAndTheTotal() {
+        UUID orderId = insertOrders("item", 1).get(0);
+
+        long statements = statementsFor(() -> {
+            Order order = adapter.findByIdWithItems(orderId).orElseThrow();
+            OrderItem item = order.getItems().get(0);
+            item.setQuantity(5);
+            order.calculateTotal();
+            adapter.save(order);
+            entityManager.flush();
+        });
+
+        Statistics statistics = statistics();
+        assertThat(statements).isEqualTo(3);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+    }
+
+    @Test
+    void saveAllBatchesTheInserts() {
+        List<Order> orders = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            List<OrderItem> items = new ArrayList<>();
+            Order order = new Order(items);
+            order.setUserId("batch");
+            for (long productId = 1; productId <= 3; productId++) {
+                items.add(new OrderItem(null, productId, 1, 1000L, 0L, order.getId()));
+            }
+            order.calculateTotal();
+            orders.add(order);
+        }
+
+        long statements = statementsFor(() -> assertThat(adapter.saveAll(orders))
+                .allSatisfy(order -> assertThat(order.getItems()).allSatisfy(item -> assertThat(item.getId()).isNotNull())));
+
+        assertThat(statistics().getEntityInsertCount()).isEqualTo(160);
+        assertThat(statements).isLessThan(10);
+    }
+
+    @Test
+    void orderWithoutItemsIsStillFound() {
+        UUID orderId = insertOrders("empty", 1).get(0);
+        Order order = adapter.findByIdWithItems(orderId).orElseThrow();
+        order.getItems().clear();
+        order.calculateTotal();
+        adapter.save(order);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(adapter.findByIdWithItems(orderId)).get()
+                .satisfies(found -> assertThat(found.getItems()).isEmpty());
+        assertThat(viewAdapter.findOrderView(orderId)).get()
+                .satisfies(view -> assertThat(view.getItems()).isEmpty());
+        assertThat(viewAdapter.findOrderView(UUID.randomUUID())).isEmpty();
+    }
+
+    @Test
+    void orderViewReadsItemsInOneStatementWithoutEntities() {
+        UUID orderId = insertOrders("view", 1).get(0);
+
+        long statements = statementsFor(() -> {
+            OrderResponse view = viewAdapter.findOrderView(orderId).orElseThrow();
+            assertThat(view.getItems()).hasSize(3)
+                    .allSatisfy(item -> assertThat(item.getPrice()).isEqualByComparingTo("10.00"));
+            assertThat(view.getTotal()).isEqualByComparingTo("0.00");
+        });
+
+        assertThat(statements).isEqualTo(1);
+        assertThat(statistics().getEntityLoadCount()).isZero();
+    }
+
+    private List<UUID> walk(OrderFilter filter) {
+        List<UUID> ids = new ArrayList<>();
+        OrderCursor cursor = null;
+        do {
+            OrderPage page = adapter.findPage(filter, cursor, 2);
+            page.orders().forEach(order -> ids.add(order.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private void assertPage(OrderPage page, int expectedOrders) {
+        assertThat(page.orders()).hasSize(expectedOrders);
+        assertThat(page.orders()).allSatisfy(order -> assertThat(order.getItems()).hasSize(3));
+    }
+
+    private void assertExport(OrderFilter filter, int expectedOrders) {
+        List<Order> exported = new ArrayList<>();
+        adapter.forEachOrder(filter, exported::add);
+        assertThat(exported).hasSize(expectedOrders);
+        assertThat(exported).allSatisfy(order -> assertThat(order.getItems()).hasSize(3));
+    }
+
+    private long statementsFor(Runnable action) {
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private List<UUID> insertOrders(String userId, int count) {
+        LocalDateTime now = LocalDateTime.now();
+        List<UUID> orderIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID orderId = UUID.randomUUID();
+            orderIds.add(orderId);
+            OrderEntity order = new OrderEntity();
+            order.setId(orderId);
+            order.setCreateAt(now.minusMinutes(i));
+            order.setStatus(OrderStatus.PENDING);
+            order.setUserId(userId);
+            for (long productId = 1; productId <= 3; productId++) {
+                OrderItemEntity item = new OrderItemEntity();
+                item.setProductId(productId);
+                item.setQuantity(1);
+                item.setPrice(1000);
+                item.setAmount(1000);
+                item.setOrderId(orderId);
+                order.getItems().add(item);
+            }
+            entityManager.persist(order);
+        }
+        return orderIds;
+    }
+}
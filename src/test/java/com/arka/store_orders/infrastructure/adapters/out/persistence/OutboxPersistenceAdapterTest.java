@@ -0,0 +1,88 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence;
+
+import com.arka.store_orders.domain.models.ShippingDispatch;
+import com.arka.store_orders.domain.models.StockMovement;
+import com.arka.store_orders.domain.models.StockOperation;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OutboxStatus;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.ShippingOutboxJpaRepository;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.StockOutboxJpaRepository;
+import com.arka.store_orders.infrastructure.resources.Request.ShippingRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ShippingOutboxPersistenceAdapter.class, StockOutboxPersistenceAdapter.class, ObjectMapper.class})
+class OutboxPersistenceAdapterTest {
+
+    @Autowired
+    private ShippingOutboxPersistenceAdapter shippingOutbox;
+    @Autowired
+    private StockOutboxPersistenceAdapter stockOutbox;
+    @Autowired
+    private ShippingOutboxJpaRepository shippingRepository;
+    @Autowired
+    private StockOutboxJpaRepository stockRepository;
+
+    @Test
+    void claimedEntriesAreLeasedAndNotClaimedAgain() {
+        UUID orderId = UUID.randomUUID();
+        stockOutbox.enqueue(orderId, StockOperation.DECREMENT, Map.of(1L, 2, 3L, 4));
+
+        List<StockMovement> claimed = stockOutbox.claimDue(10, Duration.ofMinutes(1));
+
+        assertThat(claimed).singleElement().satisfies(movement -> {
+            assertThat(movement.orderId()).isEqualTo(orderId);
+            assertThat(movement.operation()).isEqualTo(StockOperation.DECREMENT);
+            assertThat(movement.quantities()).isEqualTo(Map.of(1L, 2, 3L, 4));
+        });
+        assertThat(stockOutbox.claimDue(10, Duration.ofMinutes(1))).isEmpty();
+    }
+
+    @Test
+    void deadEntriesAreNeverClaimedAgain() {
+        String orderId = UUID.randomUUID().toString();
+        shippingOutbox.enqueue(new ShippingRequest(orderId, "user-1", List.of()));
+        ShippingDispatch dispatch = shippingOutbox.claimDue(10, Duration.ZERO).get(0);
+
+        shippingOutbox.markDead(dispatch.id(), 20, "bad request");
+
+        assertThat(shippingOutbox.claimDue(10, Duration.ZERO)).isEmpty();
+        assertThat(shippingRepository.findById(dispatch.id())).get().satisfies(entry -> {
+            assertThat(entry.getStatus()).isEqualTo(OutboxStatus.DEAD);
+            assertThat(entry.getAttempts()).isEqualTo(20);
+            assertThat(entry.getLastError()).isEqualTo("bad request");
+        });
+    }
+
+    @Test
+    void failedEntriesComeBackWhenTheyAreDue() {
+        stockOutbox.enqueue(UUID.randomUUID(), StockOperation.RELEASE, Map.of(1L, 1));
+        StockMovement movement = stockOutbox.claimDue(10, Duration.ofMinutes(1)).get(0);
+
+        stockOutbox.markFailed(movement.id(), 1, LocalDateTime.now().minusSeconds(1), "timeout");
+
+        assertThat(stockOutbox.claimDue(10, Duration.ofMinutes(1))).singleElement()
+                .satisfies(retry -> assertThat(retry.attempts()).isEqualTo(1));
+        stockOutbox.markSent(movement.id());
+        assertThat(stockRepository.findById(movement.id())).get()
+                .satisfies(entry -> assertThat(entry.getStatus()).isEqualTo(OutboxStatus.SENT));
+    }
+}
@@ -0,0 +1,84 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence;
+
+import com.arka.store_orders.domain.models.OrderStatus;
+import com.arka.store_orders.domain.models.PaymentAttempt;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.entities.OrderEntity;
+import com.arka.store_orders.infrastructure.adapters.out.persistence.repositories.OrderJpaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("jpatest")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(PaymentClaimPersistenceAdapter.class)
+class PaymentClaimPersistenceAdapterTest {
+
+    @Autowired
+    private PaymentClaimPersistenceAdapter claims;
+    @Autowired
+    private OrderJpaRepository repository;
+
+    @Test
+    void leasedOrderIsClaimedOnceUntilTheLeaseRunsOut() {
+        UUID orderId = insertOrder(OrderStatus.WAITING_PAYMENT_CONFIRMATION);
+
+        assertThat(claims.claim(orderId, Duration.ofMinutes(1))).contains(new PaymentAttempt(orderId, 4999, 1));
+        assertThat(claims.claim(orderId, Duration.ofMinutes(1))).isEmpty();
+        assertThat(claims.claimDue(10, Duration.ofMinutes(1))).noneMatch(attempt -> attempt.orderId().equals(orderId));
+    }
+
+    @Test
+    void expiredLeaseIsClaimedAgainAsTheNextAttempt() {
+        UUID orderId = insertOrder(OrderStatus.WAITING_PAYMENT_CONFIRMATION);
+
+        assertThat(claims.claimDue(100, Duration.ZERO)).contains(new PaymentAttempt(orderId, 4999, 1));
+        assertThat(claims.claim(orderId, Duration.ZERO)).contains(new PaymentAttempt(orderId, 4999, 2));
+    }
+
+    @Test
+    void recordedTransactionEndsTheClaimsAndBumpsTheVersion() {
+        UUID orderId = insertOrder(OrderStatus.WAITING_PAYMENT_CONFIRMATION);
+        claims.claim(orderId, Duration.ofMinutes(1));
+
+        assertThat(claims.recordTransaction(orderId, "tx-1")).isTrue();
+        assertThat(claims.recordTransaction(orderId, "tx-2")).isFalse();
+
+        OrderEntity order = repository.findById(orderId).orElseThrow();
+        assertThat(order.getTransactionId()).isEqualTo("tx-1");
+        assertThat(order.getVersion()).isEqualTo(1L);
+        assertThat(claims.claim(orderId, Duration.ZERO)).isEmpty();
+    }
+
+    @Test
+    void ordersNotWaitingForPaymentAreNeverClaimed() {
+        UUID orderId = insertOrder(OrderStatus.PENDING);
+
+        assertThat(claims.claim(orderId, Duration.ZERO)).isEmpty();
+        assertThat(claims.claimDue(100, Duration.ZERO)).noneMatch(attempt -> attempt.orderId().equals(orderId));
+    }
+
+    private UUID insertOrder(OrderStatus status) {
+        UUID orderId = UUID.randomUUID();
+        OrderEntity order = new OrderEntity();
+        order.setId(orderId);
+        order.setCreateAt(LocalDateTime.now());
+        order.setStatus(status);
+        order.setUserId("user-1");
+        order.setTotal(4999);
+        repository.save(order);
+        return orderId;
+    }
+}
@@ -0,0 +1,89 @@
+package com.arka.store_orders.infrastructure.adapters.out.persistence;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the migrations against a database in the state Hibernate left it at the first release, the way
+ * {@code baseline-on-migrate} does in production, on H2 in PostgreSQL mode.
+ */
+class SchemaMigrationTest {
+
+    private final DriverManagerDataSource dataSource = new DriverManagerDataSource(
+            "jdbc:h2:mem:migration-" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+            "sa", "");
+    private final JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+    @Test
+    void existingDatabaseIsBaselinedAndUpgraded() {
+        jdbc.execute("CREATE SEQUENCE items_seq START WITH 1 INCREMENT BY 50");
+        jdbc.execute("""
+                CREATE TABLE orders (id UUID NOT NULL, create_at TIMESTAMP(6), status VARCHAR(255), total FLOAT(53),
+                    update_at TIMESTAMP(6), user_id VARCHAR(255), PRIMARY KEY (id),
+                    CONSTRAINT orders_status_check CHECK (status IN ('PENDING', 'WAITINGCONFIRMATION', 'ACCEPTED',
+                        'WAITING_PAYMENT_CONFIRMATION', 'CANCELED')))""");
+        jdbc.execute("""
+                CREATE TABLE items (id BIGINT NOT NULL, product_id BIGINT, quantity INTEGER, price FLOAT(53),
+                    amount FLOAT(53), order_id UUID, PRIMARY KEY (id), FOREIGN KEY (order_id) REFERENCES orders)""");
+        UUID orderId = UUID.randomUUID();
+        jdbc.update("INSERT INTO orders (id, status, total, user_id) VALUES (?, 'PENDING', 149.97, 'legacy')", orderId);
+        jdbc.update("INSERT INTO items (id, product_id, quantity, price, amount, order_id) VALUES (1, 7, 3, 49.99, 149.97, ?)",
+                orderId);
+
+        migrate();
+
+        assertThat(columns("orders")).contains("total_minor", "transaction_id", "version");
+        assertThat(columns("items")).contains("price_minor", "amount_minor");
+        assertThat(tables()).contains("order_events", "order_snapshots", "shipping_outbox", "idempotency_keys");
+        assertThat(jdbc.queryForMap("SELECT price_minor, amount_minor FROM items WHERE id = 1"))
+                .containsEntry("price_minor", 4999L).containsEntry("amount_minor", 14997L);
+        assertThat(jdbc.queryForObject("SELECT total_minor FROM orders WHERE id = ?", Long.class, orderId))
+                .isEqualTo(14997L);
+        assertThat(jdbc.queryForObject("SELECT version FROM orders WHERE id = ?", Long.class, orderId)).isZero();
+        jdbc.update("INSERT INTO orders (id, status, total_minor, version) VALUES (?, 'EXPIRED', 0, 0)", UUID.randomUUID());
+    }
+
+    @Test
+    void emptyDatabaseIsBuiltFromTheBaseline() {
+        migrate();
+
+        assertThat(jdbc.queryForObject("SELECT type FROM flyway_schema_history WHERE version = '1'", String.class))
+                .isEqualTo("SQL");
+        assertThat(tables()).contains("orders", "items", "order_events", "shipping_outbox", "stock_outbox");
+        assertThat(indexes()).contains("idx_orders_status_create_at_id", "idx_order_events_occurred_at_id",
+                "idx_idempotency_keys_expires_at", "idx_idempotency_keys_in_progress_created_at");
+        jdbc.update("INSERT INTO orders (id, status, total_minor, version) VALUES (?, 'EXPIRED', 0, 0)", UUID.randomUUID());
+    }
+
+    private void migrate() {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private List<String> columns(String table) {
+        return jdbc.queryForList("SELECT column_name FROM information_schema.columns WHERE table_name = ?",
+                String.class, table);
+    }
+
+    private List<String> indexes() {
+        return jdbc.queryForList("SELECT index_name FROM information_schema.indexes WHERE table_schema = 'public'",
+                String.class);
+    }
+
+    private List<String> tables() {
+        return jdbc.queryForList("SELECT table_name FROM information_schema.tables WHERE table_schema = 'public'",
+                String.class);
+    }
+}
@@ -0,0 +1,110 @@
+package com.arka.store_orders.infrastructure.adapters.out.webclient.adapter;
+
+import com.arka.store_orders.infrastructure.resources.Response.AvailableStockResponse;
+import com.arka.store_orders.infrastructure.resources.Response.StockCacheStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CachedProductAdapterTest {
+
+    private final ProductWebAdapter delegate = mock(ProductWebAdapter.class);
+    private final AtomicLong nanos = new AtomicLong();
+    private final CachedProductAdapter cache = new CachedProductAdapter(delegate, Duration.ofSeconds(2), 100, nanos::get);
+
+    @AfterEach
+    void shutdown() {
+        cache.shutdown();
+    }
+
+    @Test
+    void availableStockIsCachedUntilTheTtlExpires() {
+        when(delegate.getAvailableStock(7L)).thenReturn(new AvailableStockResponse(7L, 10));
+
+        cache.getAvailableStock(7L);
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1999));
+        cache.getAvailableStock(7L);
+        verify(delegate, times(1)).getAvailableStock(7L);
+
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+        cache.getAvailableStock(7L);
+
+        verify(delegate, times(2)).getAvailableStock(7L);
+        StockCacheStats stats = cache.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(2);
+    }
+
+    @Test
+    void ownReservationsAndRecoveriesRefreshTheCachedStock() {
+        when(delegate.getAvailableStockBatch(List.of(7L))).thenReturn(Map.of(7L, new AvailableStockResponse(7L, 10)));
+        when(delegate.recoveryStockBatch(Map.of(7L, 4))).thenReturn(List.of(new AvailableStockResponse(7L, 13)));
+
+        cache.getAvailableStockBatch(List.of(7L));
+        cache.reserveStockBatch(Map.of(7L, 3));
+        assertThat(cache.getAvailableStock(7L).availableStock()).isEqualTo(7);
+
+        cache.recoveryStockBatch(Map.of(7L, 4));
+        assertThat(cache.getAvailableStock(7L).availableStock()).isEqualTo(13);
+
+        verify(delegate, times(1)).getAvailableStockBatch(List.of(7L));
+        assertThat(cache.stats().size()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentLookupsOfTheSameProductShareOneRequest() throws Exception {
+        int callers = 4;
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.getAvailableStock(7L)).thenAnswer(invocation -> {
+            loading.countDown();
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            return new AvailableStockResponse(7L, 10);
+        });
+
+        List<CompletableFuture<AvailableStockResponse>> lookups = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(callers)) {
+            lookups.add(CompletableFuture.supplyAsync(() -> cache.getAvailableStock(7L), executor));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 1; i < callers; i++) {
+                lookups.add(CompletableFuture.supplyAsync(() -> cache.getAvailableStock(7L), executor));
+            }
+            awaitCoalesced(callers - 1);
+            release.countDown();
+            for (CompletableFuture<AvailableStockResponse> lookup : lookups) {
+                assertThat(lookup.get(5, TimeUnit.SECONDS).availableStock()).isEqualTo(10);
+            }
+        }
+
+        verify(delegate, times(1)).getAvailableStock(7L);
+        StockCacheStats stats = cache.stats();
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.coalesced()).isEqualTo(callers - 1);
+        assertThat(stats.hits()).isZero();
+    }
+
+    /** The load is held on a latch, so every other caller must end up waiting on it. */
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.stats().coalesced() < expected) {
+            assertThat(System.nanoTime()).as("callers joining the in-flight load").isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
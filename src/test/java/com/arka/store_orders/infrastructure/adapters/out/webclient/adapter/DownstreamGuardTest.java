@@ -0,0 +1,40 @@
+package com.arka.store_orders.infrastructure.adapters.out.webclient.adapter;
+
+import com.arka.store_orders.infrastructure.controllerAdvice.exceptions.DownstreamUnavailableException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DownstreamGuardTest {
+
+    private final DownstreamGuard guard = new DownstreamGuard("products", CircuitBreakerRegistry.ofDefaults(),
+            BulkheadRegistry.ofDefaults(),
+            TimeLimiterRegistry.of(TimeLimiterConfig.custom().timeoutDuration(Duration.ofMillis(50)).build()));
+
+    @Test
+    void slowReadsTimeOut() {
+        assertThatThrownBy(() -> guard.call(() -> slow("stock")))
+                .isInstanceOf(DownstreamUnavailableException.class);
+    }
+
+    @Test
+    void slowMutationsWaitForTheAnswer() {
+        assertThat(guard.mutate(() -> slow("reserved"))).isEqualTo("reserved");
+    }
+
+    private static String slow(String answer) {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return answer;
+    }
+}